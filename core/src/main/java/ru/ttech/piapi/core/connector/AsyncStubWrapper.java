@@ -3,10 +3,10 @@ package ru.ttech.piapi.core.connector;
 import io.grpc.Context;
 import io.grpc.stub.AbstractAsyncStub;
 import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
 import io.grpc.stub.StreamObserver;
 import ru.ttech.piapi.core.connector.exception.ServiceRuntimeException;
 
-import javax.annotation.Nullable;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 
@@ -34,6 +34,7 @@ public class AsyncStubWrapper<S extends AbstractAsyncStub<S>> {
 
   /**
    * Метод для асинхронного вызова метода стаба
+   * <p>Отмена возвращаемого CompletableFuture отменяет gRPC вызов
    *
    * @param call Вызов метода gRPC стаба с параметрами
    * @return CompletableFuture с результатом вызова метода
@@ -56,30 +57,14 @@ public class AsyncStubWrapper<S extends AbstractAsyncStub<S>> {
   }
 
   private <T> StreamObserver<T> mkStreamObserverWithFuture(CompletableFuture<T> cf) {
-    return new ClientCallStreamObserver<>() {
+    return new ClientResponseObserver<Object, T>() {
       @Override
-      public void cancel(@Nullable String s, @Nullable Throwable throwable) {
-      }
-
-      @Override
-      public boolean isReady() {
-        return false;
-      }
-
-      @Override
-      public void setOnReadyHandler(Runnable runnable) {
-      }
-
-      @Override
-      public void disableAutoInboundFlowControl() {
-      }
-
-      @Override
-      public void request(int i) {
-      }
-
-      @Override
-      public void setMessageCompression(boolean b) {
+      public void beforeStart(ClientCallStreamObserver<Object> requestStream) {
+        cf.whenComplete((response, throwable) -> {
+          if (cf.isCancelled()) {
+            requestStream.cancel("Call cancelled by client", null);
+          }
+        });
       }
 
       @Override
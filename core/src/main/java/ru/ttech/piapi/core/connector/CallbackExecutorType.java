@@ -0,0 +1,29 @@
+package ru.ttech.piapi.core.connector;
+
+/**
+ * Исполнитель, в котором gRPC вызывает обработчики ответов
+ */
+public enum CallbackExecutorType {
+  /**
+   * Общий пул потоков gRPC
+   */
+  DEFAULT,
+  /**
+   * Обработчики вызываются прямо в сетевом потоке. Обработчики не должны блокировать поток
+   */
+  DIRECT,
+  /**
+   * Новый виртуальный поток на каждую задачу. Доступно с Java 21, на более ранних версиях используется {@link #DEFAULT}
+   */
+  VIRTUAL;
+
+  /**
+   * Метод для получения исполнителя по названию без учёта регистра
+   *
+   * @param value название исполнителя
+   * @return Тип исполнителя
+   */
+  public static CallbackExecutorType fromString(String value) {
+    return CallbackExecutorType.valueOf(value.trim().toUpperCase());
+  }
+}
@@ -1,5 +1,6 @@
 package ru.ttech.piapi.core.connector;
 
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
@@ -7,6 +8,7 @@ import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Paths;
 import java.util.Properties;
+import java.util.Set;
 
 public class ConnectorConfiguration {
 
@@ -20,12 +22,38 @@ public class ConnectorConfiguration {
   private static final String MAX_ATTEMPTS_PROPERTY_NAME = "connection.retry.max-attempts";
   private static final String WAIT_DURATION_PROPERTY_NAME = "connection.retry.wait-duration";
   private static final String MAX_INBOUND_MESSAGE_SIZE_PROPERTY_NAME = "connection.max-message-size";
+  private static final String KEEPALIVE_TIME_PROPERTY_NAME = "connection.keepalive-time";
+  private static final String KEEPALIVE_WITHOUT_CALLS_PROPERTY_NAME = "connection.keepalive-without-calls";
+  private static final String INITIAL_WINDOW_SIZE_PROPERTY_NAME = "connection.initial-window-size";
+  private static final String FLOW_CONTROL_WINDOW_PROPERTY_NAME = "connection.flow-control-window";
+  private static final String MAX_INBOUND_METADATA_SIZE_PROPERTY_NAME = "connection.max-metadata-size";
+  private static final String POOL_SIZE_PROPERTY_NAME = "connection.pool-size";
+  private static final String STREAM_POOL_SIZE_PROPERTY_NAME = "connection.stream-pool-size";
+  private static final String ORDER_ENTRY_ENABLED_PROPERTY_NAME = "connection.order-entry.enabled";
   private static final String GRPC_DEBUG_PROPERTY_NAME = "grpc.debug";
   private static final String GRPC_CONTEXT_FORK_PROPERTY_NAME = "grpc.context-fork";
+  private static final String GRPC_COMPRESSION_PROPERTY_NAME = "grpc.compression";
+  private static final String GRPC_ADAPTIVE_RATE_LIMIT_PROPERTY_NAME = "grpc.adaptive-rate-limit";
+  private static final String GRPC_METRICS_PROPERTY_NAME = "grpc.metrics";
+  private static final String GRPC_TRANSPORT_PROPERTY_NAME = "grpc.transport";
+  private static final String GRPC_EVENT_LOOP_THREADS_PROPERTY_NAME = "grpc.event-loop-threads";
+  private static final String GRPC_EXECUTOR_PROPERTY_NAME = "grpc.executor";
+  private static final String GRPC_STREAM_DIRECT_EXECUTOR_PROPERTY_NAME = "grpc.stream-direct-executor";
   private static final String MARKET_DATA_MAX_STREAMS_COUNT = "stream.market-data.max-streams-count";
   private static final String MARKET_DATA_MAX_SUBSCRIPTIONS_COUNT = "stream.market-data.max-subscriptions-count";
+  private static final String MARKET_DATA_DISPATCHER_LANES = "stream.market-data.dispatcher-lanes";
+  private static final String MARKET_DATA_QUEUE_CAPACITY = "stream.market-data.queue-capacity";
+  private static final String MARKET_DATA_OVERFLOW_POLICY = "stream.market-data.overflow-policy";
+  private static final String MARKET_DATA_CONFLATE_ORDER_BOOKS = "stream.market-data.conflate-order-books";
+  private static final String MARKET_DATA_CONFLATE_LAST_PRICES = "stream.market-data.conflate-last-prices";
+  private static final String MARKET_DATA_METRICS = "stream.market-data.metrics";
+  private static final String MARKET_DATA_BATCH_SIZE = "stream.market-data.batch-size";
+  private static final String MARKET_DATA_BATCH_LINGER = "stream.market-data.batch-linger";
+  private static final String MARKET_DATA_VIRTUAL_THREADS = "stream.market-data.virtual-threads";
+  private static final String MARKET_DATA_SHUTDOWN_TIMEOUT = "stream.market-data.shutdown-timeout";
   private static final String INACTIVITY_TIMEOUT_PROPERTY_NAME = "stream.inactivity-timeout";
   private static final String STREAM_PING_DELAY_PROPERTY_NAME = "stream.ping-delay";
+  private static final Set<String> SUPPORTED_COMPRESSIONS = Set.of("none", "identity", "gzip");
   private static final String DEFAULT_TARGET = "invest-public-api.tinkoff.ru:443";
   private static final String DEFAULT_SANDBOX_TARGET = "sandbox-invest-public-api.tinkoff.ru:443";
   private static final String DEFAULT_SANDBOX_ENABLED = "false";
@@ -35,10 +63,35 @@ public class ConnectorConfiguration {
   private static final String DEFAULT_MAX_ATTEMPTS = "3";
   private static final String DEFAULT_WAIT_DURATION = "2000";
   private static final String DEFAULT_MAX_INBOUND_MESSAGE_SIZE = "16777216";
+  private static final String DEFAULT_KEEPALIVE_TIME = "0";
+  private static final String DEFAULT_KEEPALIVE_WITHOUT_CALLS = "false";
+  private static final String DEFAULT_INITIAL_WINDOW_SIZE = "0";
+  private static final String DEFAULT_FLOW_CONTROL_WINDOW = "0";
+  private static final String DEFAULT_MAX_INBOUND_METADATA_SIZE = "8192";
+  private static final String DEFAULT_POOL_SIZE = "1";
+  private static final String DEFAULT_STREAM_POOL_SIZE = "0";
+  private static final String DEFAULT_ORDER_ENTRY_ENABLED = "false";
   private static final String DEFAULT_GRPC_DEBUG = "false";
   private static final String DEFAULT_GRPC_CONTEXT_FORK = "false";
+  private static final String DEFAULT_GRPC_COMPRESSION = "none";
+  private static final String DEFAULT_GRPC_ADAPTIVE_RATE_LIMIT = "false";
+  private static final String DEFAULT_GRPC_METRICS = "false";
+  private static final String DEFAULT_GRPC_TRANSPORT = "AUTO";
+  private static final String DEFAULT_GRPC_EVENT_LOOP_THREADS = "0";
+  private static final String DEFAULT_GRPC_EXECUTOR = "DEFAULT";
+  private static final String DEFAULT_GRPC_STREAM_DIRECT_EXECUTOR = "false";
   private static final String DEFAULT_MARKET_DATA_MAX_STREAMS_COUNT = "16";
   private static final String DEFAULT_MARKET_DATA_MAX_SUBSCRIPTIONS_COUNT = "300";
+  private static final String DEFAULT_MARKET_DATA_DISPATCHER_LANES = "1";
+  private static final String DEFAULT_MARKET_DATA_QUEUE_CAPACITY = "8192";
+  private static final String DEFAULT_MARKET_DATA_OVERFLOW_POLICY = "BLOCK";
+  private static final String DEFAULT_MARKET_DATA_CONFLATE_ORDER_BOOKS = "false";
+  private static final String DEFAULT_MARKET_DATA_CONFLATE_LAST_PRICES = "false";
+  private static final String DEFAULT_MARKET_DATA_METRICS = "false";
+  private static final String DEFAULT_MARKET_DATA_BATCH_SIZE = "256";
+  private static final String DEFAULT_MARKET_DATA_BATCH_LINGER = "0";
+  private static final String DEFAULT_MARKET_DATA_VIRTUAL_THREADS = "false";
+  private static final String DEFAULT_MARKET_DATA_SHUTDOWN_TIMEOUT = "5000";
   private static final String DEFAULT_INACTIVITY_TIMEOUT = "15000";
   private static final String DEFAULT_STREAM_PING_DELAY = "5000";
 
@@ -52,18 +105,49 @@ public class ConnectorConfiguration {
   private final int maxAttempts;
   private final int waitDuration;
   private final int maxInboundMessageSize;
+  private final int keepaliveTime;
+  private final boolean keepaliveWithoutCalls;
+  private final int initialWindowSize;
+  private final int flowControlWindow;
+  private final int maxInboundMetadataSize;
+  private final int poolSize;
+  private final int streamPoolSize;
+  private final boolean orderEntryChannelEnabled;
   private final boolean grpcDebug;
   private final boolean grpcContextFork;
+  private final String grpcCompression;
+  private final boolean grpcAdaptiveRateLimit;
+  private final boolean grpcMetrics;
+  private final TransportType grpcTransport;
+  private final int grpcEventLoopThreads;
+  private final CallbackExecutorType grpcExecutor;
+  private final boolean grpcStreamDirectExecutor;
   private final int maxMarketDataStreamsCount;
   private final int maxMarketDataSubscriptionsCount;
+  private final int marketDataDispatcherLanes;
+  private final int marketDataQueueCapacity;
+  private final OverflowPolicy marketDataOverflowPolicy;
+  private final boolean marketDataConflateOrderBooks;
+  private final boolean marketDataConflateLastPrices;
+  private final boolean marketDataMetrics;
+  private final int marketDataBatchSize;
+  private final int marketDataBatchLinger;
+  private final boolean marketDataVirtualThreads;
+  private final int marketDataShutdownTimeout;
   private final int streamInactivityTimeout;
   private final int streamPingDelay;
 
   private ConnectorConfiguration(
     String token, String appName, String targetUrl, String sandboxTargetUrl, boolean sandboxEnabled, int timeout,
-    int keepalive, int maxAttempts, int waitDuration, int maxInboundMessageSize, boolean grpcDebug,
-    boolean grpcContextFork, int maxMarketDataStreamsCount, int maxMarketDataSubscriptionsCount,
-    int streamInactivityTimeout, int streamPingDelay
+    int keepalive, int maxAttempts, int waitDuration, int maxInboundMessageSize, int keepaliveTime,
+    boolean keepaliveWithoutCalls, int initialWindowSize, int flowControlWindow, int maxInboundMetadataSize,
+    int poolSize, int streamPoolSize, boolean orderEntryChannelEnabled, boolean grpcDebug, boolean grpcContextFork,
+    String grpcCompression, boolean grpcAdaptiveRateLimit, boolean grpcMetrics, TransportType grpcTransport,
+    int grpcEventLoopThreads, CallbackExecutorType grpcExecutor, boolean grpcStreamDirectExecutor,
+    int maxMarketDataStreamsCount, int maxMarketDataSubscriptionsCount, int marketDataDispatcherLanes,
+    int marketDataQueueCapacity, OverflowPolicy marketDataOverflowPolicy, boolean marketDataConflateOrderBooks,
+    boolean marketDataConflateLastPrices, boolean marketDataMetrics, int marketDataBatchSize, int marketDataBatchLinger,
+    boolean marketDataVirtualThreads, int marketDataShutdownTimeout, int streamInactivityTimeout, int streamPingDelay
   ) {
     this.token = token;
     this.appName = appName;
@@ -75,10 +159,35 @@ public class ConnectorConfiguration {
     this.maxAttempts = maxAttempts;
     this.waitDuration = waitDuration;
     this.maxInboundMessageSize = maxInboundMessageSize;
+    this.keepaliveTime = keepaliveTime;
+    this.keepaliveWithoutCalls = keepaliveWithoutCalls;
+    this.initialWindowSize = initialWindowSize;
+    this.flowControlWindow = flowControlWindow;
+    this.maxInboundMetadataSize = maxInboundMetadataSize;
+    this.poolSize = poolSize;
+    this.streamPoolSize = streamPoolSize;
+    this.orderEntryChannelEnabled = orderEntryChannelEnabled;
     this.grpcDebug = grpcDebug;
     this.grpcContextFork = grpcContextFork;
+    this.grpcCompression = grpcCompression;
+    this.grpcAdaptiveRateLimit = grpcAdaptiveRateLimit;
+    this.grpcMetrics = grpcMetrics;
+    this.grpcTransport = grpcTransport;
+    this.grpcEventLoopThreads = grpcEventLoopThreads;
+    this.grpcExecutor = grpcExecutor;
+    this.grpcStreamDirectExecutor = grpcStreamDirectExecutor;
     this.maxMarketDataStreamsCount = maxMarketDataStreamsCount;
     this.maxMarketDataSubscriptionsCount = maxMarketDataSubscriptionsCount;
+    this.marketDataDispatcherLanes = marketDataDispatcherLanes;
+    this.marketDataQueueCapacity = marketDataQueueCapacity;
+    this.marketDataOverflowPolicy = marketDataOverflowPolicy;
+    this.marketDataConflateOrderBooks = marketDataConflateOrderBooks;
+    this.marketDataConflateLastPrices = marketDataConflateLastPrices;
+    this.marketDataMetrics = marketDataMetrics;
+    this.marketDataBatchSize = marketDataBatchSize;
+    this.marketDataBatchLinger = marketDataBatchLinger;
+    this.marketDataVirtualThreads = marketDataVirtualThreads;
+    this.marketDataShutdownTimeout = marketDataShutdownTimeout;
     this.streamInactivityTimeout = streamInactivityTimeout;
     this.streamPingDelay = streamPingDelay;
   }
@@ -106,21 +215,107 @@ public class ConnectorConfiguration {
     int waitDuration = Integer.parseInt(properties.getProperty(WAIT_DURATION_PROPERTY_NAME, DEFAULT_WAIT_DURATION));
     int maxInboundMessageSize = Integer.parseInt(
       properties.getProperty(MAX_INBOUND_MESSAGE_SIZE_PROPERTY_NAME, DEFAULT_MAX_INBOUND_MESSAGE_SIZE));
+    int keepaliveTime = Integer.parseInt(properties.getProperty(KEEPALIVE_TIME_PROPERTY_NAME, DEFAULT_KEEPALIVE_TIME));
+    boolean keepaliveWithoutCalls = Boolean.parseBoolean(
+      properties.getProperty(KEEPALIVE_WITHOUT_CALLS_PROPERTY_NAME, DEFAULT_KEEPALIVE_WITHOUT_CALLS));
+    int initialWindowSize = Integer.parseInt(
+      properties.getProperty(INITIAL_WINDOW_SIZE_PROPERTY_NAME, DEFAULT_INITIAL_WINDOW_SIZE));
+    int flowControlWindow = Integer.parseInt(
+      properties.getProperty(FLOW_CONTROL_WINDOW_PROPERTY_NAME, DEFAULT_FLOW_CONTROL_WINDOW));
+    if (keepaliveTime < 0 || initialWindowSize < 0 || flowControlWindow < 0) {
+      throw new IllegalArgumentException("Параметры keepalive и окна управления потоком не могут быть отрицательными!");
+    }
+    int maxInboundMetadataSize = Integer.parseInt(
+      properties.getProperty(MAX_INBOUND_METADATA_SIZE_PROPERTY_NAME, DEFAULT_MAX_INBOUND_METADATA_SIZE));
+    if (maxInboundMetadataSize < 1) {
+      throw new IllegalArgumentException("Максимальный размер метаданных должен быть больше нуля!");
+    }
+    int poolSize = Integer.parseInt(properties.getProperty(POOL_SIZE_PROPERTY_NAME, DEFAULT_POOL_SIZE));
+    if (poolSize < 1) {
+      throw new IllegalArgumentException("Количество соединений в пуле должно быть больше нуля!");
+    }
+    int streamPoolSize = Integer.parseInt(
+      properties.getProperty(STREAM_POOL_SIZE_PROPERTY_NAME, DEFAULT_STREAM_POOL_SIZE));
+    if (streamPoolSize < 0) {
+      throw new IllegalArgumentException("Количество соединений в пуле для стримов не может быть отрицательным!");
+    }
+    boolean orderEntryChannelEnabled = Boolean.parseBoolean(
+      properties.getProperty(ORDER_ENTRY_ENABLED_PROPERTY_NAME, DEFAULT_ORDER_ENTRY_ENABLED));
     boolean grpcDebug = Boolean.parseBoolean(properties.getProperty(GRPC_DEBUG_PROPERTY_NAME, DEFAULT_GRPC_DEBUG));
     boolean grpcContextFork = Boolean.parseBoolean(
       properties.getProperty(GRPC_CONTEXT_FORK_PROPERTY_NAME, DEFAULT_GRPC_CONTEXT_FORK));
+    String grpcCompression = properties.getProperty(GRPC_COMPRESSION_PROPERTY_NAME, DEFAULT_GRPC_COMPRESSION)
+      .trim().toLowerCase();
+    if (!SUPPORTED_COMPRESSIONS.contains(grpcCompression)) {
+      throw new IllegalArgumentException("Неподдерживаемый алгоритм сжатия: " + grpcCompression);
+    }
+    boolean grpcAdaptiveRateLimit = Boolean.parseBoolean(
+      properties.getProperty(GRPC_ADAPTIVE_RATE_LIMIT_PROPERTY_NAME, DEFAULT_GRPC_ADAPTIVE_RATE_LIMIT));
+    boolean grpcMetrics = Boolean.parseBoolean(
+      properties.getProperty(GRPC_METRICS_PROPERTY_NAME, DEFAULT_GRPC_METRICS));
+    TransportType grpcTransport = TransportType.fromString(
+      properties.getProperty(GRPC_TRANSPORT_PROPERTY_NAME, DEFAULT_GRPC_TRANSPORT));
+    int grpcEventLoopThreads = Integer.parseInt(
+      properties.getProperty(GRPC_EVENT_LOOP_THREADS_PROPERTY_NAME, DEFAULT_GRPC_EVENT_LOOP_THREADS));
+    if (grpcEventLoopThreads < 0) {
+      throw new IllegalArgumentException("Количество сетевых потоков не может быть отрицательным!");
+    }
+    CallbackExecutorType grpcExecutor = CallbackExecutorType.fromString(
+      properties.getProperty(GRPC_EXECUTOR_PROPERTY_NAME, DEFAULT_GRPC_EXECUTOR));
+    boolean grpcStreamDirectExecutor = Boolean.parseBoolean(
+      properties.getProperty(GRPC_STREAM_DIRECT_EXECUTOR_PROPERTY_NAME, DEFAULT_GRPC_STREAM_DIRECT_EXECUTOR));
     int maxMarketDataStreamsCount = Integer.parseInt(
       properties.getProperty(MARKET_DATA_MAX_STREAMS_COUNT, DEFAULT_MARKET_DATA_MAX_STREAMS_COUNT));
     int maxMarketDataSubscriptionsCount = Integer.parseInt(
       properties.getProperty(MARKET_DATA_MAX_SUBSCRIPTIONS_COUNT, DEFAULT_MARKET_DATA_MAX_SUBSCRIPTIONS_COUNT));
+    int marketDataDispatcherLanes = Integer.parseInt(
+      properties.getProperty(MARKET_DATA_DISPATCHER_LANES, DEFAULT_MARKET_DATA_DISPATCHER_LANES));
+    if (marketDataDispatcherLanes < 1) {
+      throw new IllegalArgumentException("Количество потоков обработки рыночных данных должно быть больше нуля!");
+    }
+    int marketDataQueueCapacity = Integer.parseInt(
+      properties.getProperty(MARKET_DATA_QUEUE_CAPACITY, DEFAULT_MARKET_DATA_QUEUE_CAPACITY));
+    if (marketDataQueueCapacity < 1) {
+      throw new IllegalArgumentException("Размер очереди обработки рыночных данных должен быть больше нуля!");
+    }
+    OverflowPolicy marketDataOverflowPolicy = OverflowPolicy.fromString(
+      properties.getProperty(MARKET_DATA_OVERFLOW_POLICY, DEFAULT_MARKET_DATA_OVERFLOW_POLICY));
+    boolean marketDataConflateOrderBooks = Boolean.parseBoolean(
+      properties.getProperty(MARKET_DATA_CONFLATE_ORDER_BOOKS, DEFAULT_MARKET_DATA_CONFLATE_ORDER_BOOKS));
+    boolean marketDataConflateLastPrices = Boolean.parseBoolean(
+      properties.getProperty(MARKET_DATA_CONFLATE_LAST_PRICES, DEFAULT_MARKET_DATA_CONFLATE_LAST_PRICES));
+    boolean marketDataMetrics = Boolean.parseBoolean(
+      properties.getProperty(MARKET_DATA_METRICS, DEFAULT_MARKET_DATA_METRICS));
+    int marketDataBatchSize = Integer.parseInt(
+      properties.getProperty(MARKET_DATA_BATCH_SIZE, DEFAULT_MARKET_DATA_BATCH_SIZE));
+    if (marketDataBatchSize < 1) {
+      throw new IllegalArgumentException("Размер пакета рыночных данных должен быть больше нуля!");
+    }
+    int marketDataBatchLinger = Integer.parseInt(
+      properties.getProperty(MARKET_DATA_BATCH_LINGER, DEFAULT_MARKET_DATA_BATCH_LINGER));
+    if (marketDataBatchLinger < 0) {
+      throw new IllegalArgumentException("Время ожидания пакета рыночных данных не может быть отрицательным!");
+    }
+    boolean marketDataVirtualThreads = Boolean.parseBoolean(
+      properties.getProperty(MARKET_DATA_VIRTUAL_THREADS, DEFAULT_MARKET_DATA_VIRTUAL_THREADS));
+    int marketDataShutdownTimeout = Integer.parseInt(
+      properties.getProperty(MARKET_DATA_SHUTDOWN_TIMEOUT, DEFAULT_MARKET_DATA_SHUTDOWN_TIMEOUT));
+    if (marketDataShutdownTimeout < 0) {
+      throw new IllegalArgumentException("Время ожидания остановки менеджера стримов не может быть отрицательным!");
+    }
     int inactivityTimeout = Integer.parseInt(
       properties.getProperty(INACTIVITY_TIMEOUT_PROPERTY_NAME, DEFAULT_INACTIVITY_TIMEOUT));
     int streamPingDelay = Integer.parseInt(
       properties.getProperty(STREAM_PING_DELAY_PROPERTY_NAME, DEFAULT_STREAM_PING_DELAY));
     return new ConnectorConfiguration(
       token, appName, targetUrl, sandboxTargetUrl, sandboxEnabled, timeout, keepalive, maxAttempts, waitDuration,
-      maxInboundMessageSize, grpcDebug, grpcContextFork, maxMarketDataStreamsCount, maxMarketDataSubscriptionsCount,
-      inactivityTimeout, streamPingDelay
+      maxInboundMessageSize, keepaliveTime, keepaliveWithoutCalls, initialWindowSize, flowControlWindow,
+      maxInboundMetadataSize, poolSize, streamPoolSize, orderEntryChannelEnabled, grpcDebug, grpcContextFork,
+      grpcCompression, grpcAdaptiveRateLimit, grpcMetrics, grpcTransport, grpcEventLoopThreads, grpcExecutor,
+      grpcStreamDirectExecutor, maxMarketDataStreamsCount, maxMarketDataSubscriptionsCount, marketDataDispatcherLanes,
+      marketDataQueueCapacity, marketDataOverflowPolicy, marketDataConflateOrderBooks, marketDataConflateLastPrices,
+      marketDataMetrics, marketDataBatchSize, marketDataBatchLinger, marketDataVirtualThreads,
+      marketDataShutdownTimeout, inactivityTimeout, streamPingDelay
     );
   }
 
@@ -188,6 +383,38 @@ public class ConnectorConfiguration {
     return maxInboundMessageSize;
   }
 
+  public int getKeepaliveTime() {
+    return keepaliveTime;
+  }
+
+  public boolean isKeepaliveWithoutCalls() {
+    return keepaliveWithoutCalls;
+  }
+
+  public int getInitialWindowSize() {
+    return initialWindowSize;
+  }
+
+  public int getFlowControlWindow() {
+    return flowControlWindow;
+  }
+
+  public int getMaxInboundMetadataSize() {
+    return maxInboundMetadataSize;
+  }
+
+  public int getPoolSize() {
+    return poolSize;
+  }
+
+  public int getStreamPoolSize() {
+    return streamPoolSize;
+  }
+
+  public boolean isOrderEntryChannelEnabled() {
+    return orderEntryChannelEnabled;
+  }
+
   public boolean isGrpcDebug() {
     return grpcDebug;
   }
@@ -196,6 +423,34 @@ public class ConnectorConfiguration {
     return grpcContextFork;
   }
 
+  public String getGrpcCompression() {
+    return grpcCompression;
+  }
+
+  public boolean isGrpcAdaptiveRateLimit() {
+    return grpcAdaptiveRateLimit;
+  }
+
+  public boolean isGrpcMetrics() {
+    return grpcMetrics;
+  }
+
+  public TransportType getGrpcTransport() {
+    return grpcTransport;
+  }
+
+  public int getGrpcEventLoopThreads() {
+    return grpcEventLoopThreads;
+  }
+
+  public CallbackExecutorType getGrpcExecutor() {
+    return grpcExecutor;
+  }
+
+  public boolean isGrpcStreamDirectExecutor() {
+    return grpcStreamDirectExecutor;
+  }
+
   public int getMaxAttempts() {
     return maxAttempts;
   }
@@ -216,6 +471,46 @@ public class ConnectorConfiguration {
     return maxMarketDataSubscriptionsCount;
   }
 
+  public int getMarketDataDispatcherLanes() {
+    return marketDataDispatcherLanes;
+  }
+
+  public int getMarketDataQueueCapacity() {
+    return marketDataQueueCapacity;
+  }
+
+  public OverflowPolicy getMarketDataOverflowPolicy() {
+    return marketDataOverflowPolicy;
+  }
+
+  public boolean isMarketDataConflateOrderBooks() {
+    return marketDataConflateOrderBooks;
+  }
+
+  public boolean isMarketDataConflateLastPrices() {
+    return marketDataConflateLastPrices;
+  }
+
+  public boolean isMarketDataMetrics() {
+    return marketDataMetrics;
+  }
+
+  public int getMarketDataBatchSize() {
+    return marketDataBatchSize;
+  }
+
+  public int getMarketDataBatchLinger() {
+    return marketDataBatchLinger;
+  }
+
+  public boolean isMarketDataVirtualThreads() {
+    return marketDataVirtualThreads;
+  }
+
+  public int getMarketDataShutdownTimeout() {
+    return marketDataShutdownTimeout;
+  }
+
   public int getStreamInactivityTimeout() {
     return streamInactivityTimeout;
   }
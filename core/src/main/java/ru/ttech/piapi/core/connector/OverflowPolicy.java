@@ -0,0 +1,33 @@
+package ru.ttech.piapi.core.connector;
+
+/**
+ * Политика обработки переполнения очереди рыночных данных
+ */
+public enum OverflowPolicy {
+  /**
+   * Поток, получающий данные из стрима, ожидает освобождения места в очереди
+   */
+  BLOCK,
+  /**
+   * Из очереди удаляется самое старое обновление
+   */
+  DROP_OLDEST,
+  /**
+   * Новое обновление отбрасывается
+   */
+  DROP_NEWEST,
+  /**
+   * В очереди хранится только последнее необработанное обновление по каждому инструменту
+   */
+  CONFLATE;
+
+  /**
+   * Метод для получения политики по названию без учёта регистра. Допускается использование дефиса вместо подчёркивания
+   *
+   * @param value название политики
+   * @return Политика обработки переполнения
+   */
+  public static OverflowPolicy fromString(String value) {
+    return OverflowPolicy.valueOf(value.trim().toUpperCase().replace('-', '_'));
+  }
+}
@@ -1,5 +1,6 @@
 package ru.ttech.piapi.core.connector;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import io.grpc.Channel;
 import io.grpc.ManagedChannel;
 import io.grpc.Metadata;
@@ -10,27 +11,83 @@ import io.grpc.stub.AbstractBlockingStub;
 import io.grpc.stub.AbstractStub;
 import io.grpc.stub.MetadataUtils;
 import io.vavr.Lazy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.tinkoff.piapi.contract.v1.OrdersServiceGrpc;
+import ru.tinkoff.piapi.contract.v1.StopOrdersServiceGrpc;
+import ru.ttech.piapi.core.connector.internal.AdaptiveRateLimitInterceptor;
 import ru.ttech.piapi.core.connector.internal.LoggingDebugInterceptor;
+import ru.ttech.piapi.core.connector.internal.ManagedChannelPool;
+import ru.ttech.piapi.core.connector.internal.MetricsInterceptor;
+import ru.ttech.piapi.core.connector.internal.NettyTransport;
+import ru.ttech.piapi.core.connector.internal.ServiceRoutingChannel;
+import ru.ttech.piapi.core.connector.metrics.ConnectorMetrics;
 import ru.ttech.piapi.core.connector.resilience.ResilienceAsyncStubWrapper;
 import ru.ttech.piapi.core.connector.resilience.ResilienceConfiguration;
 import ru.ttech.piapi.core.connector.resilience.ResilienceSyncStubWrapper;
+import ru.ttech.piapi.core.helpers.VirtualThreads;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Фабрика для создания обёрток над унарными синхроными и асинхронными gRPC стабами
- * <p>Задаёт параметры для подключения gRPC стабов к API согласно переданной конфигурации
+ * <p>Задаёт параметры для подключения gRPC стабов к API согласно переданной конфигурации.
+ * Если в конфигурации задан пул соединений, каждый вызов направляется в наименее загруженное соединение.
+ * Стримы могут использовать отдельный пул, чтобы не влиять на задержку унарных запросов.
+ * При включении выделенного канала для заявок запросы {@code OrdersService} и {@code StopOrdersService}
+ * выполняются через отдельное соединение со своим сетевым потоком.
+ * Сетевой транспорт, количество сетевых потоков и исполнитель обработчиков ответов также задаются конфигурацией.
+ * При включении адаптивного ограничения частоты все унарные обёртки фабрики используют общие лимиты по сервисам.
+ * При включении метрик все стабы фабрики записывают метрики вызовов в общий {@link ConnectorMetrics}.
+ * Созданные фабрикой каналы и сетевые потоки освобождаются методом {@link #shutdown()}
  */
 public class ServiceStubFactory {
 
+  private static final Logger logger = LoggerFactory.getLogger(ServiceStubFactory.class);
+  private static final String NO_COMPRESSION = "none";
+  private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+  private static final Set<String> ORDER_ENTRY_SERVICES = Set.of(
+    OrdersServiceGrpc.SERVICE_NAME,
+    StopOrdersServiceGrpc.SERVICE_NAME
+  );
+
   private final ConnectorConfiguration configuration;
-  private final Supplier<ManagedChannel> supplier;
+  private final Lazy<ManagedChannel> supplier;
+  private final Lazy<ManagedChannel> streamSupplier;
+  private final Lazy<ManagedChannel> orderEntrySupplier;
+  private final Supplier<Channel> stubChannelSupplier;
+  private final List<Lazy<NettyTransport>> transports;
+  private final AdaptiveRateLimitInterceptor rateLimitInterceptor;
+  private final ConnectorMetrics metrics;
+  private final MetricsInterceptor metricsInterceptor;
 
-  private ServiceStubFactory(ConnectorConfiguration configuration, Supplier<ManagedChannel> supplier) {
+  private ServiceStubFactory(
+    ConnectorConfiguration configuration,
+    Lazy<ManagedChannel> supplier,
+    Lazy<ManagedChannel> streamSupplier,
+    Lazy<ManagedChannel> orderEntrySupplier,
+    Supplier<Channel> stubChannelSupplier,
+    List<Lazy<NettyTransport>> transports
+  ) {
     this.configuration = configuration;
     this.supplier = supplier;
+    this.streamSupplier = streamSupplier;
+    this.orderEntrySupplier = orderEntrySupplier;
+    this.stubChannelSupplier = stubChannelSupplier;
+    this.transports = transports;
+    this.rateLimitInterceptor = configuration.isGrpcAdaptiveRateLimit() ? new AdaptiveRateLimitInterceptor() : null;
+    this.metrics = configuration.isGrpcMetrics() ? new ConnectorMetrics() : null;
+    this.metricsInterceptor = metrics != null ? new MetricsInterceptor(metrics) : null;
   }
 
   /**
@@ -105,44 +162,206 @@ public class ServiceStubFactory {
    * @return Фабрика для создания обёрток над стабами
    */
   public static ServiceStubFactory create(ConnectorConfiguration configuration) {
-    return create(configuration, Lazy.of(() -> createChannel(configuration)));
+    Lazy<NettyTransport> transport = Lazy.of(() -> createTransport(configuration));
+    Lazy<Executor> executor = Lazy.of(() -> createCallbackExecutor(configuration));
+    Lazy<ManagedChannel> supplier = Lazy.of(() ->
+      createChannelPool(configuration, configuration.getPoolSize(), transport.get(), executor.get()));
+    Lazy<ManagedChannel> streamSupplier = configuration.getStreamPoolSize() > 0
+      ? Lazy.of(() -> createChannelPool(
+          configuration, configuration.getStreamPoolSize(), transport.get(), executor.get()))
+      : supplier;
+    if (!configuration.isOrderEntryChannelEnabled()) {
+      return new ServiceStubFactory(configuration, supplier, streamSupplier, null, supplier::get, List.of(transport));
+    }
+    Lazy<NettyTransport> orderEntryTransport = Lazy.of(() ->
+      NettyTransport.create(configuration.getGrpcTransport(), 1, "piapi-order-entry"));
+    Lazy<ManagedChannel> orderEntrySupplier = Lazy.of(() ->
+      createChannel(configuration, orderEntryTransport.get(), MoreExecutors.directExecutor()));
+    Supplier<Channel> stubChannelSupplier = Lazy.of(() ->
+      new ServiceRoutingChannel(supplier.get(), orderEntrySupplier.get(), ORDER_ENTRY_SERVICES));
+    return new ServiceStubFactory(
+      configuration, supplier, streamSupplier, orderEntrySupplier, stubChannelSupplier,
+      List.of(transport, orderEntryTransport));
   }
 
+  /**
+   * Метод для завершения работы фабрики
+   * <p>Закрывает созданные фабрикой каналы, ожидает завершения их вызовов и освобождает собственные
+   * сетевые потоки фабрики и поток адаптивного ограничения частоты запросов. Если каналы не завершились
+   * за 5 секунд, их вызовы отменяются. После вызова метода стабы фабрики использовать нельзя
+   */
+  public void shutdown() {
+    var channels = Stream.of(supplier, streamSupplier, orderEntrySupplier)
+      .filter(channel -> channel != null && channel.isEvaluated())
+      .map(Lazy::get)
+      .distinct()
+      .collect(Collectors.toList());
+    channels.forEach(ManagedChannel::shutdown);
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SHUTDOWN_TIMEOUT_MILLIS);
+    try {
+      for (var channel : channels) {
+        if (!channel.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+          channel.shutdownNow();
+        }
+      }
+    } catch (InterruptedException e) {
+      channels.forEach(ManagedChannel::shutdownNow);
+      Thread.currentThread().interrupt();
+    }
+    transports.stream()
+      .filter(Lazy::isEvaluated)
+      .map(Lazy::get)
+      .forEach(NettyTransport::shutdown);
+    if (rateLimitInterceptor != null) {
+      rateLimitInterceptor.shutdown();
+    }
+  }
+
+  /**
+   * @return Канал для унарных запросов
+   */
   public ManagedChannel getChannel() {
     return supplier.get();
   }
 
+  /**
+   * @return Канал для стримов. Совпадает с {@link #getChannel()}, если отдельный пул для стримов не задан
+   */
+  public ManagedChannel getStreamChannel() {
+    return streamSupplier.get();
+  }
+
   public ConnectorConfiguration getConfiguration() {
     return configuration;
   }
 
+  /**
+   * @return Метрики вызовов или {@link Optional#empty()}, если метрики не включены в конфигурации
+   */
+  public Optional<ConnectorMetrics> getMetrics() {
+    return Optional.ofNullable(metrics);
+  }
+
+  /**
+   * Метод для подключения записи метрик к стабу, если метрики включены в конфигурации
+   *
+   * @param stub gRPC стаб
+   * @return Стаб с записью метрик или исходный стаб
+   */
+  public <S extends AbstractStub<S>> S withMetrics(S stub) {
+    return metricsInterceptor == null ? stub : stub.withInterceptors(metricsInterceptor);
+  }
+
   private <S extends AbstractStub<S>> S createStub(Function<Channel, S> stubConstructor) {
-    var stub = stubConstructor.apply(supplier.get());
+    var stub = withMetrics(stubConstructor.apply(stubChannelSupplier.get()));
+    if (rateLimitInterceptor != null) {
+      stub = stub.withInterceptors(rateLimitInterceptor);
+    }
     if (configuration.isGrpcDebug()) {
       stub = stub.withInterceptors(new LoggingDebugInterceptor());
     }
-    return stub;
+    return withCompression(stub, configuration);
+  }
+
+  /**
+   * Метод для включения сжатия запросов согласно конфигурации
+   *
+   * @param stub gRPC стаб
+   * @param configuration Конфигурация библиотеки
+   * @return Стаб со сжатием запросов или исходный стаб, если сжатие не задано
+   */
+  public static <S extends AbstractStub<S>> S withCompression(S stub, ConnectorConfiguration configuration) {
+    if (NO_COMPRESSION.equals(configuration.getGrpcCompression())) {
+      return stub;
+    }
+    return stub.withCompression(configuration.getGrpcCompression());
   }
 
   static ServiceStubFactory create(ConnectorConfiguration configuration, Supplier<ManagedChannel> supplier) {
-    return new ServiceStubFactory(configuration, supplier);
+    Lazy<ManagedChannel> channel = Lazy.of(supplier);
+    return new ServiceStubFactory(configuration, channel, channel, null, channel::get, List.of());
   }
 
-  private static ManagedChannel createChannel(ConnectorConfiguration configuration) {
+  private static ManagedChannel createChannelPool(
+    ConnectorConfiguration configuration,
+    int size,
+    NettyTransport transport,
+    Executor executor
+  ) {
+    if (size == 1) {
+      return createChannel(configuration, transport, executor);
+    }
+    return new ManagedChannelPool(IntStream.range(0, size)
+      .mapToObj(i -> createChannel(configuration, transport, executor))
+      .collect(Collectors.toList()));
+  }
+
+  private static ManagedChannel createChannel(
+    ConnectorConfiguration configuration,
+    NettyTransport transport,
+    Executor executor
+  ) {
+    var builder = transport.configure(channelBuilder(configuration));
+    if (executor != null) {
+      builder.executor(executor);
+    }
+    return builder.build();
+  }
+
+  private static NettyTransport createTransport(ConnectorConfiguration configuration) {
+    if (configuration.getGrpcTransport() == TransportType.AUTO && configuration.getGrpcEventLoopThreads() == 0) {
+      return NettyTransport.defaultTransport();
+    }
+    return NettyTransport.create(
+      configuration.getGrpcTransport(), configuration.getGrpcEventLoopThreads(), "piapi-grpc-event-loop");
+  }
+
+  private static Executor createCallbackExecutor(ConnectorConfiguration configuration) {
+    switch (configuration.getGrpcExecutor()) {
+      case DIRECT:
+        return MoreExecutors.directExecutor();
+      case VIRTUAL:
+        if (VirtualThreads.isSupported()) {
+          return VirtualThreads.newVirtualThreadPerTaskExecutor();
+        }
+        logger.warn("Виртуальные потоки не поддерживаются в текущей версии Java, "
+          + "используется исполнитель gRPC по умолчанию");
+        return null;
+      default:
+        return null;
+    }
+  }
+
+  private static NettyChannelBuilder channelBuilder(ConnectorConfiguration configuration) {
     var headers = new Metadata();
     addAuthHeader(headers, configuration.getToken());
     addAppNameHeader(headers, configuration.getAppName());
     String targetUrl = configuration.isSandboxEnabled()
       ? configuration.getSandboxTargetUrl()
       : configuration.getTargetUrl();
-    return NettyChannelBuilder
+    var builder = NettyChannelBuilder
       .forTarget(targetUrl)
       .intercept(MetadataUtils.newAttachHeadersInterceptor(headers))
+      .useTransportSecurity();
+    return configureConnection(builder, configuration);
+  }
+
+  static NettyChannelBuilder configureConnection(NettyChannelBuilder builder, ConnectorConfiguration configuration) {
+    builder
       .withOption(ChannelOption.CONNECT_TIMEOUT_MILLIS, configuration.getTimeout())
       .keepAliveTimeout(configuration.getKeepalive(), TimeUnit.MILLISECONDS)
+      .keepAliveWithoutCalls(configuration.isKeepaliveWithoutCalls())
       .maxInboundMessageSize(configuration.getMaxInboundMessageSize())
-      .useTransportSecurity()
-      .build();
+      .maxInboundMetadataSize(configuration.getMaxInboundMetadataSize());
+    if (configuration.getKeepaliveTime() > 0) {
+      builder.keepAliveTime(configuration.getKeepaliveTime(), TimeUnit.MILLISECONDS);
+    }
+    if (configuration.getFlowControlWindow() > 0) {
+      builder.flowControlWindow(configuration.getFlowControlWindow());
+    } else if (configuration.getInitialWindowSize() > 0) {
+      builder.initialFlowControlWindow(configuration.getInitialWindowSize());
+    }
+    return builder;
   }
 
   private static void addAuthHeader(Metadata metadata, String token) {
@@ -0,0 +1,29 @@
+package ru.ttech.piapi.core.connector;
+
+/**
+ * Сетевой транспорт для gRPC каналов
+ */
+public enum TransportType {
+  /**
+   * Epoll, если он доступен в текущем окружении, иначе NIO
+   */
+  AUTO,
+  /**
+   * Нативный транспорт epoll (только Linux). Если epoll недоступен, используется NIO
+   */
+  EPOLL,
+  /**
+   * Транспорт на основе Java NIO
+   */
+  NIO;
+
+  /**
+   * Метод для получения транспорта по названию без учёта регистра
+   *
+   * @param value название транспорта
+   * @return Сетевой транспорт
+   */
+  public static TransportType fromString(String value) {
+    return TransportType.valueOf(value.trim().toUpperCase());
+  }
+}
@@ -0,0 +1,79 @@
+package ru.ttech.piapi.core.connector.coalescing;
+
+import java.time.Duration;
+
+/**
+ * Конфигурация объединения запросов
+ * <p>Запросы по отдельным инструментам накапливаются в течение {@code window} с момента первого запроса
+ * или до достижения {@code maxBatchSize} инструментов, после чего отправляются одним запросом
+ *
+ * <p>Пример создания конфигурации: <pre>{@code
+ *     var coalescingConfig = CoalescingConfig.custom()
+ *       .window(Duration.ofMillis(5))
+ *       .maxBatchSize(100)
+ *       .build();
+ * }</pre>
+ */
+public class CoalescingConfig {
+
+  private final Duration window;
+  private final int maxBatchSize;
+
+  private CoalescingConfig(Duration window, int maxBatchSize) {
+    this.window = window;
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  public static CoalescingConfig ofDefaults() {
+    return custom().build();
+  }
+
+  public static Builder custom() {
+    return new Builder();
+  }
+
+  public Duration getWindow() {
+    return window;
+  }
+
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  public static class Builder {
+
+    private Duration window = Duration.ofMillis(5);
+    private int maxBatchSize = 100;
+
+    private Builder() {
+    }
+
+    /**
+     * @param window Время накопления запросов с момента поступления первого запроса пачки
+     * @return Builder
+     */
+    public Builder window(Duration window) {
+      if (window.isNegative() || window.isZero()) {
+        throw new IllegalArgumentException("Время накопления запросов должно быть больше нуля!");
+      }
+      this.window = window;
+      return this;
+    }
+
+    /**
+     * @param maxBatchSize Максимальное количество инструментов в одном запросе
+     * @return Builder
+     */
+    public Builder maxBatchSize(int maxBatchSize) {
+      if (maxBatchSize < 1) {
+        throw new IllegalArgumentException("Размер пачки запросов должен быть больше нуля!");
+      }
+      this.maxBatchSize = maxBatchSize;
+      return this;
+    }
+
+    public CoalescingConfig build() {
+      return new CoalescingConfig(window, maxBatchSize);
+    }
+  }
+}
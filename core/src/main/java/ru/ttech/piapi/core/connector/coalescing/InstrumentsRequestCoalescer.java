@@ -0,0 +1,80 @@
+package ru.ttech.piapi.core.connector.coalescing;
+
+import ru.tinkoff.piapi.contract.v1.BondResponse;
+import ru.tinkoff.piapi.contract.v1.CurrencyResponse;
+import ru.tinkoff.piapi.contract.v1.EtfResponse;
+import ru.tinkoff.piapi.contract.v1.FutureResponse;
+import ru.tinkoff.piapi.contract.v1.InstrumentRequest;
+import ru.tinkoff.piapi.contract.v1.InstrumentResponse;
+import ru.tinkoff.piapi.contract.v1.InstrumentsServiceGrpc;
+import ru.tinkoff.piapi.contract.v1.OptionResponse;
+import ru.tinkoff.piapi.contract.v1.ShareResponse;
+import ru.ttech.piapi.core.connector.AsyncStubWrapper;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Объединение одинаковых одновременных запросов инструмента по идентификатору
+ * ({@code GetInstrumentBy}, {@code ShareBy}, {@code BondBy} и т.д.)
+ * <p>API не поддерживает получение нескольких инструментов одним запросом этих методов, поэтому
+ * объединяются только запросы с одинаковыми параметрами: пока запрос выполняется, повторные
+ * вызовы получают его результат
+ *
+ * <p>Пример использования: <pre>{@code
+ *     var coalescer = new InstrumentsRequestCoalescer(factory.newAsyncService(InstrumentsServiceGrpc::newStub));
+ *     CompletableFuture<InstrumentResponse> instrument = coalescer.getInstrumentBy(request);
+ * }</pre>
+ */
+public class InstrumentsRequestCoalescer {
+
+  private final AsyncStubWrapper<InstrumentsServiceGrpc.InstrumentsServiceStub> asyncStubWrapper;
+  private final SingleFlight<InstrumentRequest, InstrumentResponse> instrumentBy = new SingleFlight<>();
+  private final SingleFlight<InstrumentRequest, ShareResponse> shareBy = new SingleFlight<>();
+  private final SingleFlight<InstrumentRequest, BondResponse> bondBy = new SingleFlight<>();
+  private final SingleFlight<InstrumentRequest, EtfResponse> etfBy = new SingleFlight<>();
+  private final SingleFlight<InstrumentRequest, FutureResponse> futureBy = new SingleFlight<>();
+  private final SingleFlight<InstrumentRequest, CurrencyResponse> currencyBy = new SingleFlight<>();
+  private final SingleFlight<InstrumentRequest, OptionResponse> optionBy = new SingleFlight<>();
+
+  /**
+   * @param asyncStubWrapper Асинхронная обёртка над InstrumentsService
+   */
+  public InstrumentsRequestCoalescer(AsyncStubWrapper<InstrumentsServiceGrpc.InstrumentsServiceStub> asyncStubWrapper) {
+    this.asyncStubWrapper = asyncStubWrapper;
+  }
+
+  public CompletableFuture<InstrumentResponse> getInstrumentBy(InstrumentRequest request) {
+    return instrumentBy.execute(request, () -> asyncStubWrapper.callAsyncMethod(
+      (stub, observer) -> stub.getInstrumentBy(request, observer)));
+  }
+
+  public CompletableFuture<ShareResponse> shareBy(InstrumentRequest request) {
+    return shareBy.execute(request, () -> asyncStubWrapper.callAsyncMethod(
+      (stub, observer) -> stub.shareBy(request, observer)));
+  }
+
+  public CompletableFuture<BondResponse> bondBy(InstrumentRequest request) {
+    return bondBy.execute(request, () -> asyncStubWrapper.callAsyncMethod(
+      (stub, observer) -> stub.bondBy(request, observer)));
+  }
+
+  public CompletableFuture<EtfResponse> etfBy(InstrumentRequest request) {
+    return etfBy.execute(request, () -> asyncStubWrapper.callAsyncMethod(
+      (stub, observer) -> stub.etfBy(request, observer)));
+  }
+
+  public CompletableFuture<FutureResponse> futureBy(InstrumentRequest request) {
+    return futureBy.execute(request, () -> asyncStubWrapper.callAsyncMethod(
+      (stub, observer) -> stub.futureBy(request, observer)));
+  }
+
+  public CompletableFuture<CurrencyResponse> currencyBy(InstrumentRequest request) {
+    return currencyBy.execute(request, () -> asyncStubWrapper.callAsyncMethod(
+      (stub, observer) -> stub.currencyBy(request, observer)));
+  }
+
+  public CompletableFuture<OptionResponse> optionBy(InstrumentRequest request) {
+    return optionBy.execute(request, () -> asyncStubWrapper.callAsyncMethod(
+      (stub, observer) -> stub.optionBy(request, observer)));
+  }
+}
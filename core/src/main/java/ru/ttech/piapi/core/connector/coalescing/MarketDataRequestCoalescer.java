@@ -0,0 +1,89 @@
+package ru.ttech.piapi.core.connector.coalescing;
+
+import ru.tinkoff.piapi.contract.v1.GetLastPricesRequest;
+import ru.tinkoff.piapi.contract.v1.GetLastPricesResponse;
+import ru.tinkoff.piapi.contract.v1.GetTradingStatusResponse;
+import ru.tinkoff.piapi.contract.v1.GetTradingStatusesRequest;
+import ru.tinkoff.piapi.contract.v1.GetTradingStatusesResponse;
+import ru.tinkoff.piapi.contract.v1.LastPrice;
+import ru.tinkoff.piapi.contract.v1.MarketDataServiceGrpc;
+import ru.ttech.piapi.core.connector.AsyncStubWrapper;
+import ru.ttech.piapi.core.connector.exception.ServiceRuntimeException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Объединение одновременных запросов {@code GetLastPrices} и {@code GetTradingStatuses} по отдельным инструментам
+ * в один запрос со списком инструментов
+ * <p>Каждый вызов получает свой CompletableFuture с данными запрошенного инструмента.
+ * Если инструмент отсутствует в ответе, CompletableFuture завершается {@link ServiceRuntimeException}
+ * со статусом {@code NOT_FOUND}
+ *
+ * <p>Пример использования: <pre>{@code
+ *     var coalescer = new MarketDataRequestCoalescer(
+ *       factory.newAsyncService(MarketDataServiceGrpc::newStub),
+ *       CoalescingConfig.ofDefaults(),
+ *       executorService
+ *     );
+ *     CompletableFuture<LastPrice> lastPrice = coalescer.getLastPrice(instrumentUid);
+ * }</pre>
+ */
+public class MarketDataRequestCoalescer {
+
+  private final AsyncStubWrapper<MarketDataServiceGrpc.MarketDataServiceStub> asyncStubWrapper;
+  private final RequestBatcher<LastPrice> lastPricesBatcher;
+  private final RequestBatcher<GetTradingStatusResponse> tradingStatusesBatcher;
+
+  /**
+   * @param asyncStubWrapper Асинхронная обёртка над MarketDataService
+   * @param config           Конфигурация объединения запросов
+   * @param scheduler        Планировщик отправки запросов по истечении окна накопления
+   */
+  public MarketDataRequestCoalescer(
+    AsyncStubWrapper<MarketDataServiceGrpc.MarketDataServiceStub> asyncStubWrapper,
+    CoalescingConfig config,
+    ScheduledExecutorService scheduler
+  ) {
+    this.asyncStubWrapper = asyncStubWrapper;
+    this.lastPricesBatcher = new RequestBatcher<>(config, scheduler, this::getLastPrices,
+      lastPrice -> List.of(lastPrice.getInstrumentUid(), lastPrice.getFigi()));
+    this.tradingStatusesBatcher = new RequestBatcher<>(config, scheduler, this::getTradingStatuses,
+      status -> List.of(status.getInstrumentUid(), status.getFigi()));
+  }
+
+  /**
+   * Метод для получения цены последней сделки по инструменту
+   *
+   * @param instrumentId {@code figi} или {@code instrument_uid} инструмента
+   * @return CompletableFuture с ценой последней сделки
+   */
+  public CompletableFuture<LastPrice> getLastPrice(String instrumentId) {
+    return lastPricesBatcher.submit(instrumentId);
+  }
+
+  /**
+   * Метод для получения торгового статуса инструмента
+   *
+   * @param instrumentId {@code figi} или {@code instrument_uid} инструмента
+   * @return CompletableFuture с торговым статусом
+   */
+  public CompletableFuture<GetTradingStatusResponse> getTradingStatus(String instrumentId) {
+    return tradingStatusesBatcher.submit(instrumentId);
+  }
+
+  private CompletableFuture<List<LastPrice>> getLastPrices(List<String> instrumentIds) {
+    var request = GetLastPricesRequest.newBuilder().addAllInstrumentId(instrumentIds).build();
+    return asyncStubWrapper.<GetLastPricesResponse>callAsyncMethod(
+      (stub, observer) -> stub.getLastPrices(request, observer)
+    ).thenApply(GetLastPricesResponse::getLastPricesList);
+  }
+
+  private CompletableFuture<List<GetTradingStatusResponse>> getTradingStatuses(List<String> instrumentIds) {
+    var request = GetTradingStatusesRequest.newBuilder().addAllInstrumentId(instrumentIds).build();
+    return asyncStubWrapper.<GetTradingStatusesResponse>callAsyncMethod(
+      (stub, observer) -> stub.getTradingStatuses(request, observer)
+    ).thenApply(GetTradingStatusesResponse::getTradingStatusesList);
+  }
+}
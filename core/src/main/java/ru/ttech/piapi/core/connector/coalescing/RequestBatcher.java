@@ -0,0 +1,166 @@
+package ru.ttech.piapi.core.connector.coalescing;
+
+import io.grpc.Status;
+import ru.ttech.piapi.core.connector.exception.ServiceRuntimeException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Накопитель запросов по отдельным инструментам, отправляющий их одним запросом со списком инструментов
+ * <p>Повторные запросы по инструменту, уже ожидающему отправки, получают тот же результат.
+ * Если запрос пачки завершился ошибкой, относящейся к отдельным инструментам ({@code INVALID_ARGUMENT},
+ * {@code NOT_FOUND}), инструменты пачки запрашиваются по отдельности, чтобы ошибка по одному инструменту
+ * не затрагивала остальные. При остальных ошибках, например {@code RESOURCE_EXHAUSTED} или {@code UNAVAILABLE},
+ * все запросы пачки завершаются исходной ошибкой без дополнительных вызовов
+ *
+ * @param <R> тип элемента ответа
+ */
+class RequestBatcher<R> {
+
+  private static final Set<Status.Code> PER_INSTRUMENT_ERROR_CODES = Set.of(
+    Status.Code.INVALID_ARGUMENT,
+    Status.Code.NOT_FOUND
+  );
+
+  private final CoalescingConfig config;
+  private final ScheduledExecutorService scheduler;
+  private final Function<List<String>, CompletableFuture<List<R>>> loader;
+  private final Function<R, Collection<String>> identifiers;
+  private Map<String, PendingRequest<R>> pending = new LinkedHashMap<>();
+  private ScheduledFuture<?> flushTask;
+
+  /**
+   * @param config      Конфигурация объединения запросов
+   * @param scheduler   Планировщик отправки пачки по истечении окна накопления
+   * @param loader      Запрос по списку идентификаторов инструментов
+   * @param identifiers Идентификаторы инструмента в элементе ответа
+   */
+  RequestBatcher(
+    CoalescingConfig config,
+    ScheduledExecutorService scheduler,
+    Function<List<String>, CompletableFuture<List<R>>> loader,
+    Function<R, Collection<String>> identifiers
+  ) {
+    this.config = config;
+    this.scheduler = scheduler;
+    this.loader = loader;
+    this.identifiers = identifiers;
+  }
+
+  CompletableFuture<R> submit(String instrumentId) {
+    var key = normalize(instrumentId);
+    Map<String, PendingRequest<R>> batch = null;
+    PendingRequest<R> request;
+    synchronized (this) {
+      request = pending.get(key);
+      if (request == null) {
+        request = new PendingRequest<>(instrumentId);
+        pending.put(key, request);
+        if (pending.size() >= config.getMaxBatchSize()) {
+          batch = drain();
+        } else if (pending.size() == 1) {
+          flushTask = scheduler.schedule(this::flush, config.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+        }
+      }
+    }
+    if (batch != null) {
+      send(batch);
+    }
+    return request.future.copy();
+  }
+
+  private void flush() {
+    Map<String, PendingRequest<R>> batch;
+    synchronized (this) {
+      if (pending.isEmpty()) {
+        return;
+      }
+      batch = drain();
+    }
+    send(batch);
+  }
+
+  private Map<String, PendingRequest<R>> drain() {
+    var batch = pending;
+    pending = new LinkedHashMap<>();
+    if (flushTask != null) {
+      flushTask.cancel(false);
+      flushTask = null;
+    }
+    return batch;
+  }
+
+  private void send(Map<String, PendingRequest<R>> batch) {
+    var instrumentIds = new ArrayList<String>(batch.size());
+    batch.values().forEach(request -> instrumentIds.add(request.instrumentId));
+    load(instrumentIds).whenComplete((items, throwable) -> {
+      if (throwable == null) {
+        complete(batch, items);
+        return;
+      }
+      var cause = throwable instanceof CompletionException && throwable.getCause() != null
+        ? throwable.getCause()
+        : throwable;
+      if (batch.size() > 1 && PER_INSTRUMENT_ERROR_CODES.contains(Status.fromThrowable(cause).getCode())) {
+        batch.forEach((key, request) -> send(Map.of(key, request)));
+      } else {
+        batch.values().forEach(request -> request.future.completeExceptionally(cause));
+      }
+    });
+  }
+
+  private CompletableFuture<List<R>> load(List<String> instrumentIds) {
+    try {
+      return loader.apply(instrumentIds);
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  private void complete(Map<String, PendingRequest<R>> batch, List<R> items) {
+    var itemsById = new HashMap<String, R>();
+    for (R item : items) {
+      for (String id : identifiers.apply(item)) {
+        if (!id.isEmpty()) {
+          itemsById.putIfAbsent(normalize(id), item);
+        }
+      }
+    }
+    batch.forEach((key, request) -> {
+      var item = itemsById.get(key);
+      if (item != null) {
+        request.future.complete(item);
+      } else {
+        var status = Status.NOT_FOUND.withDescription("Инструмент " + request.instrumentId + " отсутствует в ответе");
+        request.future.completeExceptionally(new ServiceRuntimeException(status.asRuntimeException()));
+      }
+    });
+  }
+
+  private static String normalize(String instrumentId) {
+    return instrumentId.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private static final class PendingRequest<R> {
+
+    private final String instrumentId;
+    private final CompletableFuture<R> future = new CompletableFuture<>();
+
+    private PendingRequest(String instrumentId) {
+      this.instrumentId = instrumentId;
+    }
+  }
+}
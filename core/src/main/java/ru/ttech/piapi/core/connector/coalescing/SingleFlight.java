@@ -0,0 +1,41 @@
+package ru.ttech.piapi.core.connector.coalescing;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Объединение одинаковых одновременных запросов: пока запрос выполняется,
+ * повторные запросы с тем же ключом получают его результат без отправки нового запроса
+ *
+ * @param <K> тип ключа запроса
+ * @param <V> тип результата
+ */
+class SingleFlight<K, V> {
+
+  private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+  CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> call) {
+    var future = new CompletableFuture<V>();
+    var existing = inFlight.putIfAbsent(key, future);
+    if (existing != null) {
+      return existing.copy();
+    }
+    CompletableFuture<V> result;
+    try {
+      result = call.get();
+    } catch (RuntimeException e) {
+      result = CompletableFuture.failedFuture(e);
+    }
+    result.whenComplete((value, throwable) -> {
+      inFlight.remove(key, future);
+      if (throwable == null) {
+        future.complete(value);
+      } else {
+        future.completeExceptionally(throwable);
+      }
+    });
+    return future.copy();
+  }
+}
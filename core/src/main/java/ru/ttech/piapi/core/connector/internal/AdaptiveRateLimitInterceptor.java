@@ -0,0 +1,299 @@
+package ru.ttech.piapi.core.connector.internal;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.Deadline;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.grpc.netty.shaded.io.netty.util.concurrent.DefaultThreadFactory;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Интерсептор, ограничивающий частоту унарных запросов по заголовкам {@code x-ratelimit-*} ответов сервера
+ * <p>Для каждого сервиса ведётся отдельная корзина токенов. Если лимит исчерпан, запрос не отправляется,
+ * а ожидает начала следующего окна на стороне клиента, не блокируя вызывающий поток.
+ * Ожидающий запрос, который отменён или дедлайн которого истёк, завершается сразу, не расходуя лимит.
+ * Поток ожидания освобождается методом {@link #shutdown()}
+ */
+public final class AdaptiveRateLimitInterceptor implements ClientInterceptor {
+
+  private static final Metadata.Key<String> LIMIT_KEY =
+    Metadata.Key.of("x-ratelimit-limit", Metadata.ASCII_STRING_MARSHALLER);
+  private static final Metadata.Key<String> REMAINING_KEY =
+    Metadata.Key.of("x-ratelimit-remaining", Metadata.ASCII_STRING_MARSHALLER);
+  private static final Metadata.Key<String> RESET_KEY =
+    Metadata.Key.of("x-ratelimit-reset", Metadata.ASCII_STRING_MARSHALLER);
+  private static final int UNKNOWN = -1;
+
+  private final Map<String, AdaptiveTokenBucket> buckets = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+    new DefaultThreadFactory("piapi-rate-limit", true));
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+    MethodDescriptor<ReqT, RespT> method,
+    CallOptions callOptions,
+    Channel next
+  ) {
+    if (method.getType() != MethodDescriptor.MethodType.UNARY) {
+      return next.newCall(method, callOptions);
+    }
+    var bucket = buckets.computeIfAbsent(method.getServiceName(), serviceName -> new AdaptiveTokenBucket());
+    return new RateLimitedClientCall<>(next.newCall(method, callOptions), bucket, callOptions.getDeadline());
+  }
+
+  /**
+   * @param serviceName полное имя gRPC сервиса
+   * @return остаток запросов в текущем окне или -1, если сервер ещё не сообщил лимит
+   */
+  public int getRemaining(String serviceName) {
+    var bucket = buckets.get(serviceName);
+    return bucket == null ? UNKNOWN : bucket.getRemaining();
+  }
+
+  /**
+   * Метод для остановки потока ожидания. Отложенные запросы отправляются сразу, без ожидания лимита
+   */
+  public void shutdown() {
+    scheduler.shutdownNow().forEach(Runnable::run);
+  }
+
+  private final class RateLimitedClientCall<ReqT, RespT> extends ClientCall<ReqT, RespT> {
+
+    private final ClientCall<ReqT, RespT> delegate;
+    private final AdaptiveTokenBucket bucket;
+    @Nullable
+    private final Deadline deadline;
+    private List<Runnable> pendingOperations = new ArrayList<>();
+    private Listener<RespT> listener;
+    private Metadata headers;
+    private ScheduledFuture<?> scheduledStart;
+    private Status closeStatus;
+    private boolean startClaimed;
+
+    private RateLimitedClientCall(
+      ClientCall<ReqT, RespT> delegate,
+      AdaptiveTokenBucket bucket,
+      @Nullable Deadline deadline
+    ) {
+      this.delegate = delegate;
+      this.bucket = bucket;
+      this.deadline = deadline;
+    }
+
+    @Override
+    public void start(Listener<RespT> responseListener, Metadata headers) {
+      Status status;
+      synchronized (this) {
+        this.listener = responseListener;
+        this.headers = headers;
+        status = closeStatus;
+      }
+      if (status != null) {
+        responseListener.onClose(status, new Metadata());
+        return;
+      }
+      tryStart();
+    }
+
+    @Override
+    public void request(int numMessages) {
+      execute(() -> delegate.request(numMessages));
+    }
+
+    @Override
+    public void cancel(@Nullable String message, @Nullable Throwable cause) {
+      if (!closeBeforeStart(Status.CANCELLED.withDescription(message).withCause(cause))) {
+        execute(() -> delegate.cancel(message, cause));
+      }
+    }
+
+    @Override
+    public void halfClose() {
+      execute(delegate::halfClose);
+    }
+
+    @Override
+    public void sendMessage(ReqT message) {
+      execute(() -> delegate.sendMessage(message));
+    }
+
+    @Override
+    public boolean isReady() {
+      return isStarted() && delegate.isReady();
+    }
+
+    @Override
+    public void setMessageCompression(boolean enabled) {
+      execute(() -> delegate.setMessageCompression(enabled));
+    }
+
+    private void tryStart() {
+      synchronized (this) {
+        if (closeStatus != null) {
+          return;
+        }
+      }
+      if (deadline != null && deadline.isExpired()) {
+        closeBeforeStart(Status.DEADLINE_EXCEEDED.withDescription("Дедлайн истёк во время ожидания лимита запросов"));
+        return;
+      }
+      long waitNanos = bucket.tryAcquire(System.nanoTime());
+      if (waitNanos > 0) {
+        if (deadline != null) {
+          waitNanos = Math.min(waitNanos, Math.max(deadline.timeRemaining(TimeUnit.NANOSECONDS), 1));
+        }
+        if (scheduleStart(waitNanos)) {
+          return;
+        }
+      }
+      synchronized (this) {
+        if (closeStatus != null) {
+          return;
+        }
+        startClaimed = true;
+      }
+      delegate.start(new RateLimitListener<>(listener, bucket), headers);
+      while (true) {
+        List<Runnable> operations;
+        synchronized (this) {
+          if (pendingOperations.isEmpty()) {
+            pendingOperations = null;
+            return;
+          }
+          operations = pendingOperations;
+          pendingOperations = new ArrayList<>();
+        }
+        operations.forEach(Runnable::run);
+      }
+    }
+
+    private boolean scheduleStart(long waitNanos) {
+      try {
+        var future = scheduler.schedule(this::tryStart, waitNanos, TimeUnit.NANOSECONDS);
+        synchronized (this) {
+          scheduledStart = future;
+        }
+        return true;
+      } catch (RejectedExecutionException e) {
+        return false;
+      }
+    }
+
+    /**
+     * Завершает вызов, который ещё ожидает лимита, без отправки запроса на сервер
+     *
+     * @param status статус завершения вызова
+     * @return false, если вызов уже отправлен на сервер
+     */
+    private boolean closeBeforeStart(Status status) {
+      Listener<RespT> closedListener;
+      synchronized (this) {
+        if (startClaimed) {
+          return false;
+        }
+        if (closeStatus != null) {
+          return true;
+        }
+        closeStatus = status;
+        pendingOperations.clear();
+        if (scheduledStart != null) {
+          scheduledStart.cancel(false);
+        }
+        closedListener = listener;
+      }
+      delegate.cancel(status.getDescription(), status.getCause());
+      if (closedListener != null) {
+        closedListener.onClose(status, new Metadata());
+      }
+      return true;
+    }
+
+    private void execute(Runnable operation) {
+      synchronized (this) {
+        if (pendingOperations != null) {
+          pendingOperations.add(operation);
+          return;
+        }
+      }
+      operation.run();
+    }
+
+    private synchronized boolean isStarted() {
+      return pendingOperations == null;
+    }
+  }
+
+  private static final class RateLimitListener<RespT>
+    extends ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT> {
+
+    private final AdaptiveTokenBucket bucket;
+
+    private RateLimitListener(ClientCall.Listener<RespT> delegate, AdaptiveTokenBucket bucket) {
+      super(delegate);
+      this.bucket = bucket;
+    }
+
+    @Override
+    public void onHeaders(Metadata headers) {
+      updateBucket(headers);
+      super.onHeaders(headers);
+    }
+
+    @Override
+    public void onClose(Status status, Metadata trailers) {
+      if (status.getCode() == Status.Code.RESOURCE_EXHAUSTED) {
+        bucket.exhaust(parseInt(trailers.get(RESET_KEY)), System.nanoTime());
+      } else {
+        updateBucket(trailers);
+      }
+      super.onClose(status, trailers);
+    }
+
+    private void updateBucket(Metadata metadata) {
+      int remaining = parseInt(metadata.get(REMAINING_KEY));
+      if (remaining == UNKNOWN) {
+        return;
+      }
+      int reset = Math.max(parseInt(metadata.get(RESET_KEY)), 0);
+      bucket.update(parseInt(metadata.get(LIMIT_KEY)), remaining, reset, System.nanoTime());
+    }
+
+    /**
+     * Разбирает первое число заголовка. Заголовок лимита может содержать дополнительные параметры,
+     * например {@code 200, 200;w=60}
+     */
+    private static int parseInt(@Nullable String value) {
+      if (value == null) {
+        return UNKNOWN;
+      }
+      int end = 0;
+      String trimmed = value.trim();
+      while (end < trimmed.length() && Character.isDigit(trimmed.charAt(end))) {
+        end++;
+      }
+      if (end == 0) {
+        return UNKNOWN;
+      }
+      try {
+        return Integer.parseInt(trimmed.substring(0, end));
+      } catch (NumberFormatException e) {
+        return UNKNOWN;
+      }
+    }
+  }
+}
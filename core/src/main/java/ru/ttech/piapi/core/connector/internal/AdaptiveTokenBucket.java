@@ -0,0 +1,83 @@
+package ru.ttech.piapi.core.connector.internal;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Корзина токенов, размер которой определяется заголовками {@code x-ratelimit-*} ответов сервера
+ * <p>Пока от сервера не получено ни одного ответа с заголовками, запросы не ограничиваются.
+ * После исчерпания лимита запросы ожидают начала следующего окна, указанного в {@code x-ratelimit-reset}.
+ * Если к началу окна новых заголовков нет, корзина пополняется до лимита и следующее окно отсчитывается
+ * с тем же интервалом, что и последний полученный {@code x-ratelimit-reset}
+ */
+class AdaptiveTokenBucket {
+
+  private static final int UNKNOWN = -1;
+  private static final long MIN_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private int limit = UNKNOWN;
+  private int remaining = UNKNOWN;
+  private long resetAtNanos;
+  private long windowNanos = MIN_WINDOW_NANOS;
+
+  /**
+   * Метод для получения токена
+   *
+   * @param nowNanos текущее время в наносекундах
+   * @return 0, если токен получен, иначе время в наносекундах до следующей попытки
+   */
+  synchronized long tryAcquire(long nowNanos) {
+    if (remaining == UNKNOWN) {
+      return 0;
+    }
+    if (remaining == 0 && nowNanos - resetAtNanos >= 0) {
+      remaining = limit;
+      if (remaining == UNKNOWN) {
+        return 0;
+      }
+      resetAtNanos = nowNanos + windowNanos;
+    }
+    if (remaining > 0) {
+      remaining--;
+      return 0;
+    }
+    return Math.max(resetAtNanos - nowNanos, 1);
+  }
+
+  /**
+   * Метод для обновления состояния корзины по заголовкам ответа
+   *
+   * @param limit        значение {@code x-ratelimit-limit} или {@link #UNKNOWN}
+   * @param remaining    значение {@code x-ratelimit-remaining}
+   * @param resetSeconds значение {@code x-ratelimit-reset}
+   * @param nowNanos     текущее время в наносекундах
+   */
+  synchronized void update(int limit, int remaining, int resetSeconds, long nowNanos) {
+    boolean newWindow = this.remaining == UNKNOWN || nowNanos - resetAtNanos >= 0;
+    if (limit > 0) {
+      this.limit = limit;
+    }
+    this.remaining = newWindow ? remaining : Math.min(this.remaining, remaining);
+    this.windowNanos = Math.max(TimeUnit.SECONDS.toNanos(resetSeconds), MIN_WINDOW_NANOS);
+    this.resetAtNanos = nowNanos + TimeUnit.SECONDS.toNanos(resetSeconds);
+  }
+
+  /**
+   * Метод для обнуления остатка токенов после отказа сервера по лимиту
+   *
+   * @param resetSeconds значение {@code x-ratelimit-reset}
+   * @param nowNanos     текущее время в наносекундах
+   */
+  synchronized void exhaust(int resetSeconds, long nowNanos) {
+    remaining = 0;
+    windowNanos = TimeUnit.SECONDS.toNanos(Math.max(resetSeconds, 1));
+    resetAtNanos = nowNanos + windowNanos;
+  }
+
+  synchronized int getRemaining() {
+    return remaining;
+  }
+
+  synchronized int getLimit() {
+    return limit;
+  }
+}
@@ -0,0 +1,169 @@
+package ru.ttech.piapi.core.connector.internal;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Пул gRPC каналов, каждый из которых использует собственное HTTP/2 соединение
+ * <p>Каждый новый вызов направляется в канал с наименьшим количеством активных вызовов.
+ * При равной загрузке каналы выбираются по кругу
+ */
+public final class ManagedChannelPool extends ManagedChannel {
+
+  private final ManagedChannel[] channels;
+  private final AtomicIntegerArray activeCalls;
+  private final AtomicInteger nextIndex = new AtomicInteger();
+
+  public ManagedChannelPool(List<ManagedChannel> channels) {
+    if (channels.isEmpty()) {
+      throw new IllegalArgumentException("Пул каналов не может быть пустым!");
+    }
+    this.channels = channels.toArray(new ManagedChannel[0]);
+    this.activeCalls = new AtomicIntegerArray(this.channels.length);
+  }
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+    MethodDescriptor<ReqT, RespT> method,
+    CallOptions callOptions
+  ) {
+    int index = selectChannel();
+    return new ActiveCallCountingClientCall<>(channels[index].newCall(method, callOptions), index);
+  }
+
+  @Override
+  public String authority() {
+    return channels[0].authority();
+  }
+
+  /**
+   * @return количество каналов в пуле
+   */
+  public int getSize() {
+    return channels.length;
+  }
+
+  /**
+   * @param index номер канала в пуле
+   * @return количество активных вызовов в канале
+   */
+  public int getActiveCalls(int index) {
+    return activeCalls.get(index);
+  }
+
+  @Override
+  public ManagedChannel shutdown() {
+    for (ManagedChannel channel : channels) {
+      channel.shutdown();
+    }
+    return this;
+  }
+
+  @Override
+  public boolean isShutdown() {
+    for (ManagedChannel channel : channels) {
+      if (!channel.isShutdown()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    for (ManagedChannel channel : channels) {
+      if (!channel.isTerminated()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public ManagedChannel shutdownNow() {
+    for (ManagedChannel channel : channels) {
+      channel.shutdownNow();
+    }
+    return this;
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    for (ManagedChannel channel : channels) {
+      if (!channel.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void resetConnectBackoff() {
+    for (ManagedChannel channel : channels) {
+      channel.resetConnectBackoff();
+    }
+  }
+
+  @Override
+  public void enterIdle() {
+    for (ManagedChannel channel : channels) {
+      channel.enterIdle();
+    }
+  }
+
+  private int selectChannel() {
+    int size = channels.length;
+    int start = Math.floorMod(nextIndex.getAndIncrement(), size);
+    int selected = start;
+    int minActiveCalls = activeCalls.get(start);
+    for (int i = 1; i < size && minActiveCalls > 0; i++) {
+      int index = (start + i) % size;
+      int calls = activeCalls.get(index);
+      if (calls < minActiveCalls) {
+        selected = index;
+        minActiveCalls = calls;
+      }
+    }
+    return selected;
+  }
+
+  private final class ActiveCallCountingClientCall<ReqT, RespT>
+    extends ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT> {
+
+    private final int index;
+
+    private ActiveCallCountingClientCall(ClientCall<ReqT, RespT> delegate, int index) {
+      super(delegate);
+      this.index = index;
+    }
+
+    @Override
+    public void start(Listener<RespT> responseListener, Metadata headers) {
+      activeCalls.incrementAndGet(index);
+      try {
+        super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+          @Override
+          public void onClose(Status status, Metadata trailers) {
+            activeCalls.decrementAndGet(index);
+            super.onClose(status, trailers);
+          }
+        }, headers);
+      } catch (RuntimeException e) {
+        activeCalls.decrementAndGet(index);
+        throw e;
+      }
+    }
+  }
+}
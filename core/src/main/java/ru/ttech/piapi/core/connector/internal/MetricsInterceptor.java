@@ -0,0 +1,96 @@
+package ru.ttech.piapi.core.connector.internal;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ClientStreamTracer;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import ru.ttech.piapi.core.connector.metrics.ConnectorMetrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Интерсептор, записывающий в {@link ConnectorMetrics} количество вызовов, коды статусов,
+ * объём переданных по сети данных и длительность вызовов
+ * <p>Содержимое сообщений не форматируется, поэтому интерсептор можно держать включённым постоянно
+ */
+public final class MetricsInterceptor implements ClientInterceptor {
+
+  private final ConnectorMetrics metrics;
+
+  public MetricsInterceptor(ConnectorMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+    MethodDescriptor<ReqT, RespT> method,
+    CallOptions callOptions,
+    Channel next
+  ) {
+    var tracerFactory = new ByteCountingTracerFactory();
+    var call = next.newCall(method, callOptions.withStreamTracerFactory(tracerFactory));
+    return new MetricsClientCall<>(call, method, tracerFactory);
+  }
+
+  private final class MetricsClientCall<ReqT, RespT>
+    extends ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT> {
+
+    private final MethodDescriptor<ReqT, RespT> method;
+    private final ByteCountingTracerFactory tracerFactory;
+
+    private MetricsClientCall(
+      ClientCall<ReqT, RespT> delegate,
+      MethodDescriptor<ReqT, RespT> method,
+      ByteCountingTracerFactory tracerFactory
+    ) {
+      super(delegate);
+      this.method = method;
+      this.tracerFactory = tracerFactory;
+    }
+
+    @Override
+    public void start(Listener<RespT> responseListener, Metadata headers) {
+      long startNanos = System.nanoTime();
+      super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+        @Override
+        public void onClose(Status status, Metadata trailers) {
+          metrics.recordCall(
+            method,
+            status.getCode(),
+            System.nanoTime() - startNanos,
+            tracerFactory.bytesSent.get(),
+            tracerFactory.bytesReceived.get()
+          );
+          super.onClose(status, trailers);
+        }
+      }, headers);
+    }
+  }
+
+  private static final class ByteCountingTracerFactory extends ClientStreamTracer.Factory {
+
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final AtomicLong bytesReceived = new AtomicLong();
+
+    @Override
+    public ClientStreamTracer newClientStreamTracer(ClientStreamTracer.StreamInfo info, Metadata headers) {
+      return new ClientStreamTracer() {
+        @Override
+        public void outboundWireSize(long bytes) {
+          bytesSent.addAndGet(bytes);
+        }
+
+        @Override
+        public void inboundWireSize(long bytes) {
+          bytesReceived.addAndGet(bytes);
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package ru.ttech.piapi.core.connector.internal;
+
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.netty.channel.Channel;
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.epoll.Epoll;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollSocketChannel;
+import io.grpc.netty.shaded.io.netty.channel.nio.NioEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.socket.nio.NioSocketChannel;
+import io.grpc.netty.shaded.io.netty.util.concurrent.DefaultThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.ttech.piapi.core.connector.TransportType;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Группа сетевых потоков netty вместе с соответствующим ей типом канала
+ * <p>Одна группа может использоваться несколькими gRPC каналами. Транспорт с собственной группой потоков
+ * владеет ею и освобождает её в {@link #shutdown()} после завершения всех использующих её каналов
+ */
+public final class NettyTransport {
+
+  private static final Logger logger = LoggerFactory.getLogger(NettyTransport.class);
+  private static final NettyTransport DEFAULT = new NettyTransport(null, null);
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+  private final EventLoopGroup eventLoopGroup;
+  private final Class<? extends Channel> channelType;
+
+  private NettyTransport(EventLoopGroup eventLoopGroup, Class<? extends Channel> channelType) {
+    this.eventLoopGroup = eventLoopGroup;
+    this.channelType = channelType;
+  }
+
+  /**
+   * @return Транспорт, использующий общие сетевые потоки gRPC
+   */
+  public static NettyTransport defaultTransport() {
+    return DEFAULT;
+  }
+
+  /**
+   * Метод для создания отдельной группы сетевых потоков
+   *
+   * @param type             сетевой транспорт
+   * @param threads          количество потоков. 0 - по количеству доступных процессоров
+   * @param threadNamePrefix префикс имени потоков
+   * @return Транспорт с собственной группой сетевых потоков
+   */
+  public static NettyTransport create(TransportType type, int threads, String threadNamePrefix) {
+    int threadsCount = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    var threadFactory = new DefaultThreadFactory(threadNamePrefix, true);
+    if (isEpoll(type)) {
+      return new NettyTransport(new EpollEventLoopGroup(threadsCount, threadFactory), EpollSocketChannel.class);
+    }
+    return new NettyTransport(new NioEventLoopGroup(threadsCount, threadFactory), NioSocketChannel.class);
+  }
+
+  /**
+   * Метод для применения транспорта к билдеру канала
+   *
+   * @param builder билдер gRPC канала
+   * @return Тот же билдер
+   */
+  public NettyChannelBuilder configure(NettyChannelBuilder builder) {
+    if (eventLoopGroup == null) {
+      return builder;
+    }
+    return builder.eventLoopGroup(eventLoopGroup).channelType(channelType);
+  }
+
+  /**
+   * Метод для освобождения собственной группы сетевых потоков. Для общих потоков gRPC ничего не делает
+   */
+  public void shutdown() {
+    if (eventLoopGroup != null) {
+      eventLoopGroup.shutdownGracefully(0, SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+  }
+
+  /**
+   * @param timeout время ожидания
+   * @param unit    единица измерения времени ожидания
+   * @return true, если группа сетевых потоков завершена или транспорт использует общие потоки gRPC
+   * @throws InterruptedException если поток был прерван во время ожидания
+   */
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return eventLoopGroup == null || eventLoopGroup.awaitTermination(timeout, unit);
+  }
+
+  public boolean isEpoll() {
+    return channelType == EpollSocketChannel.class;
+  }
+
+  private static boolean isEpoll(TransportType type) {
+    switch (type) {
+      case NIO:
+        return false;
+      case EPOLL:
+        if (!Epoll.isAvailable()) {
+          logger.warn("Транспорт epoll недоступен, будет использован NIO", Epoll.unavailabilityCause());
+          return false;
+        }
+        return true;
+      default:
+        return Epoll.isAvailable();
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package ru.ttech.piapi.core.connector.internal;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.MethodDescriptor;
+
+import java.util.Set;
+
+/**
+ * Канал, направляющий вызовы выбранных сервисов в отдельный канал
+ * <p>Используется для изоляции критичных к задержке запросов (например, выставления заявок)
+ * от тяжёлых запросов аналитики
+ */
+public final class ServiceRoutingChannel extends Channel {
+
+  private final Channel defaultChannel;
+  private final Channel priorityChannel;
+  private final Set<String> priorityServices;
+
+  /**
+   * @param defaultChannel   канал для всех остальных сервисов
+   * @param priorityChannel  канал для сервисов из {@code priorityServices}
+   * @param priorityServices полные имена gRPC сервисов, например {@code OrdersServiceGrpc.SERVICE_NAME}
+   */
+  public ServiceRoutingChannel(Channel defaultChannel, Channel priorityChannel, Set<String> priorityServices) {
+    this.defaultChannel = defaultChannel;
+    this.priorityChannel = priorityChannel;
+    this.priorityServices = Set.copyOf(priorityServices);
+  }
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+    MethodDescriptor<ReqT, RespT> method,
+    CallOptions callOptions
+  ) {
+    return selectChannel(method).newCall(method, callOptions);
+  }
+
+  @Override
+  public String authority() {
+    return defaultChannel.authority();
+  }
+
+  private Channel selectChannel(MethodDescriptor<?, ?> method) {
+    return priorityServices.contains(method.getServiceName()) ? priorityChannel : defaultChannel;
+  }
+}
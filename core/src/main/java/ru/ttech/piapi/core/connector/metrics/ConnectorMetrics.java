@@ -0,0 +1,132 @@
+package ru.ttech.piapi.core.connector.metrics;
+
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Метрики вызовов gRPC методов: количество вызовов, коды статусов, объём переданных данных
+ * и гистограммы длительности унарных вызовов
+ * <p>Метрики собираются при включённом свойстве {@code grpc.metrics} и доступны через
+ * {@link ru.ttech.piapi.core.connector.ServiceStubFactory#getMetrics()}.
+ * Для передачи метрик во внешние системы можно добавить {@link MetricsSink}
+ */
+public final class ConnectorMetrics {
+
+  private static final Logger logger = LoggerFactory.getLogger(ConnectorMetrics.class);
+  private static final Status.Code[] STATUS_CODES = Status.Code.values();
+
+  private final Map<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+  private final List<MetricsSink> sinks = new CopyOnWriteArrayList<>();
+
+  public void addSink(MetricsSink sink) {
+    sinks.add(sink);
+  }
+
+  public void removeSink(MetricsSink sink) {
+    sinks.remove(sink);
+  }
+
+  /**
+   * Метод для записи метрик завершённого вызова
+   *
+   * @param method        Метод gRPC сервиса
+   * @param code          Код статуса завершения вызова
+   * @param latencyNanos  Длительность вызова в наносекундах
+   * @param bytesSent     Количество отправленных байт
+   * @param bytesReceived Количество полученных байт
+   */
+  public void recordCall(
+    MethodDescriptor<?, ?> method,
+    Status.Code code,
+    long latencyNanos,
+    long bytesSent,
+    long bytesReceived
+  ) {
+    var methodMetrics = methods.get(method.getFullMethodName());
+    if (methodMetrics == null) {
+      methodMetrics = methods.computeIfAbsent(method.getFullMethodName(), name -> new MethodMetrics());
+    }
+    methodMetrics.record(method.getType(), code, latencyNanos, bytesSent, bytesReceived);
+    for (MetricsSink sink : sinks) {
+      try {
+        sink.onCallCompleted(method, code, latencyNanos, bytesSent, bytesReceived);
+      } catch (RuntimeException e) {
+        logger.warn("Ошибка при передаче метрик вызова {}: {}", method.getFullMethodName(), e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * @return Снимки метрик по полным именам методов
+   */
+  public Map<String, MethodMetricsSnapshot> snapshot() {
+    var snapshot = new TreeMap<String, MethodMetricsSnapshot>();
+    methods.forEach((methodName, metrics) -> snapshot.put(methodName, metrics.snapshot(methodName)));
+    return Collections.unmodifiableMap(snapshot);
+  }
+
+  /**
+   * @param method Метод gRPC сервиса
+   * @return Снимок метрик метода или {@code null}, если метод не вызывался
+   */
+  public MethodMetricsSnapshot snapshot(MethodDescriptor<?, ?> method) {
+    var metrics = methods.get(method.getFullMethodName());
+    return metrics == null ? null : metrics.snapshot(method.getFullMethodName());
+  }
+
+  private static final class MethodMetrics {
+
+    private final LongAdder calls = new LongAdder();
+    private final AtomicLongArray statusCodes = new AtomicLongArray(STATUS_CODES.length);
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final Histogram latency = new Histogram();
+
+    private void record(
+      MethodDescriptor.MethodType type,
+      Status.Code code,
+      long latencyNanos,
+      long sent,
+      long received
+    ) {
+      calls.increment();
+      statusCodes.incrementAndGet(code.ordinal());
+      bytesSent.add(sent);
+      bytesReceived.add(received);
+      if (type == MethodDescriptor.MethodType.UNARY) {
+        latency.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+      }
+    }
+
+    private MethodMetricsSnapshot snapshot(String methodName) {
+      var codes = new EnumMap<Status.Code, Long>(Status.Code.class);
+      for (Status.Code code : STATUS_CODES) {
+        long count = statusCodes.get(code.ordinal());
+        if (count > 0) {
+          codes.put(code, count);
+        }
+      }
+      return new MethodMetricsSnapshot(
+        methodName,
+        calls.sum(),
+        Collections.unmodifiableMap(codes),
+        bytesSent.sum(),
+        bytesReceived.sum(),
+        latency.snapshot()
+      );
+    }
+  }
+}
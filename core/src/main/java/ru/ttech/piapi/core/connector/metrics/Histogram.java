@@ -0,0 +1,71 @@
+package ru.ttech.piapi.core.connector.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограмма с логарифмически-линейными корзинами по аналогии с HdrHistogram
+ * <p>Диапазон значений разбит на интервалы по степеням двойки, каждый интервал поделён на
+ * 64 равные корзины, поэтому относительная погрешность значения не превышает 1/64.
+ * Запись значения не блокирует и не выделяет память, поэтому гистограмму можно держать включённой постоянно.
+ * Значения больше 2<sup>36</sup> - 1 учитываются как максимальное значение
+ */
+public final class Histogram {
+
+  static final long MAX_VALUE = (1L << 36) - 1;
+  private static final int SUB_BUCKET_BITS = 7;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+  private static final int BUCKETS_COUNT = bucketIndex(MAX_VALUE) + 1;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS_COUNT);
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Метод для записи значения в гистограмму
+   *
+   * @param value неотрицательное значение. Отрицательные значения учитываются как 0
+   */
+  public void record(long value) {
+    long normalized = Math.min(Math.max(value, 0), MAX_VALUE);
+    buckets.incrementAndGet(bucketIndex(normalized));
+    sum.add(normalized);
+    if (normalized > max.get()) {
+      max.accumulateAndGet(normalized, Math::max);
+    }
+  }
+
+  /**
+   * Метод для получения снимка гистограммы. Запись значений во время создания снимка не блокируется
+   *
+   * @return Снимок гистограммы
+   */
+  public HistogramSnapshot snapshot() {
+    var counts = new long[BUCKETS_COUNT];
+    long count = 0;
+    for (int i = 0; i < BUCKETS_COUNT; i++) {
+      counts[i] = buckets.get(i);
+      count += counts[i];
+    }
+    return new HistogramSnapshot(counts, count, sum.sum(), max.get());
+  }
+
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return shift * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift);
+  }
+
+  static long highestEquivalentValue(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int shift = index / SUB_BUCKET_HALF_COUNT - 1;
+    long subBucket = index - (long) shift * SUB_BUCKET_HALF_COUNT;
+    return ((subBucket + 1) << shift) - 1;
+  }
+}
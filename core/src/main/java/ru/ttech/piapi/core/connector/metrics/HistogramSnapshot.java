@@ -0,0 +1,67 @@
+package ru.ttech.piapi.core.connector.metrics;
+
+/**
+ * Снимок {@link Histogram} на момент вызова {@link Histogram#snapshot()}
+ */
+public final class HistogramSnapshot {
+
+  private final long[] counts;
+  private final long count;
+  private final long sum;
+  private final long max;
+
+  HistogramSnapshot(long[] counts, long count, long sum, long max) {
+    this.counts = counts;
+    this.count = count;
+    this.sum = sum;
+    this.max = max;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getMax() {
+    return max;
+  }
+
+  public double getMean() {
+    return count == 0 ? 0 : (double) sum / count;
+  }
+
+  /**
+   * Метод для получения значения перцентиля
+   *
+   * @param percentile перцентиль от 0 до 100, например 99.9
+   * @return Наибольшее значение, не превышающее перцентиль с точностью до корзины гистограммы, или 0 для пустой
+   */
+  public long getValueAtPercentile(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Перцентиль должен быть в диапазоне от 0 до 100!");
+    }
+    if (count == 0) {
+      return 0;
+    }
+    long target = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+    long accumulated = 0;
+    for (int i = 0; i < counts.length; i++) {
+      accumulated += counts[i];
+      if (accumulated >= target) {
+        return Math.min(Histogram.highestEquivalentValue(i), max);
+      }
+    }
+    return max;
+  }
+
+  @Override
+  public String toString() {
+    return "HistogramSnapshot{" +
+      "count=" + count +
+      ", mean=" + getMean() +
+      ", p50=" + getValueAtPercentile(50) +
+      ", p99=" + getValueAtPercentile(99) +
+      ", p999=" + getValueAtPercentile(99.9) +
+      ", max=" + max +
+      '}';
+  }
+}
@@ -0,0 +1,82 @@
+package ru.ttech.piapi.core.connector.metrics;
+
+import io.grpc.Status;
+
+import java.util.Map;
+
+/**
+ * Снимок метрик метода gRPC сервиса
+ */
+public final class MethodMetricsSnapshot {
+
+  private final String methodName;
+  private final long calls;
+  private final Map<Status.Code, Long> statusCodes;
+  private final long bytesSent;
+  private final long bytesReceived;
+  private final HistogramSnapshot latency;
+
+  MethodMetricsSnapshot(
+    String methodName,
+    long calls,
+    Map<Status.Code, Long> statusCodes,
+    long bytesSent,
+    long bytesReceived,
+    HistogramSnapshot latency
+  ) {
+    this.methodName = methodName;
+    this.calls = calls;
+    this.statusCodes = statusCodes;
+    this.bytesSent = bytesSent;
+    this.bytesReceived = bytesReceived;
+    this.latency = latency;
+  }
+
+  /**
+   * @return Полное имя метода, например {@code tinkoff.public.invest.api.contract.v1.MarketDataService/GetLastPrices}
+   */
+  public String getMethodName() {
+    return methodName;
+  }
+
+  /**
+   * @return Количество завершённых вызовов
+   */
+  public long getCalls() {
+    return calls;
+  }
+
+  /**
+   * @return Количество завершённых вызовов по кодам статуса
+   */
+  public Map<Status.Code, Long> getStatusCodes() {
+    return statusCodes;
+  }
+
+  public long getBytesSent() {
+    return bytesSent;
+  }
+
+  public long getBytesReceived() {
+    return bytesReceived;
+  }
+
+  /**
+   * @return Гистограмма длительности унарных вызовов в микросекундах. Для стримов не заполняется
+   */
+  public HistogramSnapshot getLatency() {
+    return latency;
+  }
+
+  @Override
+  public String toString() {
+    return "MethodMetricsSnapshot{" +
+      "methodName='" + methodName + '\'' +
+      ", calls=" + calls +
+      ", statusCodes=" + statusCodes +
+      ", bytesSent=" + bytesSent +
+      ", bytesReceived=" + bytesReceived +
+      ", latency=" + latency +
+      '}';
+  }
+}
@@ -0,0 +1,36 @@
+package ru.ttech.piapi.core.connector.metrics;
+
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+/**
+ * Получатель метрик завершённых вызовов, например для передачи в Micrometer
+ * <p>Вызывается в потоке обработки ответа gRPC, поэтому реализация не должна выполнять блокирующих операций
+ *
+ * <p>Пример реализации для Micrometer: <pre>{@code
+ *     MetricsSink sink = (method, code, latencyNanos, bytesSent, bytesReceived) ->
+ *       Timer.builder("piapi.grpc.client")
+ *         .tag("method", method.getFullMethodName())
+ *         .tag("status", code.name())
+ *         .register(meterRegistry)
+ *         .record(latencyNanos, TimeUnit.NANOSECONDS);
+ * }</pre>
+ */
+@FunctionalInterface
+public interface MetricsSink {
+
+  /**
+   * @param method        Метод gRPC сервиса
+   * @param code          Код статуса завершения вызова
+   * @param latencyNanos  Длительность вызова в наносекундах
+   * @param bytesSent     Количество отправленных байт
+   * @param bytesReceived Количество полученных байт
+   */
+  void onCallCompleted(
+    MethodDescriptor<?, ?> method,
+    Status.Code code,
+    long latencyNanos,
+    long bytesSent,
+    long bytesReceived
+  );
+}
@@ -0,0 +1,96 @@
+package ru.ttech.piapi.core.connector.resilience;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Вызов с хеджированием: исходный запрос и дублирующие запросы, отправляемые с задержкой
+ * <p>Результатом вызова становится первый успешный ответ. Оставшиеся запросы отменяются отменой их CompletableFuture,
+ * поэтому отмена не зависит от контекста gRPC, в котором был отправлен запрос.
+ * Вызов завершается ошибкой, если все отправленные запросы завершились ошибкой
+ */
+class HedgedCall<T> {
+
+  private final Supplier<CompletableFuture<T>> attempt;
+  private final HedgingConfig config;
+  private final RateLimiter rateLimiter;
+  private final ScheduledExecutorService executorService;
+  private final CompletableFuture<T> result = new CompletableFuture<>();
+  private final List<CompletableFuture<T>> attempts = new CopyOnWriteArrayList<>();
+  private final List<ScheduledFuture<?>> scheduledHedges = new CopyOnWriteArrayList<>();
+  private int inFlightAttempts;
+
+  HedgedCall(
+    Supplier<CompletableFuture<T>> attempt,
+    HedgingConfig config,
+    RateLimiter rateLimiter,
+    ScheduledExecutorService executorService
+  ) {
+    this.attempt = attempt;
+    this.config = config;
+    this.rateLimiter = rateLimiter;
+    this.executorService = executorService;
+  }
+
+  CompletableFuture<T> start() {
+    startAttempt();
+    long delayNanos = config.getDelay().toNanos();
+    for (int i = 1; i < config.getMaxAttempts() && !result.isDone(); i++) {
+      scheduledHedges.add(executorService.schedule(this::hedge, delayNanos * i, TimeUnit.NANOSECONDS));
+    }
+    result.whenComplete((response, throwable) -> {
+      scheduledHedges.forEach(hedge -> hedge.cancel(false));
+      attempts.forEach(attempt -> attempt.cancel(false));
+    });
+    return result;
+  }
+
+  private void hedge() {
+    if (result.isDone()) {
+      return;
+    }
+    if (rateLimiter.getMetrics().getAvailablePermissions() <= 0 || !rateLimiter.acquirePermission()) {
+      return;
+    }
+    startAttempt();
+  }
+
+  private void startAttempt() {
+    synchronized (this) {
+      inFlightAttempts++;
+    }
+    CompletableFuture<T> future;
+    try {
+      future = attempt.get();
+    } catch (Throwable e) {
+      onAttemptCompleted(null, e);
+      return;
+    }
+    attempts.add(future);
+    if (result.isDone()) {
+      future.cancel(false);
+    }
+    future.whenComplete(this::onAttemptCompleted);
+  }
+
+  private void onAttemptCompleted(T response, Throwable throwable) {
+    if (throwable == null) {
+      result.complete(response);
+      return;
+    }
+    boolean lastAttempt;
+    synchronized (this) {
+      lastAttempt = --inFlightAttempts == 0;
+    }
+    if (lastAttempt) {
+      result.completeExceptionally(throwable);
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package ru.ttech.piapi.core.connector.resilience;
+
+import java.time.Duration;
+
+/**
+ * Конфигурация хеджирования запросов
+ * <p>Если ответ на запрос не получен за {@code delay}, отправляется дублирующий запрос, и используется первый
+ * полученный ответ. В качестве задержки рекомендуется использовать 95-й перцентиль времени ответа метода.
+ * Каждый дублирующий запрос расходует разрешение RateLimiter метода; если разрешений нет, дублирующий запрос
+ * не отправляется
+ *
+ * <p>Пример создания конфигурации: <pre>{@code
+ *     var hedgingConfig = HedgingConfig.custom()
+ *       .delay(Duration.ofMillis(50))
+ *       .maxAttempts(2)
+ *       .build();
+ * }</pre>
+ */
+public class HedgingConfig {
+
+  private final Duration delay;
+  private final int maxAttempts;
+
+  private HedgingConfig(Duration delay, int maxAttempts) {
+    this.delay = delay;
+    this.maxAttempts = maxAttempts;
+  }
+
+  public static Builder custom() {
+    return new Builder();
+  }
+
+  public Duration getDelay() {
+    return delay;
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  public static class Builder {
+
+    private Duration delay = Duration.ofMillis(100);
+    private int maxAttempts = 2;
+
+    private Builder() {
+    }
+
+    /**
+     * @param delay Задержка перед отправкой каждого следующего дублирующего запроса
+     * @return Builder
+     */
+    public Builder delay(Duration delay) {
+      if (delay.isNegative() || delay.isZero()) {
+        throw new IllegalArgumentException("Задержка хеджирования должна быть больше нуля!");
+      }
+      this.delay = delay;
+      return this;
+    }
+
+    /**
+     * @param maxAttempts Максимальное количество одновременных запросов, включая исходный
+     * @return Builder
+     */
+    public Builder maxAttempts(int maxAttempts) {
+      if (maxAttempts < 2) {
+        throw new IllegalArgumentException("Количество запросов при хеджировании должно быть не меньше двух!");
+      }
+      this.maxAttempts = maxAttempts;
+      return this;
+    }
+
+    public HedgingConfig build() {
+      return new HedgingConfig(delay, maxAttempts);
+    }
+  }
+}
@@ -1,21 +1,25 @@
 package ru.ttech.piapi.core.connector.resilience;
 
-import io.github.resilience4j.decorators.Decorators;
 import io.grpc.MethodDescriptor;
 import io.grpc.stub.AbstractAsyncStub;
 import io.grpc.stub.StreamObserver;
 import ru.ttech.piapi.core.connector.AsyncStubWrapper;
 
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 
 /**
  * Обёртка над {@link AsyncStubWrapper} для поддержки функционала библиотеки resilience4j
+ * <p>Компоненты resilience4j получаются из реестров при первом вызове метода и кэшируются
+ * для последующих вызовов
  */
 public class ResilienceAsyncStubWrapper<S extends AbstractAsyncStub<S>> {
 
   private final AsyncStubWrapper<S> asyncStubWrapper;
   private final ResilienceConfiguration resilienceConfiguration;
+  private final Map<MethodDescriptor<?, ?>, ResiliencePipeline> pipelines = new ConcurrentHashMap<>();
 
   public ResilienceAsyncStubWrapper(
     AsyncStubWrapper<S> asyncStubWrapper,
@@ -27,6 +31,8 @@ public class ResilienceAsyncStubWrapper<S extends AbstractAsyncStub<S>> {
 
   /**
    * Метод для асинхронного вызова метода стаба c поддержкой resilience4j
+   * <p>Если для метода задано хеджирование ({@link ResilienceConfiguration.Builder#withHedgingForMethod}),
+   * каждая попытка вызова отправляет дублирующие запросы согласно {@link HedgingConfig}
    *
    * <p>Пример вызова: <pre>{@code
    *     CompletableFuture<GetLastPricesResponse> asyncResponse =
@@ -44,12 +50,11 @@ public class ResilienceAsyncStubWrapper<S extends AbstractAsyncStub<S>> {
     MethodDescriptor<?, T> method,
     BiConsumer<S, StreamObserver<T>> call
   ) {
-    return Decorators.ofCompletionStage(() -> asyncStubWrapper.callAsyncMethod(call))
-      .withBulkhead(resilienceConfiguration.getBulkheadForMethod(method))
-      .withRateLimiter(resilienceConfiguration.getRateLimiterForMethod(method))
-      .withCircuitBreaker(resilienceConfiguration.getCircuitBreakerForMethod(method))
-      .withRetry(resilienceConfiguration.getRetryForMethod(method), resilienceConfiguration.getExecutorService())
-      .get().toCompletableFuture();
+    var pipeline = pipelines.get(method);
+    if (pipeline == null) {
+      pipeline = pipelines.computeIfAbsent(method, key -> ResiliencePipeline.create(key, resilienceConfiguration));
+    }
+    return pipeline.execute(() -> asyncStubWrapper.callAsyncMethod(call));
   }
 
   /**
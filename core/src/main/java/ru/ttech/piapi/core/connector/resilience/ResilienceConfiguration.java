@@ -14,6 +14,9 @@ import io.github.resilience4j.retry.RetryConfig;
 import io.github.resilience4j.retry.RetryRegistry;
 import io.grpc.MethodDescriptor;
 import io.grpc.Status;
+import ru.tinkoff.piapi.contract.v1.OrdersServiceGrpc;
+import ru.tinkoff.piapi.contract.v1.SandboxServiceGrpc;
+import ru.tinkoff.piapi.contract.v1.StopOrdersServiceGrpc;
 import ru.ttech.piapi.core.connector.ConnectorConfiguration;
 import ru.ttech.piapi.core.connector.exception.ServiceRuntimeException;
 
@@ -21,6 +24,7 @@ import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 
 /**
@@ -34,6 +38,10 @@ import java.util.concurrent.ScheduledExecutorService;
  *       .withRetryForMethod(
  *         MarketDataServiceGrpc.getGetLastPricesMethod(),
  *         RetryConfig.custom().waitDuration(Duration.ofMillis(100)).maxAttempts(5).build())
+ *       // хеджирование применяется только к явно указанным методам
+ *       .withHedgingForMethod(
+ *         MarketDataServiceGrpc.getGetLastPricesMethod(),
+ *         HedgingConfig.custom().delay(Duration.ofMillis(50)).build())
  *       .build();
  * }</pre>
  */
@@ -44,19 +52,22 @@ public class ResilienceConfiguration {
   private final CircuitBreakerRegistry circuitBreakerRegistry;
   private final RateLimiterRegistry rateLimiterRegistry;
   private final BulkheadRegistry bulkheadRegistry;
+  private final Map<String, HedgingConfig> hedgingConfigs;
 
   private ResilienceConfiguration(
     ScheduledExecutorService scheduledExecutorService,
     RetryRegistry retryRegistry,
     CircuitBreakerRegistry circuitBreakerRegistry,
     RateLimiterRegistry rateLimiterRegistry,
-    BulkheadRegistry bulkheadRegistry
+    BulkheadRegistry bulkheadRegistry,
+    Map<String, HedgingConfig> hedgingConfigs
   ) {
     this.executorService = scheduledExecutorService;
     this.retryRegistry = retryRegistry;
     this.circuitBreakerRegistry = circuitBreakerRegistry;
     this.rateLimiterRegistry = rateLimiterRegistry;
     this.bulkheadRegistry = bulkheadRegistry;
+    this.hedgingConfigs = Map.copyOf(hedgingConfigs);
   }
 
   public ScheduledExecutorService getExecutorService() {
@@ -91,6 +102,16 @@ public class ResilienceConfiguration {
       .orElseGet(() -> bulkheadRegistry.bulkhead(methodFullName));
   }
 
+  /**
+   * Метод для получения конфигурации хеджирования метода
+   *
+   * @param method Метод gRPC сервиса
+   * @return Конфигурация хеджирования или {@link Optional#empty()}, если для метода хеджирование не задано
+   */
+  public Optional<HedgingConfig> getHedgingForMethod(MethodDescriptor<?, ?> method) {
+    return Optional.ofNullable(hedgingConfigs.get(method.getFullMethodName()));
+  }
+
   /**
    * Метод получения билдера для создания конфигурации
    *
@@ -108,12 +129,18 @@ public class ResilienceConfiguration {
   public static class Builder {
 
     private static final String DEFAULT_CONFIG_NAME = "default";
+    private static final Set<String> NON_IDEMPOTENT_SERVICES = Set.of(
+      OrdersServiceGrpc.SERVICE_NAME,
+      StopOrdersServiceGrpc.SERVICE_NAME,
+      SandboxServiceGrpc.SERVICE_NAME
+    );
     private final ScheduledExecutorService executorService;
     private final ConnectorConfiguration connectorConfiguration;
     private final Map<String, RetryConfig> retryConfigs = new HashMap<>();
     private final Map<String, CircuitBreakerConfig> circuitBreakerConfigs = new HashMap<>();
     private final Map<String, RateLimiterConfig> rateLimiterConfigs = new HashMap<>();
     private final Map<String, BulkheadConfig> bulkheadConfigs = new HashMap<>();
+    private final Map<String, HedgingConfig> hedgingConfigs = new HashMap<>();
 
     private Builder(ScheduledExecutorService executorService, ConnectorConfiguration connectorConfiguration) {
       this.executorService = executorService;
@@ -207,6 +234,24 @@ public class ResilienceConfiguration {
       return addConfigToMap(bulkheadConfigs, method.getFullMethodName(), bulkheadConfig);
     }
 
+    /**
+     * Добавление конфигурации хеджирования для метода сервиса
+     * <p>Хеджирование допускается только для идемпотентных унарных методов. Методы сервисов выставления заявок
+     * и песочницы не поддерживаются. Применяется как в асинхронных, так и в синхронных resilience-обёртках
+     *
+     * @param method        Метод gRPC сервиса
+     * @param hedgingConfig Конфигурация хеджирования
+     * @return Builder
+     */
+    public Builder withHedgingForMethod(MethodDescriptor<?, ?> method, HedgingConfig hedgingConfig) {
+      if (method.getType() != MethodDescriptor.MethodType.UNARY
+        || NON_IDEMPOTENT_SERVICES.contains(method.getServiceName())) {
+        throw new IllegalArgumentException(
+          "Хеджирование не поддерживается для метода " + method.getFullMethodName());
+      }
+      return addConfigToMap(hedgingConfigs, method.getFullMethodName(), hedgingConfig);
+    }
+
 
     /**
      * Завершает создание конфигурации resilience
@@ -231,7 +276,8 @@ public class ResilienceConfiguration {
         RetryRegistry.of(retryConfigs),
         CircuitBreakerRegistry.of(circuitBreakerConfigs),
         RateLimiterRegistry.of(rateLimiterConfigs),
-        BulkheadRegistry.of(bulkheadConfigs)
+        BulkheadRegistry.of(bulkheadConfigs),
+        hedgingConfigs
       );
     }
 
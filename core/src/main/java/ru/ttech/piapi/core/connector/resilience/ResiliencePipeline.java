@@ -0,0 +1,65 @@
+package ru.ttech.piapi.core.connector.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.retry.Retry;
+import io.grpc.MethodDescriptor;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Набор компонентов resilience4j, заранее полученных из реестров для одного метода gRPC сервиса
+ * <p>Порядок применения совпадает с {@code Decorators.ofCompletionStage}: Bulkhead, RateLimiter,
+ * CircuitBreaker и снаружи Retry
+ */
+class ResiliencePipeline {
+
+  private final Bulkhead bulkhead;
+  private final RateLimiter rateLimiter;
+  private final CircuitBreaker circuitBreaker;
+  private final Retry retry;
+  private final HedgingConfig hedgingConfig;
+  private final ScheduledExecutorService executorService;
+
+  private ResiliencePipeline(
+    Bulkhead bulkhead,
+    RateLimiter rateLimiter,
+    CircuitBreaker circuitBreaker,
+    Retry retry,
+    @Nullable HedgingConfig hedgingConfig,
+    ScheduledExecutorService executorService
+  ) {
+    this.bulkhead = bulkhead;
+    this.rateLimiter = rateLimiter;
+    this.circuitBreaker = circuitBreaker;
+    this.retry = retry;
+    this.hedgingConfig = hedgingConfig;
+    this.executorService = executorService;
+  }
+
+  static ResiliencePipeline create(MethodDescriptor<?, ?> method, ResilienceConfiguration configuration) {
+    return new ResiliencePipeline(
+      configuration.getBulkheadForMethod(method),
+      configuration.getRateLimiterForMethod(method),
+      configuration.getCircuitBreakerForMethod(method),
+      configuration.getRetryForMethod(method),
+      configuration.getHedgingForMethod(method).orElse(null),
+      configuration.getExecutorService()
+    );
+  }
+
+  <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call) {
+    Supplier<CompletionStage<T>> supplier = hedgingConfig == null
+      ? call::get
+      : () -> new HedgedCall<>(call, hedgingConfig, rateLimiter, executorService).start();
+    supplier = Bulkhead.decorateCompletionStage(bulkhead, supplier);
+    supplier = RateLimiter.decorateCompletionStage(rateLimiter, supplier);
+    supplier = CircuitBreaker.decorateCompletionStage(circuitBreaker, supplier);
+    return Retry.decorateCompletionStage(retry, executorService, supplier).get().toCompletableFuture();
+  }
+}
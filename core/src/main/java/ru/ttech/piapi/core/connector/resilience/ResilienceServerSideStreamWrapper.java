@@ -44,10 +44,8 @@ public class ResilienceServerSideStreamWrapper<ReqT, RespT> {
    * Метод для завершения стрима. Останавливает автоматическую проверку статуса соединения и закрывает стрим
    */
   public void disconnect() {
-    if (healthCheckFutureRef.get() != null) {
-      healthCheckFutureRef.get().cancel(true);
-      healthCheckFutureRef.set(null);
-    }
+    Optional.ofNullable(healthCheckFutureRef.getAndSet(null))
+      .ifPresent(healthCheckFuture -> healthCheckFuture.cancel(true));
     Optional.ofNullable(streamWrapperRef.get())
       .ifPresent(ServerSideStreamWrapper::disconnect);
     streamWrapperRef.set(null);
@@ -95,7 +93,7 @@ public class ResilienceServerSideStreamWrapper<ReqT, RespT> {
 
   private void healthCheck() {
     long currentTime = System.currentTimeMillis();
-    if (currentTime - lastInteractionTime.get() > inactivityTimeout) {
+    if (requestRef.get() != null && currentTime - lastInteractionTime.get() > inactivityTimeout) {
       logger.info("Reconnecting...");
       Optional.ofNullable(streamWrapperRef.get())
         .ifPresent(ServerSideStreamWrapper::disconnect);
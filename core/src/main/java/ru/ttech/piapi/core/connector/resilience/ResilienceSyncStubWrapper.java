@@ -1,10 +1,15 @@
 package ru.ttech.piapi.core.connector.resilience;
 
 import io.github.resilience4j.decorators.Decorators;
+import io.grpc.Context;
 import io.grpc.MethodDescriptor;
 import io.grpc.stub.AbstractBlockingStub;
 import ru.ttech.piapi.core.connector.SyncStubWrapper;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -14,6 +19,7 @@ public class ResilienceSyncStubWrapper<S extends AbstractBlockingStub<S>> {
 
   private final SyncStubWrapper<S> syncStubWrapper;
   private final ResilienceConfiguration resilienceConfiguration;
+  private final Map<MethodDescriptor<?, ?>, ResiliencePipeline> hedgingPipelines = new ConcurrentHashMap<>();
 
   public ResilienceSyncStubWrapper(
     SyncStubWrapper<S> syncStubWrapper,
@@ -25,6 +31,9 @@ public class ResilienceSyncStubWrapper<S extends AbstractBlockingStub<S>> {
 
   /**
    * Метод для синхронного вызова метода стаба c поддержкой resilience4j
+   * <p>Если для метода задано хеджирование ({@link ResilienceConfiguration.Builder#withHedgingForMethod}),
+   * попытки вызова выполняются в {@link java.util.concurrent.ForkJoinPool#commonPool()}, а вызывающий поток
+   * ожидает первый успешный ответ. Проигравшие попытки отменяются через контекст gRPC
    *
    * <p>Пример вызова: <pre>{@code
    * var response = resilienceSyncService.callSyncMethod(
@@ -38,6 +47,9 @@ public class ResilienceSyncStubWrapper<S extends AbstractBlockingStub<S>> {
    * @return CompletableFuture с результатом вызова метода
    */
   public <T> T callSyncMethod(MethodDescriptor<?, T> method, Function<S, T> call) {
+    if (resilienceConfiguration.getHedgingForMethod(method).isPresent()) {
+      return callHedgedMethod(method, call);
+    }
     return Decorators.ofSupplier(() -> syncStubWrapper.callSyncMethod(call))
       .withBulkhead(resilienceConfiguration.getBulkheadForMethod(method))
       .withRateLimiter(resilienceConfiguration.getRateLimiterForMethod(method))
@@ -46,6 +58,33 @@ public class ResilienceSyncStubWrapper<S extends AbstractBlockingStub<S>> {
       .get();
   }
 
+  private <T> T callHedgedMethod(MethodDescriptor<?, T> method, Function<S, T> call) {
+    var pipeline = hedgingPipelines.computeIfAbsent(
+      method, key -> ResiliencePipeline.create(key, resilienceConfiguration));
+    try {
+      return pipeline.execute(() -> callInCancellableContext(call)).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private <T> CompletableFuture<T> callInCancellableContext(Function<S, T> call) {
+    var context = Context.current().withCancellation();
+    var future = CompletableFuture.supplyAsync(() -> {
+      var previous = context.attach();
+      try {
+        return syncStubWrapper.callSyncMethod(call);
+      } finally {
+        context.detach(previous);
+      }
+    });
+    future.whenComplete((response, throwable) -> context.cancel(null));
+    return future;
+  }
+
   /**
    * Метод для получния обёртки {@link SyncStubWrapper}
    *
@@ -8,7 +8,7 @@ import ru.ttech.piapi.core.connector.streaming.listeners.OnCompleteListener;
 import ru.ttech.piapi.core.connector.streaming.listeners.OnErrorListener;
 import ru.ttech.piapi.core.connector.streaming.listeners.OnNextListener;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -50,9 +50,9 @@ abstract class BaseStreamConfiguration<S extends AbstractAsyncStub<S>, ReqT, Res
     > {
     protected final Function<Channel, S> stubConstructor;
     protected final MethodDescriptor<ReqT, RespT> method;
-    protected final List<OnNextListener<RespT>> onNextListeners = new LinkedList<>();
-    protected final List<OnErrorListener> onErrorListeners = new LinkedList<>();
-    protected final List<OnCompleteListener> onCompleteListeners = new LinkedList<>();
+    protected final List<OnNextListener<RespT>> onNextListeners = new ArrayList<>();
+    protected final List<OnErrorListener> onErrorListeners = new ArrayList<>();
+    protected final List<OnCompleteListener> onCompleteListeners = new ArrayList<>();
 
     protected BaseBuilder(
       Function<Channel, S> stubConstructor,
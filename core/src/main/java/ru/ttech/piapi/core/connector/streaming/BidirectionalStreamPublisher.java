@@ -0,0 +1,43 @@
+package ru.ttech.piapi.core.connector.streaming;
+
+import io.grpc.stub.AbstractAsyncStub;
+
+/**
+ * Публикатор сообщений bidirectional стрима с поддержкой обратного давления
+ * <p>Запросы в стрим отправляются через {@link #newCall(Object)} после подписки на публикатор
+ *
+ * @see StreamPublisher
+ */
+public class BidirectionalStreamPublisher<S extends AbstractAsyncStub<S>, ReqT, RespT>
+  extends StreamPublisher<S, ReqT, RespT> {
+
+  private final BidirectionalStreamConfiguration<S, ReqT, RespT> configuration;
+  private final Object sendLock = new Object();
+
+  BidirectionalStreamPublisher(S stub, BidirectionalStreamConfiguration<S, ReqT, RespT> configuration) {
+    super(stub);
+    this.configuration = configuration;
+  }
+
+  @Override
+  protected void startCall(S stub, FlowControlledSubscription<ReqT, RespT> responseObserver) {
+    configuration.getCall().apply(stub, responseObserver);
+  }
+
+  /**
+   * Метод для отправки нового запроса в стрим
+   *
+   * @param request Запрос <p>Можно подписаться или отписаться от каких-либо обновлений</p>
+   * @throws IllegalStateException если на публикатор ещё не подписались
+   */
+  public void newCall(ReqT request) {
+    var currentSubscription = subscription;
+    var callObserver = currentSubscription == null ? null : currentSubscription.getCallObserver();
+    if (callObserver == null) {
+      throw new IllegalStateException("Стрим не открыт: перед отправкой запросов нужно подписаться на публикатор");
+    }
+    synchronized (sendLock) {
+      callObserver.onNext(request);
+    }
+  }
+}
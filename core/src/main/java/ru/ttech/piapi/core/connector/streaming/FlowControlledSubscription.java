@@ -0,0 +1,150 @@
+package ru.ttech.piapi.core.connector.streaming;
+
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Flow;
+
+/**
+ * Подписка на стрим с ручным управлением потоком gRPC
+ * <p>Автоматический запрос сообщений отключён, спрос подписчика передаётся в
+ * {@link ClientCallStreamObserver#request(int)}, поэтому gRPC не читает из HTTP/2 окна больше сообщений,
+ * чем запросил подписчик. Спрос, запрошенный до начала вызова, копится и передаётся после его начала.
+ * Ошибка некорректного спроса передаётся подписчику через закрытие gRPC вызова, поэтому все сигналы подписчику
+ * приходят последовательно из обработчика вызова
+ *
+ * @param <ReqT>  тип запроса
+ * @param <RespT> тип ответа
+ */
+final class FlowControlledSubscription<ReqT, RespT>
+  implements Flow.Subscription, ClientResponseObserver<ReqT, RespT> {
+
+  private static final Logger logger = LoggerFactory.getLogger(FlowControlledSubscription.class);
+  /**
+   * Размер порции, которой пополняется спрос gRPC при спросе подписчика больше {@link Integer#MAX_VALUE}
+   */
+  private static final int UNBOUNDED_BATCH = 1 << 30;
+
+  private final Flow.Subscriber<? super RespT> subscriber;
+  private volatile ClientCallStreamObserver<ReqT> callObserver;
+  private long pendingDemand;
+  private boolean started;
+  private volatile boolean cancelled;
+  private volatile boolean unbounded;
+  private volatile Throwable demandError;
+  private int deliveredSinceRefill;
+
+  FlowControlledSubscription(Flow.Subscriber<? super RespT> subscriber) {
+    this.subscriber = subscriber;
+  }
+
+  @Override
+  public void beforeStart(ClientCallStreamObserver<ReqT> requestStream) {
+    this.callObserver = requestStream;
+    requestStream.disableAutoRequestWithInitial(0);
+  }
+
+  /**
+   * Метод вызывается после начала gRPC вызова и передаёт накопленный спрос
+   */
+  void onCallStarted() {
+    long demand;
+    synchronized (this) {
+      started = true;
+      demand = pendingDemand;
+      pendingDemand = 0;
+    }
+    if (cancelled) {
+      cancelCall();
+    } else if (demand > 0) {
+      requestFromCall(demand);
+    }
+  }
+
+  ClientCallStreamObserver<ReqT> getCallObserver() {
+    return callObserver;
+  }
+
+  @Override
+  public void request(long n) {
+    if (cancelled) {
+      return;
+    }
+    if (n <= 0) {
+      demandError = new IllegalArgumentException("Количество сообщений должно быть больше нуля: " + n);
+      cancel();
+      return;
+    }
+    synchronized (this) {
+      if (!started) {
+        pendingDemand = pendingDemand + n < 0 ? Long.MAX_VALUE : pendingDemand + n;
+        return;
+      }
+    }
+    requestFromCall(n);
+  }
+
+  @Override
+  public void cancel() {
+    cancelled = true;
+    synchronized (this) {
+      if (!started) {
+        return;
+      }
+    }
+    cancelCall();
+  }
+
+  @Override
+  public void onNext(RespT response) {
+    if (cancelled) {
+      return;
+    }
+    try {
+      subscriber.onNext(response);
+    } catch (Throwable e) {
+      logger.error("Подписчик стрима выбросил исключение, стрим будет отменён: {}", e.getMessage());
+      cancel();
+      return;
+    }
+    if (unbounded && ++deliveredSinceRefill == UNBOUNDED_BATCH) {
+      deliveredSinceRefill = 0;
+      callObserver.request(UNBOUNDED_BATCH);
+    }
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    var error = demandError;
+    if (error != null) {
+      subscriber.onError(error);
+    } else if (!cancelled) {
+      subscriber.onError(throwable);
+    }
+  }
+
+  @Override
+  public void onCompleted() {
+    if (!cancelled) {
+      subscriber.onComplete();
+    }
+  }
+
+  private void requestFromCall(long n) {
+    if (unbounded) {
+      return;
+    }
+    if (n > Integer.MAX_VALUE) {
+      unbounded = true;
+      callObserver.request(UNBOUNDED_BATCH);
+      return;
+    }
+    callObserver.request((int) n);
+  }
+
+  private void cancelCall() {
+    callObserver.cancel("Подписка отменена", null);
+  }
+}
@@ -0,0 +1,24 @@
+package ru.ttech.piapi.core.connector.streaming;
+
+import io.grpc.stub.AbstractAsyncStub;
+
+/**
+ * Публикатор сообщений server-side стрима с поддержкой обратного давления
+ *
+ * @see StreamPublisher
+ */
+public class ServerSideStreamPublisher<S extends AbstractAsyncStub<S>, RespT>
+  extends StreamPublisher<S, Object, RespT> {
+
+  private final ServerSideStreamConfiguration<S, ?, RespT> configuration;
+
+  ServerSideStreamPublisher(S stub, ServerSideStreamConfiguration<S, ?, RespT> configuration) {
+    super(stub);
+    this.configuration = configuration;
+  }
+
+  @Override
+  protected void startCall(S stub, FlowControlledSubscription<Object, RespT> responseObserver) {
+    configuration.getCall().accept(stub, responseObserver);
+  }
+}
@@ -1,9 +1,13 @@
 package ru.ttech.piapi.core.connector.streaming;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import ru.ttech.piapi.core.connector.streaming.listeners.OnNextListener;
+import ru.ttech.piapi.core.helpers.VirtualThreads;
 import ru.ttech.piapi.core.impl.marketdata.MarketDataStreamManager;
 
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 
 /**
@@ -11,6 +15,8 @@ import java.util.concurrent.ScheduledExecutorService;
  */
 public class StreamManagerFactory {
 
+  private static final Logger logger = LoggerFactory.getLogger(StreamManagerFactory.class);
+
   private final StreamServiceStubFactory streamFactory;
 
   private StreamManagerFactory(StreamServiceStubFactory streamFactory) {
@@ -40,4 +46,37 @@ public class StreamManagerFactory {
   ) {
     return new MarketDataStreamManager(streamFactory, executorService, scheduledExecutorService);
   }
+
+  /**
+   * Метод для создания менеджера стримов рыночных данных с пулом потоков обработки,
+   * созданным по конфигурации {@link #newMarketDataListenersExecutor()}. Пул потоков завершается
+   * при остановке менеджера
+   *
+   * @param scheduledExecutorService Пул потоков для контроля состояния стримов
+   * @return Менеджер стримов рыночных данных
+   */
+  public MarketDataStreamManager newMarketDataStreamManager(ScheduledExecutorService scheduledExecutorService) {
+    return new MarketDataStreamManager(
+      streamFactory, newMarketDataListenersExecutor(), scheduledExecutorService, true);
+  }
+
+  /**
+   * Метод для создания пула потоков обработки рыночных данных
+   * <p>При {@code stream.market-data.virtual-threads=true} и Java 21+ каждая дорожка обработки выполняется
+   * в отдельном виртуальном потоке, и блокирующие листенеры не занимают потоки ОС. На более ранних версиях Java
+   * и по умолчанию используется пул платформенных потоков
+   *
+   * @return Пул потоков для выполнения задач {@link OnNextListener}
+   */
+  public ExecutorService newMarketDataListenersExecutor() {
+    var configuration = streamFactory.getServiceStubFactory().getConfiguration();
+    if (configuration.isMarketDataVirtualThreads()) {
+      if (VirtualThreads.isSupported()) {
+        return VirtualThreads.newVirtualThreadPerTaskExecutor();
+      }
+      logger.warn("Виртуальные потоки не поддерживаются в текущей версии Java, "
+        + "для обработки рыночных данных используются платформенные потоки");
+    }
+    return Executors.newCachedThreadPool();
+  }
 }
@@ -0,0 +1,78 @@
+package ru.ttech.piapi.core.connector.streaming;
+
+import io.grpc.Context;
+import io.grpc.stub.AbstractAsyncStub;
+import io.smallrye.mutiny.Multi;
+import org.reactivestreams.FlowAdapters;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Публикатор сообщений стрима с поддержкой обратного давления
+ * <p>Стрим открывается при подписке. gRPC запрашивает из сети ровно столько сообщений, сколько запросил
+ * подписчик через {@link Flow.Subscription#request(long)}, поэтому медленный подписчик не приводит
+ * к неограниченной буферизации: непрочитанные сообщения остаются в HTTP/2 окне и сервер приостанавливает отправку.
+ * Сообщения передаются подписчику в потоке gRPC.
+ * Отмена подписки отменяет вызов. Публикатор поддерживает только одного подписчика
+ *
+ * @param <S>     тип стаба
+ * @param <ReqT>  тип запроса
+ * @param <RespT> тип ответа
+ */
+public abstract class StreamPublisher<S extends AbstractAsyncStub<S>, ReqT, RespT> implements Flow.Publisher<RespT> {
+
+  private static final Flow.Subscription EMPTY_SUBSCRIPTION = new Flow.Subscription() {
+    @Override
+    public void request(long n) {
+    }
+
+    @Override
+    public void cancel() {
+    }
+  };
+
+  private final AtomicBoolean subscribed = new AtomicBoolean();
+  private final S stub;
+  protected volatile FlowControlledSubscription<ReqT, RespT> subscription;
+
+  StreamPublisher(S stub) {
+    this.stub = stub;
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super RespT> subscriber) {
+    Objects.requireNonNull(subscriber, "subscriber");
+    if (!subscribed.compareAndSet(false, true)) {
+      subscriber.onSubscribe(EMPTY_SUBSCRIPTION);
+      subscriber.onError(new IllegalStateException("Публикатор стрима поддерживает только одного подписчика"));
+      return;
+    }
+    var subscription = new FlowControlledSubscription<ReqT, RespT>(subscriber);
+    this.subscription = subscription;
+    subscriber.onSubscribe(subscription);
+    var context = Context.current().fork();
+    var previous = context.attach();
+    try {
+      startCall(stub.withWaitForReady(), subscription);
+    } catch (RuntimeException e) {
+      subscription.onError(e);
+      return;
+    } finally {
+      context.detach(previous);
+    }
+    subscription.onCallStarted();
+  }
+
+  /**
+   * Метод для получения публикатора в виде {@link Multi}
+   *
+   * @return {@link Multi}, спрос которого передаётся в gRPC
+   */
+  public Multi<RespT> toMulti() {
+    return Multi.createFrom().publisher(FlowAdapters.toPublisher(this));
+  }
+
+  protected abstract void startCall(S stub, FlowControlledSubscription<ReqT, RespT> responseObserver);
+}
@@ -9,53 +9,69 @@ import ru.ttech.piapi.core.connector.streaming.listeners.OnNextListener;
 
 import java.util.List;
 
+/**
+ * Наблюдатель ответов стрима, передающий сообщения листенерам
+ * <p>Листенеры копируются в массивы при создании наблюдателя, поэтому обработка сообщения
+ * не создаёт итераторов и лямбд
+ */
 public class StreamResponseObserver<RespT> implements StreamObserver<RespT> {
 
   private static final Logger logger = LoggerFactory.getLogger(StreamResponseObserver.class);
-  private final List<OnNextListener<RespT>> onNextListeners;
-  private final List<OnErrorListener> onErrorListeners;
-  private final List<OnCompleteListener> onCompleteListeners;
+  private final OnNextListener<RespT>[] onNextListeners;
+  private final OnErrorListener[] onErrorListeners;
+  private final OnCompleteListener[] onCompleteListeners;
 
+  @SuppressWarnings({"unchecked", "rawtypes"})
   protected StreamResponseObserver(
     List<OnNextListener<RespT>> onNextListeners,
     List<OnErrorListener> onErrorListeners,
     List<OnCompleteListener> onCompleteListeners
   ) {
-    this.onNextListeners = onNextListeners;
-    this.onErrorListeners = onErrorListeners;
-    this.onCompleteListeners = onCompleteListeners;
+    this.onNextListeners = onNextListeners.toArray(new OnNextListener[0]);
+    this.onErrorListeners = onErrorListeners.toArray(new OnErrorListener[0]);
+    this.onCompleteListeners = onCompleteListeners.toArray(new OnCompleteListener[0]);
   }
 
   @Override
   public void onNext(RespT response) {
-    onNextListeners.forEach(listener -> {
-      try {
-        listener.onNext(response);
-      } catch (Throwable e) {
-        logger.error("Произошла ошибка при обработке ответа: {}", e.getMessage());
-      }
-    });
+    notifyListeners(onNextListeners, response);
   }
 
   @Override
   public void onError(Throwable throwable) {
-    onErrorListeners.forEach(listener -> {
+    for (OnErrorListener listener : onErrorListeners) {
       try {
         listener.onError(throwable);
       } catch (Throwable e) {
         logger.error("Произошла ошибка при обработке ошибки: {}", e.getMessage());
       }
-    });
+    }
   }
 
   @Override
   public void onCompleted() {
-    onCompleteListeners.forEach(onCompleteListener -> {
+    for (OnCompleteListener onCompleteListener : onCompleteListeners) {
       try {
         onCompleteListener.onComplete();
       } catch (Throwable e) {
         logger.error("Произошла ошибка при завершении стрима: {}", e.getMessage());
       }
-    });
+    }
+  }
+
+  /**
+   * Метод для передачи ответа листенерам. Ошибка в одном листенере не мешает вызову остальных
+   *
+   * @param listeners листенеры
+   * @param response  ответ
+   */
+  protected static <T> void notifyListeners(OnNextListener<T>[] listeners, T response) {
+    for (OnNextListener<T> listener : listeners) {
+      try {
+        listener.onNext(response);
+      } catch (Throwable e) {
+        logger.error("Произошла ошибка при обработке ответа: {}", e.getMessage());
+      }
+    }
   }
 }
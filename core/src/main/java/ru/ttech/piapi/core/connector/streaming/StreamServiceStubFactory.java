@@ -1,5 +1,6 @@
 package ru.ttech.piapi.core.connector.streaming;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import io.grpc.Channel;
 import io.grpc.stub.AbstractAsyncStub;
 import lombok.Getter;
@@ -93,6 +94,35 @@ public class StreamServiceStubFactory {
     return new BidirectionalStreamWrapper<>(stub, configuration);
   }
 
+  /**
+   * Метод для создания публикатора сообщений server-side стрима с поддержкой обратного давления
+   * ({@link ServerSideStreamPublisher})
+   * <p>Листенеры конфигурации не используются, сообщения получает подписчик публикатора
+   *
+   * @param configuration Конфигурация стрима
+   * @return Публикатор сообщений стрима
+   */
+  public <ReqT, RespT, S extends AbstractAsyncStub<S>> ServerSideStreamPublisher<S, RespT> newServerSidePublisher(
+    ServerSideStreamConfiguration<S, ReqT, RespT> configuration
+  ) {
+    var stub = createStub(configuration.getStubConstructor());
+    return new ServerSideStreamPublisher<>(stub, configuration);
+  }
+
+  /**
+   * Метод для создания публикатора сообщений bidirectional стрима с поддержкой обратного давления
+   * ({@link BidirectionalStreamPublisher})
+   * <p>Листенеры конфигурации не используются, сообщения получает подписчик публикатора
+   *
+   * @param configuration Конфигурация стрима
+   * @return Публикатор сообщений стрима
+   */
+  public <ReqT, RespT, S extends AbstractAsyncStub<S>> BidirectionalStreamPublisher<S, ReqT, RespT>
+  newBidirectionalPublisher(BidirectionalStreamConfiguration<S, ReqT, RespT> configuration) {
+    var stub = createStub(configuration.getStubConstructor());
+    return new BidirectionalStreamPublisher<>(stub, configuration);
+  }
+
   /**
    * Метод для создания resilience-обрётки над {@link BidirectionalStreamWrapper} для MarketDataStream
    *
@@ -104,10 +134,13 @@ public class StreamServiceStubFactory {
   }
 
   private <S extends AbstractAsyncStub<S>> S createStub(Function<Channel, S> stubConstructor) {
-    var stub = stubConstructor.apply(serviceStubFactory.getChannel());
+    var stub = serviceStubFactory.withMetrics(stubConstructor.apply(serviceStubFactory.getStreamChannel()));
+    if (serviceStubFactory.getConfiguration().isGrpcStreamDirectExecutor()) {
+      stub = stub.withExecutor(MoreExecutors.directExecutor());
+    }
     if (serviceStubFactory.getConfiguration().isGrpcDebug()) {
       stub = stub.withInterceptors(new LoggingDebugInterceptor());
     }
-    return stub;
+    return ServiceStubFactory.withCompression(stub, serviceStubFactory.getConfiguration());
   }
 }
@@ -0,0 +1,81 @@
+package ru.ttech.piapi.core.connector.streaming.listeners;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Список листенеров с копированием при записи
+ * <p>Добавление и удаление листенеров создают новый массив, а обработчики сообщений читают текущий массив
+ * через {@link #array()} без блокировок и без создания итераторов.
+ * Подходит для редко меняющихся списков листенеров, которые вызываются на каждое сообщение стрима
+ *
+ * @param <L> тип листенера
+ */
+public final class ListenerList<L> {
+
+  private static final Object[] EMPTY = new Object[0];
+
+  private volatile Object[] listeners = EMPTY;
+
+  /**
+   * @param listener листенер
+   * @return true
+   */
+  public synchronized boolean add(L listener) {
+    Objects.requireNonNull(listener, "listener");
+    var current = listeners;
+    var updated = Arrays.copyOf(current, current.length + 1);
+    updated[current.length] = listener;
+    listeners = updated;
+    return true;
+  }
+
+  /**
+   * @param listener листенер
+   * @return true, если листенер добавлен, false, если он уже был в списке
+   */
+  public synchronized boolean addIfAbsent(L listener) {
+    return !contains(listener) && add(listener);
+  }
+
+  /**
+   * @param listener листенер
+   * @return true, если листенер был в списке
+   */
+  public synchronized boolean remove(L listener) {
+    var current = listeners;
+    int index = indexOf(current, listener);
+    if (index < 0) {
+      return false;
+    }
+    var updated = new Object[current.length - 1];
+    System.arraycopy(current, 0, updated, 0, index);
+    System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+    listeners = updated;
+    return true;
+  }
+
+  public boolean contains(L listener) {
+    return indexOf(listeners, listener) >= 0;
+  }
+
+  public int size() {
+    return listeners.length;
+  }
+
+  /**
+   * @return Текущий массив листенеров. Массив никогда не изменяется, изменения списка создают новый массив
+   */
+  public Object[] array() {
+    return listeners;
+  }
+
+  private static int indexOf(Object[] listeners, Object listener) {
+    for (int i = 0; i < listeners.length; i++) {
+      if (listeners[i].equals(listener)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
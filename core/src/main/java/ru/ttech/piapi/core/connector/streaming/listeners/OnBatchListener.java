@@ -0,0 +1,15 @@
+package ru.ttech.piapi.core.connector.streaming.listeners;
+
+import java.util.List;
+
+/**
+ * Листенер для обработки сообщений пакетами
+ * <p>Список пакета переиспользуется после возврата из {@link #onBatch(List)}, поэтому сохранять сам список нельзя:
+ * нужные элементы следует скопировать
+ *
+ * @param <T> тип сообщения
+ */
+public interface OnBatchListener<T> {
+
+  void onBatch(List<T> batch);
+}
@@ -5,15 +5,16 @@ import ru.tinkoff.piapi.contract.v1.Quotation;
 
 import java.math.BigDecimal;
 import java.util.Optional;
-import java.util.function.Function;
 
 /**
  * Маппер для конвертации числовых объектов
  */
 public class NumberMapper {
 
-  private static final Function<Quotation, BigDecimal> convert = val -> mapUnitsAndNanos(val.getUnits(), val.getNano());
-  private static final Function<MoneyValue, BigDecimal> convertMoney = val -> mapUnitsAndNanos(val.getUnits(), val.getNano());
+  /**
+   * Множитель для представления цены в формате с фиксированной точкой: 1 единица = 1 000 000 000
+   */
+  public static final long FIXED_POINT_SCALE = 1_000_000_000L;
 
   /**
    * Конвертирует Quotation в BigDecimal.
@@ -25,9 +26,71 @@ public class NumberMapper {
    * @return Значение в формате BigDecimal
    */
   public static BigDecimal quotationToBigDecimal(Quotation value) {
-    return Optional.ofNullable(value)
-      .map(convert)
-      .orElseGet(() -> convert.apply(Quotation.getDefaultInstance()));
+    if (value == null) {
+      return BigDecimal.ZERO;
+    }
+    return mapUnitsAndNanos(value.getUnits(), value.getNano());
+  }
+
+  /**
+   * Конвертирует Quotation в число с фиксированной точкой без создания промежуточных объектов.
+   * <p>Например:<pre>{@code
+   * {units: 10, nanos: 900000000}  --->  10900000000
+   * }</pre>
+   * Значение можно перевести обратно через {@link #fixedPointToBigDecimal(long)}.
+   * Поддерживаются значения по модулю до 9 223 372 036
+   *
+   * @param value значение в формате Quotation
+   * @return Значение, умноженное на {@link #FIXED_POINT_SCALE}
+   */
+  public static long quotationToFixedPoint(Quotation value) {
+    if (value == null) {
+      return 0;
+    }
+    return unitsAndNanosToFixedPoint(value.getUnits(), value.getNano());
+  }
+
+  /**
+   * Конвертирует Quotation в double без создания промежуточных объектов.
+   * <p>Например:<pre>{@code
+   * {units: 10, nanos: 900000000}  --->  10.9
+   * }</pre>
+   *
+   * @param value значение в формате Quotation
+   * @return Значение в формате double
+   */
+  public static double quotationToDouble(Quotation value) {
+    if (value == null) {
+      return 0;
+    }
+    return value.getUnits() + value.getNano() / (double) FIXED_POINT_SCALE;
+  }
+
+  /**
+   * Конвертирует units и nano в число с фиксированной точкой
+   *
+   * @param units целая часть
+   * @param nanos дробная часть в миллиардных долях
+   * @return Значение, умноженное на {@link #FIXED_POINT_SCALE}
+   */
+  public static long unitsAndNanosToFixedPoint(long units, int nanos) {
+    return units * FIXED_POINT_SCALE + nanos;
+  }
+
+  /**
+   * Конвертирует число с фиксированной точкой в BigDecimal.
+   * <p>Например:<pre>{@code
+   * 10900000000  --->  10.9
+   * }</pre>
+   *
+   * @param value значение, умноженное на {@link #FIXED_POINT_SCALE}
+   * @return Значение в формате BigDecimal
+   */
+  public static BigDecimal fixedPointToBigDecimal(long value) {
+    if (value == 0) {
+      return BigDecimal.ZERO;
+    }
+    return BigDecimal.valueOf(value, 9);
   }
 
   /**
@@ -40,9 +103,10 @@ public class NumberMapper {
    * @return Значение в формате BigDecimal
    */
   public static BigDecimal moneyValueToBigDecimal(MoneyValue value) {
-    return Optional.ofNullable(value)
-      .map(convertMoney)
-      .orElseGet(() -> convertMoney.apply(MoneyValue.getDefaultInstance()));
+    if (value == null) {
+      return BigDecimal.ZERO;
+    }
+    return mapUnitsAndNanos(value.getUnits(), value.getNano());
   }
 
   /**
@@ -6,7 +6,6 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.Optional;
-import java.util.function.Function;
 
 /**
  * Маппер для конвертации объектов времени и даты
@@ -14,8 +13,7 @@ import java.util.function.Function;
 public class TimeMapper {
 
   private static final ZoneOffset DEFAULT_ZONE_OFFSET = ZoneOffset.UTC;
-  private static final Function<Timestamp, LocalDateTime> convertToLocalDateTime =
-    val -> mapSecondsAndNanos(val.getSeconds(), val.getNanos());
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
 
   /**
    * Преобразование {@link Timestamp} в {@link LocalDateTime}.
@@ -24,9 +22,24 @@ public class TimeMapper {
    * @return Эквивалентный {@link LocalDateTime}.
    */
   public static LocalDateTime timestampToLocalDateTime(Timestamp timestamp) {
-    return Optional.ofNullable(timestamp)
-      .map(convertToLocalDateTime)
-      .orElseGet(() -> convertToLocalDateTime.apply(Timestamp.getDefaultInstance()));
+    if (timestamp == null) {
+      return mapSecondsAndNanos(0, 0);
+    }
+    return mapSecondsAndNanos(timestamp.getSeconds(), timestamp.getNanos());
+  }
+
+  /**
+   * Преобразование {@link Timestamp} в количество наносекунд с начала эпохи без создания промежуточных объектов.
+   * Поддерживаются даты до 2262 года
+   *
+   * @param timestamp Экземпляр google {@link Timestamp}.
+   * @return Количество наносекунд с 1970-01-01T00:00:00Z
+   */
+  public static long timestampToEpochNanos(Timestamp timestamp) {
+    if (timestamp == null) {
+      return 0;
+    }
+    return timestamp.getSeconds() * NANOS_PER_SECOND + timestamp.getNanos();
   }
 
   /**
@@ -0,0 +1,50 @@
+package ru.ttech.piapi.core.helpers;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Доступ к виртуальным потокам Java 21 без зависимости от версии Java при сборке
+ */
+public class VirtualThreads {
+
+  private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findVirtualThreadPerTaskExecutorMethod();
+
+  private VirtualThreads() {
+  }
+
+  /**
+   * @return true, если текущая JVM поддерживает виртуальные потоки
+   */
+  public static boolean isSupported() {
+    return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+  }
+
+  /**
+   * Метод для создания исполнителя, запускающего каждую задачу в новом виртуальном потоке
+   *
+   * @return Исполнитель на виртуальных потоках
+   * @throws UnsupportedOperationException если JVM не поддерживает виртуальные потоки
+   */
+  public static ExecutorService newVirtualThreadPerTaskExecutor() {
+    if (!isSupported()) {
+      throw new UnsupportedOperationException(
+        "Виртуальные потоки не поддерживаются в Java " + Runtime.version().feature());
+    }
+    try {
+      return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+    } catch (IllegalAccessException | InvocationTargetException e) {
+      throw new IllegalStateException("Не удалось создать исполнитель на виртуальных потоках", e);
+    }
+  }
+
+  private static Method findVirtualThreadPerTaskExecutorMethod() {
+    try {
+      return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,331 @@
+package ru.ttech.piapi.core.impl.marketdata;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.ttech.piapi.core.connector.metrics.Histogram;
+import ru.ttech.piapi.core.connector.streaming.listeners.ListenerList;
+import ru.ttech.piapi.core.connector.streaming.listeners.OnBatchListener;
+import ru.ttech.piapi.core.connector.streaming.listeners.OnNextListener;
+import ru.ttech.piapi.core.impl.marketdata.queue.MarketDataQueue;
+import ru.ttech.piapi.core.impl.marketdata.queue.MarketDataQueueStats;
+import ru.ttech.piapi.core.impl.wrapper.ResponseWrapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Диспетчер обновлений рыночных данных одного типа
+ * <p>Распределяет обновления по очередям обработки (дорожкам) по хэшу UID инструмента.
+ * Обновления одного инструмента всегда попадают в одну дорожку и обрабатываются в порядке поступления,
+ * а обновления разных инструментов обрабатываются параллельно.
+ * Дорожки ограничены по размеру, поведение при переполнении задаётся фабрикой очередей.
+ * <p>Обработчик дорожки забирает из очереди все доступные обновления, но не больше размера пакета,
+ * передаёт их по одному листенерам {@link OnNextListener}, а затем целым пакетом листенерам {@link OnBatchListener}.
+ * Если задано время ожидания пакета и есть пакетные листенеры, неполный пакет дополняется обновлениями,
+ * поступившими за это время. Листенеры {@link OnNextListener} получают каждое обновление сразу, не дожидаясь
+ * заполнения пакета.
+ * <p>Остановка выполняется в три шага: {@link #stopIntake()} перестаёт принимать новые обновления,
+ * {@link #drain()} завершает дорожки после обработки всех накопленных обновлений,
+ * {@link #discardRemaining()} отбрасывает обновления, которые не успели обработать
+ *
+ * @param <T> тип обёртки над обновлением
+ */
+public class MarketDataDispatcher<T extends ResponseWrapper<?>> {
+
+  private static final Logger logger = LoggerFactory.getLogger(MarketDataDispatcher.class);
+  private static final int DEFAULT_BATCH_SIZE = 256;
+  /**
+   * Время ожидания обновления в пустой дорожке, после которого проверяется признак остановки
+   */
+  private static final long LANE_POLL_MILLIS = 100;
+
+  private final List<MarketDataQueue<T>> lanes;
+  private final Function<T, String> instrumentUidExtractor;
+  private final ListenerList<OnNextListener<T>> listeners = new ListenerList<>();
+  private final ListenerList<OnBatchListener<T>> batchListeners = new ListenerList<>();
+  private final Histogram queueWaitHistogram;
+  private final int batchSize;
+  private final long batchLingerNanos;
+  private final LongAdder rejectedCount = new LongAdder();
+  private volatile CountDownLatch terminationLatch;
+  private volatile boolean accepting = true;
+  private volatile boolean draining;
+  private volatile boolean aborted;
+
+  /**
+   * @param lanesCount             количество дорожек обработки
+   * @param instrumentUidExtractor функция получения UID инструмента из обновления
+   * @param laneFactory            фабрика очередей дорожек
+   */
+  public MarketDataDispatcher(int lanesCount,
+                              Function<T, String> instrumentUidExtractor,
+                              Supplier<MarketDataQueue<T>> laneFactory) {
+    this(lanesCount, instrumentUidExtractor, laneFactory, null);
+  }
+
+  /**
+   * @param lanesCount             количество дорожек обработки
+   * @param instrumentUidExtractor функция получения UID инструмента из обновления
+   * @param laneFactory            фабрика очередей дорожек
+   * @param queueWaitHistogram     гистограмма времени ожидания обновлений в очереди в микросекундах.
+   *                               Если {@code null}, время ожидания не измеряется
+   */
+  public MarketDataDispatcher(int lanesCount,
+                              Function<T, String> instrumentUidExtractor,
+                              Supplier<MarketDataQueue<T>> laneFactory,
+                              Histogram queueWaitHistogram) {
+    this(lanesCount, instrumentUidExtractor, laneFactory, queueWaitHistogram, DEFAULT_BATCH_SIZE, 0);
+  }
+
+  /**
+   * @param lanesCount             количество дорожек обработки
+   * @param instrumentUidExtractor функция получения UID инструмента из обновления
+   * @param laneFactory            фабрика очередей дорожек
+   * @param queueWaitHistogram     гистограмма времени ожидания обновлений в очереди в микросекундах.
+   *                               Если {@code null}, время ожидания не измеряется
+   * @param batchSize              максимальный размер пакета обновлений
+   * @param batchLingerMillis      время ожидания заполнения пакета в миллисекундах. Если 0, пакет содержит только
+   *                               обновления, уже находящиеся в очереди
+   */
+  public MarketDataDispatcher(int lanesCount,
+                              Function<T, String> instrumentUidExtractor,
+                              Supplier<MarketDataQueue<T>> laneFactory,
+                              Histogram queueWaitHistogram,
+                              int batchSize,
+                              long batchLingerMillis) {
+    if (lanesCount < 1) {
+      throw new IllegalArgumentException("Lanes count must be positive: " + lanesCount);
+    }
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+    }
+    if (batchLingerMillis < 0) {
+      throw new IllegalArgumentException("Batch linger must not be negative: " + batchLingerMillis);
+    }
+    var lanes = new ArrayList<MarketDataQueue<T>>(lanesCount);
+    for (int i = 0; i < lanesCount; i++) {
+      lanes.add(laneFactory.get());
+    }
+    this.lanes = Collections.unmodifiableList(lanes);
+    this.instrumentUidExtractor = instrumentUidExtractor;
+    this.queueWaitHistogram = queueWaitHistogram;
+    this.batchSize = batchSize;
+    this.batchLingerNanos = TimeUnit.MILLISECONDS.toNanos(batchLingerMillis);
+  }
+
+  /**
+   * Метод для постановки обновления в очередь дорожки, соответствующей инструменту
+   *
+   * @param update обновление
+   */
+  public void dispatch(T update) {
+    if (!accepting) {
+      rejectedCount.increment();
+      return;
+    }
+    lanes.get(laneIndex(instrumentUidExtractor.apply(update))).offer(update);
+  }
+
+  /**
+   * Метод для запуска обработки всех дорожек диспетчера
+   *
+   * @param executorService пул потоков. Каждая дорожка занимает один поток
+   * @throws IllegalStateException если обработка уже запущена
+   */
+  public synchronized void start(ExecutorService executorService) {
+    if (terminationLatch != null) {
+      throw new IllegalStateException("Dispatcher is already started");
+    }
+    terminationLatch = new CountDownLatch(lanes.size());
+    lanes.forEach(lane -> executorService.submit(() -> runLane(lane)));
+  }
+
+  /**
+   * Метод для прекращения приёма обновлений. Обновления, поступившие после вызова, отбрасываются
+   * и учитываются в {@link #getRejectedCount()}
+   */
+  public void stopIntake() {
+    accepting = false;
+  }
+
+  /**
+   * Метод для завершения дорожек после обработки всех накопленных в них обновлений
+   */
+  public void drain() {
+    draining = true;
+  }
+
+  /**
+   * Метод для ожидания завершения всех дорожек
+   *
+   * @param timeout время ожидания
+   * @param unit    единица измерения времени ожидания
+   * @return true, если все дорожки завершены или обработка не запускалась
+   * @throws InterruptedException если поток был прерван во время ожидания
+   */
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    var latch = terminationLatch;
+    return latch == null || latch.await(timeout, unit);
+  }
+
+  /**
+   * Метод для остановки дорожек без обработки оставшихся обновлений
+   * <p>Дорожки завершаются после обработки текущего пакета, оставшиеся в очередях обновления удаляются
+   *
+   * @return Количество удалённых обновлений
+   */
+  public long discardRemaining() {
+    aborted = true;
+    long discarded = 0;
+    for (var lane : lanes) {
+      while (lane.poll() != null) {
+        discarded++;
+      }
+    }
+    return discarded;
+  }
+
+  /**
+   * @return Количество обновлений, отброшенных после прекращения приёма
+   */
+  public long getRejectedCount() {
+    return rejectedCount.sum();
+  }
+
+  public ListenerList<OnNextListener<T>> getListeners() {
+    return listeners;
+  }
+
+  public ListenerList<OnBatchListener<T>> getBatchListeners() {
+    return batchListeners;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public int getLanesCount() {
+    return lanes.size();
+  }
+
+  /**
+   * Метод для получения суммарного состояния очередей всех дорожек
+   *
+   * @return Снимок состояния очередей
+   */
+  public MarketDataQueueStats getQueueStats() {
+    int size = 0;
+    int capacity = 0;
+    long droppedCount = 0;
+    long conflatedCount = 0;
+    for (var lane : lanes) {
+      size += lane.size();
+      capacity += lane.capacity();
+      droppedCount += lane.getDroppedCount();
+      conflatedCount += lane.getConflatedCount();
+    }
+    return new MarketDataQueueStats(size, capacity, droppedCount, conflatedCount);
+  }
+
+  protected int laneIndex(String instrumentUid) {
+    if (lanes.size() == 1 || instrumentUid == null) {
+      return 0;
+    }
+    return Math.floorMod(instrumentUid.hashCode(), lanes.size());
+  }
+
+  private void runLane(MarketDataQueue<T> lane) {
+    try {
+      processLane(lane);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      terminationLatch.countDown();
+    }
+  }
+
+  protected void processLane(MarketDataQueue<T> lane) throws InterruptedException {
+    var batch = new ArrayList<T>(batchSize);
+    var batchView = Collections.unmodifiableList(batch);
+    while (!aborted) {
+      var update = draining ? lane.poll() : lane.poll(LANE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+      if (update == null) {
+        if (draining) {
+          return;
+        }
+        continue;
+      }
+      try {
+        batch.add(update);
+        lane.drainTo(batch, batchSize - batch.size());
+        notifyListeners(batch, 0);
+        lingerForBatch(lane, batch);
+        notifyBatchListeners(batchListeners.array(), batchView);
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void lingerForBatch(MarketDataQueue<T> lane, List<T> batch) throws InterruptedException {
+    if (batchLingerNanos == 0 || batchListeners.size() == 0) {
+      return;
+    }
+    long deadline = System.nanoTime() + batchLingerNanos;
+    while (batch.size() < batchSize && !draining && !aborted) {
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        return;
+      }
+      long timeout = Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(LANE_POLL_MILLIS));
+      var update = lane.poll(timeout, TimeUnit.NANOSECONDS);
+      if (update == null) {
+        continue;
+      }
+      int fromIndex = batch.size();
+      batch.add(update);
+      lane.drainTo(batch, batchSize - batch.size());
+      notifyListeners(batch, fromIndex);
+    }
+  }
+
+  private void notifyListeners(List<T> batch, int fromIndex) {
+    var listeners = this.listeners.array();
+    for (int i = fromIndex; i < batch.size(); i++) {
+      var update = batch.get(i);
+      if (queueWaitHistogram != null) {
+        queueWaitHistogram.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - update.getCreatedAtNanos()));
+      }
+      notifyListeners(listeners, update);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void notifyListeners(Object[] listeners, T update) {
+    for (Object listener : listeners) {
+      try {
+        ((OnNextListener<T>) listener).onNext(update);
+      } catch (Throwable e) {
+        logger.error("Произошла ошибка при обработке ответа: {}", e.getMessage());
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void notifyBatchListeners(Object[] listeners, List<T> batch) {
+    for (Object listener : listeners) {
+      try {
+        ((OnBatchListener<T>) listener).onBatch(batch);
+      } catch (Throwable e) {
+        logger.error("Произошла ошибка при обработке пакета: {}", e.getMessage());
+      }
+    }
+  }
+}
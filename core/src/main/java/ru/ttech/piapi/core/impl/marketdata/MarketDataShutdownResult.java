@@ -0,0 +1,39 @@
+package ru.ttech.piapi.core.impl.marketdata;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Результат остановки менеджера стримов рыночных данных
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class MarketDataShutdownResult {
+
+  /**
+   * true, если запущенные подписки завершились и все накопленные обновления переданы листенерам
+   * до истечения времени ожидания
+   */
+  private final boolean drained;
+  /**
+   * Количество обновлений, полученных из стримов после прекращения приёма
+   */
+  private final long rejectedCount;
+  /**
+   * Количество обновлений, оставшихся в очередях обработки после истечения времени ожидания
+   */
+  private final long discardedCount;
+  /**
+   * Количество обновлений, отброшенных при переполнении очередей за всё время работы менеджера
+   */
+  private final long overflowDroppedCount;
+
+  /**
+   * @return Общее количество обновлений, не переданных листенерам
+   */
+  public long getDroppedCount() {
+    return rejectedCount + discardedCount + overflowDroppedCount;
+  }
+}
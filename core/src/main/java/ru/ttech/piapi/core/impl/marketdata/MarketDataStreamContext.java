@@ -1,18 +1,20 @@
 package ru.ttech.piapi.core.impl.marketdata;
 
 import lombok.Getter;
+import ru.ttech.piapi.core.connector.ConnectorConfiguration;
+import ru.ttech.piapi.core.connector.OverflowPolicy;
+import ru.ttech.piapi.core.connector.metrics.Histogram;
+import ru.ttech.piapi.core.connector.streaming.listeners.ListenerList;
 import ru.ttech.piapi.core.connector.streaming.listeners.OnNextListener;
+import ru.ttech.piapi.core.impl.marketdata.metrics.MarketDataStreamMetrics;
+import ru.ttech.piapi.core.impl.marketdata.queue.MarketDataQueue;
+import ru.ttech.piapi.core.impl.marketdata.subscription.Instrument;
 import ru.ttech.piapi.core.impl.marketdata.wrapper.CandleWrapper;
 import ru.ttech.piapi.core.impl.marketdata.wrapper.LastPriceWrapper;
 import ru.ttech.piapi.core.impl.marketdata.wrapper.OrderBookWrapper;
 import ru.ttech.piapi.core.impl.marketdata.wrapper.TradeWrapper;
 import ru.ttech.piapi.core.impl.marketdata.wrapper.TradingStatusWrapper;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 
 @Getter
 public class MarketDataStreamContext {
@@ -22,22 +24,80 @@ public class MarketDataStreamContext {
   private final OnNextListener<TradeWrapper> globalOnTradeListener;
   private final OnNextListener<OrderBookWrapper> globalOnOrderBookListener;
   private final OnNextListener<TradingStatusWrapper> globalOnTradingStatusesListener;
-  private final List<OnNextListener<CandleWrapper>> onCandleListeners = Collections.synchronizedList(new ArrayList<>());
-  private final List<OnNextListener<LastPriceWrapper>> onLastPriceListeners = Collections.synchronizedList(new ArrayList<>());
-  private final List<OnNextListener<TradeWrapper>> onTradeListeners = Collections.synchronizedList(new ArrayList<>());
-  private final List<OnNextListener<OrderBookWrapper>> onOrderBookListeners = Collections.synchronizedList(new ArrayList<>());
-  private final List<OnNextListener<TradingStatusWrapper>> onTradingStatusListeners = Collections.synchronizedList(new ArrayList<>());
-  private final BlockingQueue<CandleWrapper> candleQueue = new LinkedBlockingQueue<>();
-  private final BlockingQueue<LastPriceWrapper> lastPriceQueue = new LinkedBlockingQueue<>();
-  private final BlockingQueue<TradeWrapper> tradesQueue = new LinkedBlockingQueue<>();
-  private final BlockingQueue<OrderBookWrapper> orderBooksQueue = new LinkedBlockingQueue<>();
-  private final BlockingQueue<TradingStatusWrapper> tradingStatusesQueue = new LinkedBlockingQueue<>();
-
-  public MarketDataStreamContext() {
-    this.globalOnCandleListener = candleQueue::offer;
-    this.globalOnLastPriceListener = lastPriceQueue::offer;
-    this.globalOnTradeListener = tradesQueue::offer;
-    this.globalOnOrderBookListener = orderBooksQueue::offer;
-    this.globalOnTradingStatusesListener = tradingStatusesQueue::offer;
+  private final MarketDataDispatcher<CandleWrapper> candleDispatcher;
+  private final MarketDataDispatcher<LastPriceWrapper> lastPriceDispatcher;
+  private final MarketDataDispatcher<TradeWrapper> tradesDispatcher;
+  private final MarketDataDispatcher<OrderBookWrapper> orderBooksDispatcher;
+  private final MarketDataDispatcher<TradingStatusWrapper> tradingStatusesDispatcher;
+  private final MarketDataSubscriptionIndex subscriptionIndex = new MarketDataSubscriptionIndex();
+  private final MarketDataStreamMetrics streamMetrics;
+
+  /**
+   * Для стаканов и последних цен может быть включено схлопывание обновлений: в очереди хранится только
+   * последнее необработанное обновление по каждому инструменту независимо от общей политики переполнения.
+   * Метрики стримов собираются только при включённом свойстве {@code stream.market-data.metrics}.
+   * Обновления извлекаются из очередей пакетами размером до {@code stream.market-data.batch-size}
+   *
+   * @param configuration конфигурация подключения
+   */
+  public MarketDataStreamContext(ConnectorConfiguration configuration) {
+    int dispatcherLanes = configuration.getMarketDataDispatcherLanes();
+    int queueCapacity = configuration.getMarketDataQueueCapacity();
+    OverflowPolicy overflowPolicy = configuration.getMarketDataOverflowPolicy();
+    int batchSize = configuration.getMarketDataBatchSize();
+    int batchLinger = configuration.getMarketDataBatchLinger();
+    OverflowPolicy lastPricePolicy = configuration.isMarketDataConflateLastPrices()
+      ? OverflowPolicy.CONFLATE
+      : overflowPolicy;
+    OverflowPolicy orderBookPolicy = configuration.isMarketDataConflateOrderBooks()
+      ? OverflowPolicy.CONFLATE
+      : overflowPolicy;
+    this.streamMetrics = configuration.isMarketDataMetrics() ? new MarketDataStreamMetrics() : null;
+    this.candleDispatcher = new MarketDataDispatcher<>(dispatcherLanes, CandleWrapper::getInstrumentUid,
+      () -> MarketDataQueue.create(overflowPolicy, queueCapacity,
+        candle -> new Instrument(candle.getInstrumentUid(), candle.getInterval())),
+      queueWait(MarketDataResponseType.CANDLE), batchSize, batchLinger);
+    this.lastPriceDispatcher = new MarketDataDispatcher<>(dispatcherLanes, LastPriceWrapper::getInstrumentUid,
+      () -> MarketDataQueue.create(lastPricePolicy, queueCapacity, LastPriceWrapper::getInstrumentUid),
+      queueWait(MarketDataResponseType.LAST_PRICE), batchSize, batchLinger);
+    this.tradesDispatcher = new MarketDataDispatcher<>(dispatcherLanes, TradeWrapper::getInstrumentUid,
+      () -> MarketDataQueue.create(overflowPolicy, queueCapacity, TradeWrapper::getInstrumentUid),
+      queueWait(MarketDataResponseType.TRADE), batchSize, batchLinger);
+    this.orderBooksDispatcher = new MarketDataDispatcher<>(dispatcherLanes, OrderBookWrapper::getInstrumentUid,
+      () -> MarketDataQueue.create(orderBookPolicy, queueCapacity,
+        orderBook -> new Instrument(orderBook.getInstrumentUid(), orderBook.getDepth(), orderBook.getOrderBookType())),
+      queueWait(MarketDataResponseType.ORDER_BOOK), batchSize, batchLinger);
+    this.tradingStatusesDispatcher = new MarketDataDispatcher<>(dispatcherLanes, TradingStatusWrapper::getInstrumentUid,
+      () -> MarketDataQueue.create(overflowPolicy, queueCapacity, TradingStatusWrapper::getInstrumentUid),
+      queueWait(MarketDataResponseType.TRADING_STATUS), batchSize, batchLinger);
+    this.globalOnCandleListener = candleDispatcher::dispatch;
+    this.globalOnLastPriceListener = lastPriceDispatcher::dispatch;
+    this.globalOnTradeListener = tradesDispatcher::dispatch;
+    this.globalOnOrderBookListener = orderBooksDispatcher::dispatch;
+    this.globalOnTradingStatusesListener = tradingStatusesDispatcher::dispatch;
+  }
+
+  private Histogram queueWait(MarketDataResponseType responseType) {
+    return streamMetrics == null ? null : streamMetrics.getQueueWaitHistogram(responseType);
+  }
+
+  public ListenerList<OnNextListener<CandleWrapper>> getOnCandleListeners() {
+    return candleDispatcher.getListeners();
+  }
+
+  public ListenerList<OnNextListener<LastPriceWrapper>> getOnLastPriceListeners() {
+    return lastPriceDispatcher.getListeners();
+  }
+
+  public ListenerList<OnNextListener<TradeWrapper>> getOnTradeListeners() {
+    return tradesDispatcher.getListeners();
+  }
+
+  public ListenerList<OnNextListener<OrderBookWrapper>> getOnOrderBookListeners() {
+    return orderBooksDispatcher.getListeners();
+  }
+
+  public ListenerList<OnNextListener<TradingStatusWrapper>> getOnTradingStatusListeners() {
+    return tradingStatusesDispatcher.getListeners();
   }
 }
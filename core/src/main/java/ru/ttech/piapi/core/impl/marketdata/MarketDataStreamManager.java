@@ -1,15 +1,20 @@
 package ru.ttech.piapi.core.impl.marketdata;
 
 import io.vavr.Lazy;
-import io.vavr.Tuple;
-import io.vavr.Tuple2;
 import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import ru.tinkoff.piapi.contract.v1.MarketDataRequest;
 import ru.tinkoff.piapi.contract.v1.SubscriptionAction;
 import ru.tinkoff.piapi.contract.v1.TradeSourceType;
 import ru.ttech.piapi.core.connector.ConnectorConfiguration;
 import ru.ttech.piapi.core.connector.streaming.StreamServiceStubFactory;
+import ru.ttech.piapi.core.connector.streaming.listeners.ListenerList;
+import ru.ttech.piapi.core.connector.streaming.listeners.OnBatchListener;
 import ru.ttech.piapi.core.connector.streaming.listeners.OnNextListener;
+import ru.ttech.piapi.core.impl.marketdata.metrics.MarketDataStreamMetricsSnapshot;
+import ru.ttech.piapi.core.impl.marketdata.metrics.StreamTrafficStats;
+import ru.ttech.piapi.core.impl.marketdata.queue.MarketDataQueueStats;
 import ru.ttech.piapi.core.impl.marketdata.subscription.CandleSubscriptionSpec;
 import ru.ttech.piapi.core.impl.marketdata.subscription.Instrument;
 import ru.ttech.piapi.core.impl.marketdata.subscription.MarketDataSubscriptionResult;
@@ -23,17 +28,25 @@ import ru.ttech.piapi.core.impl.marketdata.wrapper.TradeWrapper;
 import ru.ttech.piapi.core.impl.marketdata.wrapper.TradingStatusWrapper;
 import ru.ttech.piapi.core.impl.wrapper.ResponseWrapper;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -43,6 +56,8 @@ import java.util.stream.Collectors;
  */
 public class MarketDataStreamManager {
 
+  private static final Logger logger = LoggerFactory.getLogger(MarketDataStreamManager.class);
+
   @Getter
   protected final StreamServiceStubFactory streamFactory;
   protected final ConnectorConfiguration configuration;
@@ -51,29 +66,60 @@ public class MarketDataStreamManager {
   protected final MarketDataStreamContext context;
   protected final List<MarketDataStreamWrapper> streamWrappers = Collections.synchronizedList(new ArrayList<>());
   protected final AtomicReference<CompletableFuture<MarketDataSubscriptionResult>> lastTask = new AtomicReference<>();
+  protected final AtomicBoolean started = new AtomicBoolean(false);
+  protected final AtomicBoolean stopped = new AtomicBoolean(false);
+  protected final CompletableFuture<MarketDataShutdownResult> shutdownResult = new CompletableFuture<>();
+  protected final boolean shutdownExecutor;
 
   public MarketDataStreamManager(
     StreamServiceStubFactory streamFactory,
     ExecutorService executorService,
     ScheduledExecutorService scheduledExecutorService
+  ) {
+    this(streamFactory, executorService, scheduledExecutorService, false);
+  }
+
+  /**
+   * @param streamFactory            фабрика стримов
+   * @param executorService          пул потоков для обработки рыночных данных
+   * @param scheduledExecutorService пул потоков для контроля состояния стримов
+   * @param shutdownExecutor         завершать пул потоков обработки рыночных данных при остановке менеджера
+   */
+  public MarketDataStreamManager(
+    StreamServiceStubFactory streamFactory,
+    ExecutorService executorService,
+    ScheduledExecutorService scheduledExecutorService,
+    boolean shutdownExecutor
   ) {
     this.streamFactory = streamFactory;
     this.configuration = streamFactory.getServiceStubFactory().getConfiguration();
-    this.context = new MarketDataStreamContext();
+    this.context = new MarketDataStreamContext(configuration);
     this.executorService = executorService;
     this.scheduledExecutorService = scheduledExecutorService;
+    this.shutdownExecutor = shutdownExecutor;
     this.lastTask.set(CompletableFuture.completedFuture(null));
   }
 
   /**
    * Метод для запуска менеджера стримов
+   * <p>Для каждого типа рыночных данных запускается столько потоков обработки, сколько задано в параметре
+   * {@code stream.market-data.dispatcher-lanes}. Пул потоков менеджера должен вмещать все эти потоки.
+   * Повторный вызов метода ничего не делает
+   *
+   * @throws IllegalStateException если менеджер уже остановлен
    */
   public void start() {
-    executorService.submit(() -> startListenersProcessing(context.getCandleQueue(), context.getOnCandleListeners()));
-    executorService.submit(() -> startListenersProcessing(context.getLastPriceQueue(), context.getOnLastPriceListeners()));
-    executorService.submit(() -> startListenersProcessing(context.getTradesQueue(), context.getOnTradeListeners()));
-    executorService.submit(() -> startListenersProcessing(context.getOrderBooksQueue(), context.getOnOrderBookListeners()));
-    executorService.submit(() -> startListenersProcessing(context.getTradingStatusesQueue(), context.getOnTradingStatusListeners()));
+    if (stopped.get()) {
+      throw new IllegalStateException("Менеджер стримов уже остановлен");
+    }
+    if (!started.compareAndSet(false, true)) {
+      return;
+    }
+    context.getCandleDispatcher().start(executorService);
+    context.getLastPriceDispatcher().start(executorService);
+    context.getTradesDispatcher().start(executorService);
+    context.getOrderBooksDispatcher().start(executorService);
+    context.getTradingStatusesDispatcher().start(executorService);
   }
 
   /**
@@ -291,12 +337,63 @@ public class MarketDataStreamManager {
   }
 
   protected <T extends ResponseWrapper<?>> void addWrapperListener(
-    List<OnNextListener<T>> listeners,
+    ListenerList<OnNextListener<T>> listeners,
     OnNextListener<T> listener
   ) {
-    if (!listeners.contains(listener)) {
-      listeners.add(listener);
-    }
+    listeners.addIfAbsent(listener);
+  }
+
+  /**
+   * Метод для добавления листенера пакетов свечей
+   * <p>Листенер получает все обновления свечей пакетами из очередей обработки.
+   * Размер пакета ограничен свойством {@code stream.market-data.batch-size}, время ожидания заполнения пакета -
+   * свойством {@code stream.market-data.batch-linger}. Ожидание заполнения пакета не задерживает
+   * обычные листенеры. Пакетные листенеры других типов данных работают так же
+   *
+   * @param listener листенер пакетов {@link OnBatchListener}
+   */
+  public void addCandlesBatchListener(OnBatchListener<CandleWrapper> listener) {
+    context.getCandleDispatcher().getBatchListeners().addIfAbsent(listener);
+  }
+
+  /**
+   * Метод для добавления листенера пакетов последних цен
+   *
+   * @param listener листенер пакетов {@link OnBatchListener}
+   * @see #addCandlesBatchListener(OnBatchListener)
+   */
+  public void addLastPricesBatchListener(OnBatchListener<LastPriceWrapper> listener) {
+    context.getLastPriceDispatcher().getBatchListeners().addIfAbsent(listener);
+  }
+
+  /**
+   * Метод для добавления листенера пакетов сделок
+   *
+   * @param listener листенер пакетов {@link OnBatchListener}
+   * @see #addCandlesBatchListener(OnBatchListener)
+   */
+  public void addTradesBatchListener(OnBatchListener<TradeWrapper> listener) {
+    context.getTradesDispatcher().getBatchListeners().addIfAbsent(listener);
+  }
+
+  /**
+   * Метод для добавления листенера пакетов стаканов
+   *
+   * @param listener листенер пакетов {@link OnBatchListener}
+   * @see #addCandlesBatchListener(OnBatchListener)
+   */
+  public void addOrderBooksBatchListener(OnBatchListener<OrderBookWrapper> listener) {
+    context.getOrderBooksDispatcher().getBatchListeners().addIfAbsent(listener);
+  }
+
+  /**
+   * Метод для добавления листенера пакетов статусов торгов
+   *
+   * @param listener листенер пакетов {@link OnBatchListener}
+   * @see #addCandlesBatchListener(OnBatchListener)
+   */
+  public void addTradingStatusesBatchListener(OnBatchListener<TradingStatusWrapper> listener) {
+    context.getTradingStatusesDispatcher().getBatchListeners().addIfAbsent(listener);
   }
 
   /**
@@ -349,19 +446,168 @@ public class MarketDataStreamManager {
     return checkInstrumentSubscription(MarketDataResponseType.TRADING_STATUS, instrument);
   }
 
+  /**
+   * Метод для получения состояния очередей обработки рыночных данных
+   * <p>Содержит текущее количество необработанных обновлений, а также количество отброшенных
+   * и заменённых обновлений с момента создания менеджера
+   *
+   * @return Состояние очередей по типам рыночных данных
+   */
+  public Map<MarketDataResponseType, MarketDataQueueStats> getQueueStats() {
+    Map<MarketDataResponseType, MarketDataQueueStats> stats = new EnumMap<>(MarketDataResponseType.class);
+    stats.put(MarketDataResponseType.CANDLE, context.getCandleDispatcher().getQueueStats());
+    stats.put(MarketDataResponseType.LAST_PRICE, context.getLastPriceDispatcher().getQueueStats());
+    stats.put(MarketDataResponseType.TRADE, context.getTradesDispatcher().getQueueStats());
+    stats.put(MarketDataResponseType.ORDER_BOOK, context.getOrderBooksDispatcher().getQueueStats());
+    stats.put(MarketDataResponseType.TRADING_STATUS, context.getTradingStatusesDispatcher().getQueueStats());
+    return stats;
+  }
+
+  /**
+   * Метод для получения метрик стримов рыночных данных
+   * <p>Содержит количество и объём полученных сообщений по типам данных и по обёрткам над стримами,
+   * гистограммы задержки между временем события на бирже и временем получения сообщения,
+   * а также гистограммы времени ожидания обновлений в очередях обработки
+   *
+   * @return Снимок метрик или {@link Optional#empty()}, если свойство {@code stream.market-data.metrics} выключено
+   */
+  public Optional<MarketDataStreamMetricsSnapshot> getStreamMetrics() {
+    var streamMetrics = context.getStreamMetrics();
+    if (streamMetrics == null) {
+      return Optional.empty();
+    }
+    Map<UUID, StreamTrafficStats> wrappers = new LinkedHashMap<>();
+    synchronized (streamWrappers) {
+      streamWrappers.forEach(wrapper -> wrappers.put(wrapper.getUuid(), wrapper.getTrafficStats()));
+    }
+    return Optional.of(streamMetrics.snapshot(wrappers));
+  }
+
   /**
    * Метод для завершения работы менеджера
+   * <p>Вызывает {@link #drainAndStop(Duration)} со временем ожидания из свойства
+   * {@code stream.market-data.shutdown-timeout}
    */
   public void shutdown() {
+    drainAndStop(Duration.ofMillis(configuration.getMarketDataShutdownTimeout()));
+  }
+
+  /**
+   * Метод для остановки менеджера с обработкой накопленных обновлений
+   * <p>Дожидается завершения уже запущенных подписок и отписок, отменяет healthcheck и закрывает все стримы,
+   * прекращает приём обновлений и ожидает, пока листенеры обработают обновления, накопленные в очередях.
+   * Ожидание подписок входит во время ожидания: если подписки не завершились вовремя, остановка считается
+   * неполной, а стримы, открытые ими позже, закрываются после их завершения.
+   * Если обработка не завершилась за время ожидания, оставшиеся обновления отбрасываются. После остановки
+   * потоки обработки освобождаются, а новые подписки завершаются с {@link IllegalStateException}.
+   * Метод нельзя вызывать из листенеров менеджера: поток листенера будет ждать сам себя до истечения времени ожидания
+   *
+   * @param timeout время ожидания завершения подписок и обработки накопленных обновлений
+   * @return Результат остановки с количеством потерянных обновлений. При повторном вызове возвращается
+   * результат первой остановки
+   */
+  public MarketDataShutdownResult drainAndStop(Duration timeout) {
+    if (!stopped.compareAndSet(false, true)) {
+      return shutdownResult.join();
+    }
+    long deadline = System.nanoTime() + timeout.toNanos();
+    var pendingTasks = lastTask.updateAndGet(previousTask -> previousTask.handle((previousResult, throwable) -> null));
+    boolean tasksCompleted = awaitPendingTasks(pendingTasks, deadline);
+    if (!tasksCompleted) {
+      pendingTasks.thenRun(() -> streamWrappers.forEach(MarketDataStreamWrapper::disconnect));
+    }
     streamWrappers.forEach(MarketDataStreamWrapper::disconnect);
+    var dispatchers = getDispatchers();
+    dispatchers.forEach(MarketDataDispatcher::stopIntake);
+    dispatchers.forEach(MarketDataDispatcher::drain);
+    boolean terminated = awaitDispatchers(dispatchers, deadline);
+    long rejectedCount = 0;
+    long discardedCount = 0;
+    long overflowDroppedCount = 0;
+    for (var dispatcher : dispatchers) {
+      discardedCount += dispatcher.discardRemaining();
+      rejectedCount += dispatcher.getRejectedCount();
+      overflowDroppedCount += dispatcher.getQueueStats().getDroppedCount();
+    }
+    if (shutdownExecutor) {
+      executorService.shutdown();
+    }
+    var result = new MarketDataShutdownResult(
+      tasksCompleted && terminated && discardedCount == 0, rejectedCount, discardedCount, overflowDroppedCount);
+    if (!result.isDrained() || result.getDroppedCount() > 0) {
+      logger.warn("Менеджер стримов остановлен не полностью: {}", result);
+    } else {
+      logger.info("Менеджер стримов остановлен, все обновления обработаны");
+    }
+    shutdownResult.complete(result);
+    return result;
+  }
+
+  /**
+   * Метод для ожидания завершения остановки менеджера, запущенной через {@link #drainAndStop(Duration)}
+   * или {@link #shutdown()}
+   *
+   * @param timeout время ожидания
+   * @param unit    единица измерения времени ожидания
+   * @return true, если менеджер остановлен, false, если время ожидания истекло
+   * @throws InterruptedException если поток был прерван во время ожидания
+   */
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    try {
+      shutdownResult.get(timeout, unit);
+      return true;
+    } catch (TimeoutException e) {
+      return false;
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  public boolean isStopped() {
+    return stopped.get();
+  }
+
+  protected List<MarketDataDispatcher<?>> getDispatchers() {
+    return List.of(
+      context.getCandleDispatcher(),
+      context.getLastPriceDispatcher(),
+      context.getTradesDispatcher(),
+      context.getOrderBooksDispatcher(),
+      context.getTradingStatusesDispatcher()
+    );
+  }
+
+  private static boolean awaitPendingTasks(CompletableFuture<?> pendingTasks, long deadline) {
+    try {
+      pendingTasks.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+      return true;
+    } catch (TimeoutException | ExecutionException e) {
+      return false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private static boolean awaitDispatchers(List<MarketDataDispatcher<?>> dispatchers, long deadline) {
+    try {
+      for (var dispatcher : dispatchers) {
+        if (!dispatcher.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+          return false;
+        }
+      }
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
   }
 
   protected boolean checkInstrumentSubscription(
     MarketDataResponseType responseType,
     Instrument instrument
   ) {
-    return streamWrappers.stream()
-      .anyMatch(wrapper -> wrapper.isSubscribed(responseType, instrument));
+    return context.getSubscriptionIndex().isSubscribed(responseType, instrument);
   }
 
   protected CompletableFuture<MarketDataSubscriptionResult> subscribe(
@@ -372,22 +618,17 @@ public class MarketDataStreamManager {
     if (instruments.isEmpty()) {
       return CompletableFuture.failedFuture(new IllegalArgumentException("Instruments list is empty"));
     }
+    if (stopped.get()) {
+      return CompletableFuture.failedFuture(new IllegalStateException("Менеджер стримов уже остановлен"));
+    }
     var supplier = Lazy.of(() -> CompletableFuture.supplyAsync(() -> {
-      var instrumentsList = new ArrayList<>(instruments);
-      var subscriptionResults = new HashMap<Instrument, SubscriptionStatus>();
-      int i = 0;
-      while (i < instruments.size()) {
-        var streamWrapper = getAvailableStreamWrapper();
-        int endIndex = Math.min(
-          instruments.size(),
-          i + configuration.getMaxMarketDataSubscriptionsCount() - streamWrapper.getSubscriptionsCount()
-        );
-        var sublist = instrumentsList.subList(i, endIndex);
-        i = endIndex;
-        var subscriptionResult = streamWrapper.newCall(requestBuilder.apply(sublist)).join();
-        subscriptionResults.putAll(subscriptionResult.getSubscriptionStatusMap());
+      if (stopped.get()) {
+        throw new IllegalStateException("Менеджер стримов уже остановлен");
       }
-      return new MarketDataSubscriptionResult(RequestAction.SUBSCRIBE, responseType, subscriptionResults);
+      var subscriptionPlan = planSubscriptions(instruments);
+      return new MarketDataSubscriptionResult(
+        RequestAction.SUBSCRIBE, responseType, executeSubscriptionPlan(subscriptionPlan, requestBuilder)
+      );
     }));
     return lastTask.updateAndGet(previousTask -> previousTask.thenCompose(previousResult -> supplier.get()));
   }
@@ -398,41 +639,91 @@ public class MarketDataStreamManager {
     Function<List<Instrument>, MarketDataRequest> requestBuilder
   ) {
     var supplier = Lazy.of(() -> CompletableFuture.supplyAsync(() -> {
+      if (stopped.get()) {
+        throw new IllegalStateException("Менеджер стримов уже остановлен");
+      }
       var wrappersSubscriptions = linkSubscriptionsToWrappers(responseType, instruments);
-      var subscriptionResults = new HashMap<Instrument, SubscriptionStatus>();
-      wrappersSubscriptions.forEach((wrapper, sublist) -> {
-        var subscriptionResult = wrapper.newCall(requestBuilder.apply(sublist)).join();
-        subscriptionResults.putAll(subscriptionResult.getSubscriptionStatusMap());
-      });
-      return new MarketDataSubscriptionResult(RequestAction.UNSUBSCRIBE, responseType, subscriptionResults);
+      return new MarketDataSubscriptionResult(
+        RequestAction.UNSUBSCRIBE, responseType, executeSubscriptionPlan(wrappersSubscriptions, requestBuilder)
+      );
     }));
     lastTask.updateAndGet(previousTask -> previousTask.thenCompose(previousResult -> supplier.get()));
   }
 
+  /**
+   * Метод для распределения инструментов по стримам до отправки запросов
+   * <p>Сначала заполняются уже открытые стримы со свободными подписками, затем создаются новые стримы
+   *
+   * @param instruments инструменты для подписки
+   * @return Инструменты, которые нужно отправить в каждый из стримов
+   */
+  protected Map<MarketDataStreamWrapper, List<Instrument>> planSubscriptions(Set<Instrument> instruments) {
+    int maxSubscriptionsCount = configuration.getMaxMarketDataSubscriptionsCount();
+    var instrumentsList = new ArrayList<>(instruments);
+    var subscriptionPlan = new LinkedHashMap<MarketDataStreamWrapper, List<Instrument>>();
+    int i = 0;
+    synchronized (streamWrappers) {
+      for (var wrapper : streamWrappers) {
+        if (i == instrumentsList.size()) {
+          break;
+        }
+        int freeSubscriptionsCount = maxSubscriptionsCount - wrapper.getSubscriptionsCount();
+        if (freeSubscriptionsCount > 0) {
+          int endIndex = Math.min(instrumentsList.size(), i + freeSubscriptionsCount);
+          subscriptionPlan.put(wrapper, instrumentsList.subList(i, endIndex));
+          i = endIndex;
+        }
+      }
+    }
+    while (i < instrumentsList.size()) {
+      if (streamWrappers.size() >= configuration.getMaxMarketDataStreamsCount()) {
+        throw new IllegalStateException("No available stream wrappers");
+      }
+      var newWrapper = createStreamWrapper();
+      streamWrappers.add(newWrapper);
+      int endIndex = Math.min(instrumentsList.size(), i + maxSubscriptionsCount);
+      subscriptionPlan.put(newWrapper, instrumentsList.subList(i, endIndex));
+      i = endIndex;
+    }
+    return subscriptionPlan;
+  }
+
+  /**
+   * Метод для одновременной отправки запросов во все стримы плана и объединения их результатов
+   *
+   * @param subscriptionPlan инструменты для каждого из стримов
+   * @param requestBuilder   функция построения запроса по списку инструментов
+   * @return Статусы подписок по всем инструментам
+   */
+  protected Map<Instrument, SubscriptionStatus> executeSubscriptionPlan(
+    Map<MarketDataStreamWrapper, List<Instrument>> subscriptionPlan,
+    Function<List<Instrument>, MarketDataRequest> requestBuilder
+  ) {
+    var calls = subscriptionPlan.entrySet().stream()
+      .map(entry -> entry.getKey().newCall(requestBuilder.apply(entry.getValue())))
+      .collect(Collectors.toList());
+    CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+    var subscriptionResults = new HashMap<Instrument, SubscriptionStatus>();
+    calls.stream()
+      .map(CompletableFuture::join)
+      .filter(Objects::nonNull)
+      .forEach(result -> subscriptionResults.putAll(result.getSubscriptionStatusMap()));
+    return subscriptionResults;
+  }
+
   protected Map<MarketDataStreamWrapper, List<Instrument>> linkSubscriptionsToWrappers(
     MarketDataResponseType responseType,
     Set<Instrument> instruments
   ) {
-    return streamWrappers.stream()
-      .flatMap(wrapper -> instruments.stream()
-        .filter(instrument -> wrapper.isSubscribed(responseType, instrument))
-        .map(instrument -> Tuple.of(wrapper, instrument))
-      )
-      .collect(Collectors.groupingBy(Tuple2::_1, Collectors.mapping(Tuple2::_2, Collectors.toList())));
-  }
-
-  protected MarketDataStreamWrapper getAvailableStreamWrapper() {
-    return streamWrappers.stream()
-      .filter(wrapper -> wrapper.getSubscriptionsCount() < configuration.getMaxMarketDataSubscriptionsCount())
-      .findAny()
-      .orElseGet(() -> {
-        if (streamWrappers.size() >= configuration.getMaxMarketDataStreamsCount()) {
-          throw new IllegalStateException("No available stream wrappers");
-        }
-        var newWrapper = createStreamWrapper();
-        streamWrappers.add(newWrapper);
-        return newWrapper;
-      });
+    var subscriptionIndex = context.getSubscriptionIndex();
+    var wrappersSubscriptions = new HashMap<MarketDataStreamWrapper, List<Instrument>>();
+    for (var instrument : instruments) {
+      var wrapper = subscriptionIndex.getWrapper(responseType, instrument);
+      if (wrapper != null) {
+        wrappersSubscriptions.computeIfAbsent(wrapper, __ -> new ArrayList<>()).add(instrument);
+      }
+    }
+    return wrappersSubscriptions;
   }
 
   protected MarketDataStreamWrapper createStreamWrapper() {
@@ -442,21 +733,9 @@ public class MarketDataStreamManager {
       .addOnOrderBookListener(context.getGlobalOnOrderBookListener())
       .addOnTradeListener(context.getGlobalOnTradeListener())
       .addOnTradingStatusListener(context.getGlobalOnTradingStatusesListener())
+      .setSubscriptionIndex(context.getSubscriptionIndex())
+      .setStreamMetrics(context.getStreamMetrics())
       .build();
     return new MarketDataStreamWrapper(streamFactory, configuration);
   }
-
-  protected <T extends ResponseWrapper<?>> void startListenersProcessing(
-    BlockingQueue<T> queue,
-    List<OnNextListener<T>> listeners
-  ) {
-    while (true) {
-      try {
-        var wrapper = queue.take();
-        listeners.forEach(listener -> listener.onNext(wrapper));
-      } catch (InterruptedException e) {
-        throw new RuntimeException(e);
-      }
-    }
-  }
 }
@@ -1,22 +1,25 @@
 package ru.ttech.piapi.core.impl.marketdata;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import ru.tinkoff.piapi.contract.v1.MarketDataResponse;
 import ru.ttech.piapi.core.connector.streaming.StreamResponseObserver;
 import ru.ttech.piapi.core.connector.streaming.listeners.OnCompleteListener;
 import ru.ttech.piapi.core.connector.streaming.listeners.OnErrorListener;
 import ru.ttech.piapi.core.connector.streaming.listeners.OnNextListener;
+import ru.ttech.piapi.core.impl.marketdata.util.MarketDataResponseUtil;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 public class MarketDataStreamObserver extends StreamResponseObserver<MarketDataResponse> {
 
-  private static final Logger logger = LoggerFactory.getLogger(MarketDataStreamObserver.class);
-  private final Map<MarketDataResponseType, List<OnNextListener<MarketDataResponse>>> onResponseListeners;
+  private static final MarketDataResponseType[] RESPONSE_TYPES = MarketDataResponseType.values();
 
+  /**
+   * Листенеры по типам ответов, индекс массива соответствует {@link MarketDataResponseType#ordinal()}
+   */
+  private final OnNextListener<MarketDataResponse>[][] onResponseListeners;
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
   public MarketDataStreamObserver(
     Map<MarketDataResponseType, List<OnNextListener<MarketDataResponse>>> onResponseListeners,
     List<OnNextListener<MarketDataResponse>> onNextListeners,
@@ -24,35 +27,18 @@ public class MarketDataStreamObserver extends StreamResponseObserver<MarketDataR
     List<OnCompleteListener> onCompleteListeners
   ) {
     super(onNextListeners, onErrorListeners, onCompleteListeners);
-    this.onResponseListeners = onResponseListeners;
+    this.onResponseListeners = new OnNextListener[RESPONSE_TYPES.length][];
+    for (MarketDataResponseType responseType : RESPONSE_TYPES) {
+      this.onResponseListeners[responseType.ordinal()] = onResponseListeners
+        .getOrDefault(responseType, List.of())
+        .toArray(new OnNextListener[0]);
+    }
   }
 
   @Override
   public void onNext(MarketDataResponse response) {
-    var responseType = getResponseType(response);
     super.onNext(response);
-    Optional.ofNullable(onResponseListeners.get(responseType))
-      .ifPresent(listeners -> listeners.forEach(listener -> {
-        try {
-          listener.onNext(response);
-        } catch (Throwable e) {
-          logger.error("Произошла ошибка при обработке ответа: {}", e.getMessage());
-        }
-      }));
-  }
-
-  private MarketDataResponseType getResponseType(MarketDataResponse marketDataResponse) {
-    if (marketDataResponse.hasCandle()) {
-      return MarketDataResponseType.CANDLE;
-    } else if (marketDataResponse.hasLastPrice()) {
-      return MarketDataResponseType.LAST_PRICE;
-    } else if (marketDataResponse.hasOrderbook()) {
-      return MarketDataResponseType.ORDER_BOOK;
-    } else if (marketDataResponse.hasTrade()) {
-      return MarketDataResponseType.TRADE;
-    } else if (marketDataResponse.hasTradingStatus()) {
-      return MarketDataResponseType.TRADING_STATUS;
-    }
-    return MarketDataResponseType.OTHER;
+    var responseType = MarketDataResponseUtil.getResponseType(response);
+    notifyListeners(onResponseListeners[responseType.ordinal()], response);
   }
 }
@@ -1,6 +1,5 @@
 package ru.ttech.piapi.core.impl.marketdata;
 
-import io.vavr.Lazy;
 import io.vavr.collection.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,20 +9,27 @@ import ru.tinkoff.piapi.contract.v1.MarketDataStreamServiceGrpc;
 import ru.tinkoff.piapi.contract.v1.PingDelaySettings;
 import ru.ttech.piapi.core.connector.streaming.BidirectionalStreamWrapper;
 import ru.ttech.piapi.core.connector.streaming.StreamServiceStubFactory;
+import ru.ttech.piapi.core.impl.marketdata.metrics.MarketDataStreamMetrics;
+import ru.ttech.piapi.core.impl.marketdata.metrics.StreamTrafficCounter;
+import ru.ttech.piapi.core.impl.marketdata.metrics.StreamTrafficStats;
 import ru.ttech.piapi.core.impl.marketdata.subscription.Instrument;
 import ru.ttech.piapi.core.impl.marketdata.subscription.MarketDataSubscriptionResult;
 import ru.ttech.piapi.core.impl.marketdata.subscription.RequestAction;
 import ru.ttech.piapi.core.impl.marketdata.util.MarketDataRequestUtil;
 import ru.ttech.piapi.core.impl.marketdata.util.MarketDataResponseUtil;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -43,7 +49,14 @@ public class MarketDataStreamWrapper {
 
   private final UUID uuid = UUID.randomUUID();
   protected final AtomicLong lastInteractionTime = new AtomicLong();
-  protected final LinkedBlockingQueue<MarketDataSubscriptionResult> subscriptionResultsQueue = new LinkedBlockingQueue<>();
+  protected final Map<MarketDataResponseType, Queue<PendingRequest>> pendingRequests = Map.of(
+    MarketDataResponseType.CANDLE, new ConcurrentLinkedQueue<>(),
+    MarketDataResponseType.LAST_PRICE, new ConcurrentLinkedQueue<>(),
+    MarketDataResponseType.TRADE, new ConcurrentLinkedQueue<>(),
+    MarketDataResponseType.ORDER_BOOK, new ConcurrentLinkedQueue<>(),
+    MarketDataResponseType.TRADING_STATUS, new ConcurrentLinkedQueue<>()
+  );
+  protected final Object sendLock = new Object();
   protected final AtomicInteger subscriptionsCount = new AtomicInteger(0);
   protected final Map<MarketDataResponseType, Set<Instrument>> subscriptionsMap = Map.of(
     MarketDataResponseType.CANDLE, ConcurrentHashMap.newKeySet(),
@@ -52,18 +65,27 @@ public class MarketDataStreamWrapper {
     MarketDataResponseType.ORDER_BOOK, ConcurrentHashMap.newKeySet(),
     MarketDataResponseType.TRADING_STATUS, ConcurrentHashMap.newKeySet()
   );
-  protected final AtomicReference<List<MarketDataRequest>> requestsRef = new AtomicReference<>(List.empty());
+  protected final Map<MarketDataResponseType, Map<Instrument, MarketDataRequest>> desiredSubscriptions = Map.of(
+    MarketDataResponseType.CANDLE, new ConcurrentHashMap<>(),
+    MarketDataResponseType.LAST_PRICE, new ConcurrentHashMap<>(),
+    MarketDataResponseType.TRADE, new ConcurrentHashMap<>(),
+    MarketDataResponseType.ORDER_BOOK, new ConcurrentHashMap<>(),
+    MarketDataResponseType.TRADING_STATUS, new ConcurrentHashMap<>()
+  );
   protected final AtomicReference<ScheduledFuture<?>> healthCheckFutureRef = new AtomicReference<>(null);
-  protected final AtomicReference<CompletableFuture<MarketDataSubscriptionResult>> lastTask = new AtomicReference<>();
   protected final AtomicBoolean isResubscribing = new AtomicBoolean(false);
   protected final int pingDelay;
   protected final int inactivityTimeout;
+  protected final int maxSubscriptionsCount;
   protected final BidirectionalStreamWrapper<
     MarketDataStreamServiceGrpc.MarketDataStreamServiceStub,
     MarketDataRequest,
     MarketDataResponse> streamWrapper;
   protected final ScheduledExecutorService executorService;
   protected final List<Runnable> onConnectListeners;
+  protected final MarketDataSubscriptionIndex subscriptionIndex;
+  protected final MarketDataStreamMetrics streamMetrics;
+  protected final StreamTrafficCounter traffic = new StreamTrafficCounter();
 
   public MarketDataStreamWrapper(
     StreamServiceStubFactory streamFactory,
@@ -73,22 +95,27 @@ public class MarketDataStreamWrapper {
       .addOnNextListener(this::processResponse)
       .build());
     this.onConnectListeners = List.ofAll(configuration.getOnConnectListeners());
+    this.subscriptionIndex = configuration.getSubscriptionIndex();
+    this.streamMetrics = configuration.getStreamMetrics();
     this.executorService = configuration.getExecutorService();
     this.inactivityTimeout = streamFactory.getServiceStubFactory().getConfiguration().getStreamInactivityTimeout();
     this.pingDelay = streamFactory.getServiceStubFactory().getConfiguration().getStreamPingDelay();
-    this.lastTask.set(CompletableFuture.completedFuture(null));
+    this.maxSubscriptionsCount = streamFactory.getServiceStubFactory().getConfiguration()
+      .getMaxMarketDataSubscriptionsCount();
   }
 
   /**
    * Останавливает healthcheck, очищает очередь запросов и отключается от стрима
    */
   public void disconnect() {
-    if (healthCheckFutureRef.get() != null) {
-      healthCheckFutureRef.get().cancel(true);
-      healthCheckFutureRef.set(null);
-    }
-    requestsRef.updateAndGet(requests -> List.empty());
-    subscriptionsMap.values().forEach(Set::clear);
+    Optional.ofNullable(healthCheckFutureRef.getAndSet(null))
+      .ifPresent(healthCheckFuture -> healthCheckFuture.cancel(true));
+    desiredSubscriptions.values().forEach(Map::clear);
+    failPendingRequests();
+    subscriptionsMap.forEach((responseType, instruments) -> {
+      instruments.forEach(instrument -> unregisterSubscription(responseType, instrument));
+      instruments.clear();
+    });
     updateSubscriptionsCount();
     disconnectWrapper();
   }
@@ -103,77 +130,165 @@ public class MarketDataStreamWrapper {
         .setPingDelayMs(pingDelay)
         .build())
       .build();
-    streamWrapper.newCall(pingRequest);
+    synchronized (sendLock) {
+      if (streamWrapper.isConnected()) {
+        streamWrapper.newCall(pingRequest);
+      }
+    }
   }
 
   /**
    * Метод для отправки запроса в стрим. Можно подписаться или отписаться от обновлений
+   * <p>Запрос отправляется сразу, не дожидаясь результатов ранее отправленных запросов.
+   * Результаты сопоставляются с запросами по типу данных, действию и набору инструментов
    *
    * @param request запрос на подписку или отписку
-   * @return результат выполнения запроса
+   * @return результат выполнения запроса. Завершается значением null, если результат не получен
+   * за время inactivity-timeout
    */
   public CompletableFuture<MarketDataSubscriptionResult> newCall(MarketDataRequest request) {
-    var supplier = Lazy.of(() -> CompletableFuture.supplyAsync(() -> {
-      var requestType = MarketDataRequestUtil.determineRequestType(request);
-      subscriptionResultsQueue.clear();
-      if (!streamWrapper.isConnected()) {
-        streamWrapper.connect();
-      }
-      streamWrapper.newCall(request);
-      lastInteractionTime.set(System.currentTimeMillis());
-      if (!isResubscribing.get()) {
-        requestsRef.updateAndGet(requests -> requests.append(request));
+    var requestType = MarketDataRequestUtil.determineRequestType(request);
+    var requestAction = requestType == MarketDataResponseType.OTHER
+      ? null
+      : MarketDataRequestUtil.determineRequestAction(request);
+    var pendingRequest = new PendingRequest(requestAction, MarketDataRequestUtil.extractInstruments(request));
+    try {
+      synchronized (sendLock) {
+        if (!streamWrapper.isConnected()) {
+          streamWrapper.connect();
+        }
+        var pendingQueue = pendingRequests.get(requestType);
+        if (pendingQueue != null) {
+          pendingQueue.add(pendingRequest);
+        } else {
+          pendingRequest.result.complete(null);
+        }
+        streamWrapper.newCall(request);
       }
-      return waitSubscriptionResult(requestType, MarketDataRequestUtil.extractInstruments(request));
-    }));
-    return lastTask.updateAndGet(previousTask ->
-      previousTask
-        .thenCompose(previousResult -> supplier.get())
-        .exceptionally(ex -> null)
-    );
+    } catch (Exception e) {
+      logger.error("Error while sending request to wrapper {}: {}", uuid, e.getMessage());
+      removePendingRequest(requestType, pendingRequest);
+      return CompletableFuture.completedFuture(null);
+    }
+    lastInteractionTime.set(System.currentTimeMillis());
+    if (!isResubscribing.get()) {
+      updateDesiredSubscriptions(requestType, request);
+    }
+    return pendingRequest.result
+      .orTimeout(inactivityTimeout, TimeUnit.MILLISECONDS)
+      .exceptionally(ex -> {
+        removePendingRequest(requestType, pendingRequest);
+        return null;
+      });
   }
 
-  protected MarketDataSubscriptionResult waitSubscriptionResult(
-    MarketDataResponseType responseType,
-    Collection<Instrument> instruments
-  ) {
-    try {
-      var subscriptionResult = subscriptionResultsQueue.poll(inactivityTimeout, TimeUnit.MILLISECONDS);
-      if (subscriptionResult == null || (subscriptionResult.getResponseType() != responseType
-        || !subscriptionResult.getSubscriptionStatusMap().keySet().containsAll(instruments))
-      ) {
-        throw new IllegalStateException("Wrong subscription result!");
+  /**
+   * Метод актуализации желаемого состояния подписок, которое восстанавливается при переподключении.
+   * Для каждого инструмента хранится шаблон последнего запроса на подписку, отписка удаляет инструмент
+   *
+   * @param requestType тип данных запроса
+   * @param request     запрос на подписку или отписку
+   */
+  protected void updateDesiredSubscriptions(MarketDataResponseType requestType, MarketDataRequest request) {
+    var desired = desiredSubscriptions.get(requestType);
+    if (desired == null) {
+      return;
+    }
+    var instruments = MarketDataRequestUtil.extractInstruments(request);
+    if (MarketDataRequestUtil.determineRequestAction(request) == RequestAction.SUBSCRIBE) {
+      var template = MarketDataRequestUtil.clearInstruments(request);
+      instruments.forEach(instrument -> desired.put(instrument, template));
+    } else {
+      instruments.forEach(desired::remove);
+    }
+  }
+
+  /**
+   * Метод для построения минимального набора запросов, восстанавливающих желаемое состояние подписок.
+   * Инструменты с одинаковыми параметрами подписки объединяются в запросы размером не более max-subscriptions-count
+   *
+   * @return Запросы на подписку
+   */
+  protected List<MarketDataRequest> buildResubscriptionRequests() {
+    var requests = new ArrayList<MarketDataRequest>();
+    desiredSubscriptions.values().forEach(desired -> {
+      var instrumentsByTemplate = new HashMap<MarketDataRequest, ArrayList<Instrument>>();
+      desired.forEach((instrument, template) ->
+        instrumentsByTemplate.computeIfAbsent(template, __ -> new ArrayList<>()).add(instrument));
+      instrumentsByTemplate.forEach((template, instruments) -> {
+        for (int i = 0; i < instruments.size(); i += maxSubscriptionsCount) {
+          var batch = instruments.subList(i, Math.min(instruments.size(), i + maxSubscriptionsCount));
+          requests.add(MarketDataRequestUtil.withInstruments(template, batch));
+        }
+      });
+    });
+    return List.ofAll(requests);
+  }
+
+  /**
+   * Метод для завершения первого ожидающего запроса с тем же действием, инструменты которого содержатся
+   * в результате подписки. Запросы стрима не содержат идентификатора, поэтому результат сопоставляется
+   * по действию и набору инструментов: запоздавший результат запроса, отменённого по таймауту, не завершает
+   * следующий запрос с другими инструментами или отписку от тех же инструментов
+   *
+   * @param subscriptionResult результат подписки
+   */
+  protected void completePendingRequest(MarketDataSubscriptionResult subscriptionResult) {
+    var pendingQueue = pendingRequests.get(subscriptionResult.getResponseType());
+    if (pendingQueue == null) {
+      return;
+    }
+    var instruments = subscriptionResult.getSubscriptionStatusMap().keySet();
+    for (var pendingRequest : pendingQueue) {
+      if (pendingRequest.action == subscriptionResult.getSubscriptionAction()
+        && instruments.containsAll(pendingRequest.instruments)
+        && pendingQueue.remove(pendingRequest)) {
+        pendingRequest.result.complete(subscriptionResult);
+        return;
       }
-      return subscriptionResult;
-    } catch (InterruptedException e) {
-      throw new RuntimeException("Interrupted while waiting for subscription response", e);
     }
+    logger.debug("Subscription result without pending request in wrapper {}", uuid);
+  }
+
+  protected void removePendingRequest(MarketDataResponseType responseType, PendingRequest pendingRequest) {
+    var pendingQueue = pendingRequests.get(responseType);
+    if (pendingQueue != null) {
+      pendingQueue.remove(pendingRequest);
+    }
+  }
+
+  protected void failPendingRequests() {
+    pendingRequests.values().forEach(pendingQueue -> {
+      PendingRequest pendingRequest;
+      while ((pendingRequest = pendingQueue.poll()) != null) {
+        pendingRequest.result.completeExceptionally(new IllegalStateException("Stream disconnected"));
+      }
+    });
   }
 
   protected void processResponse(MarketDataResponse response) {
     lastInteractionTime.set(System.currentTimeMillis());
+    if (streamMetrics != null) {
+      streamMetrics.recordResponse(response, traffic);
+    }
     MarketDataResponseUtil.getSubscriptionResultFromResponse(response).ifPresent(this::processSubscriptionResult);
   }
 
   protected void processSubscriptionResult(MarketDataSubscriptionResult subscriptionResult) {
-    try {
-      updateSubscriptionsMap(subscriptionResult);
-      if (subscriptionsCount.get() > 0) {
-        sendPingSettings();
-        if (healthCheckFutureRef.get() == null) {
-          logger.debug("Healthcheck enabled in wrapper {}", uuid);
-          onConnectListeners.forEach(Runnable::run);
-          healthCheckFutureRef.set(executorService.scheduleAtFixedRate(this::healthCheck, 0, pingDelay, TimeUnit.MILLISECONDS));
-        }
-      } else if (!isResubscribing.get() && healthCheckFutureRef.get() != null) {
-        logger.info("Healthcheck disabled in wrapper {}", uuid);
-        healthCheckFutureRef.get().cancel(true);
-        healthCheckFutureRef.set(null);
+    updateSubscriptionsMap(subscriptionResult);
+    if (subscriptionsCount.get() > 0) {
+      sendPingSettings();
+      if (healthCheckFutureRef.get() == null) {
+        logger.debug("Healthcheck enabled in wrapper {}", uuid);
+        onConnectListeners.forEach(Runnable::run);
+        healthCheckFutureRef.set(executorService.scheduleAtFixedRate(this::healthCheck, 0, pingDelay, TimeUnit.MILLISECONDS));
       }
-      subscriptionResultsQueue.put(subscriptionResult);
-    } catch (InterruptedException e) {
-      throw new RuntimeException(e);
+    } else if (!isResubscribing.get() && healthCheckFutureRef.get() != null) {
+      logger.info("Healthcheck disabled in wrapper {}", uuid);
+      healthCheckFutureRef.get().cancel(true);
+      healthCheckFutureRef.set(null);
     }
+    completePendingRequest(subscriptionResult);
   }
 
   /**
@@ -217,15 +332,34 @@ public class MarketDataStreamWrapper {
       })
       .map(Map.Entry::getKey)
       .collect(Collectors.toSet());
+    var responseType = subscriptionResult.getResponseType();
     if (currentAction == RequestAction.SUBSCRIBE) {
       subscribedInstruments.addAll(successResults);
+      successResults.forEach(instrument -> registerSubscription(responseType, instrument));
     } else if (currentAction == RequestAction.UNSUBSCRIBE) {
       successResults.forEach(subscribedInstruments::remove);
+      successResults.forEach(instrument -> unregisterSubscription(responseType, instrument));
     }
     errorResults.forEach(subscribedInstruments::remove);
+    errorResults.forEach(instrument -> unregisterSubscription(responseType, instrument));
+    if (currentAction == RequestAction.SUBSCRIBE) {
+      errorResults.forEach(desiredSubscriptions.get(responseType)::remove);
+    }
     updateSubscriptionsCount();
   }
 
+  protected void registerSubscription(MarketDataResponseType responseType, Instrument instrument) {
+    if (subscriptionIndex != null) {
+      subscriptionIndex.register(responseType, instrument, this);
+    }
+  }
+
+  protected void unregisterSubscription(MarketDataResponseType responseType, Instrument instrument) {
+    if (subscriptionIndex != null) {
+      subscriptionIndex.unregister(responseType, instrument, this);
+    }
+  }
+
   /**
    * Метод актуализации количества подписок.
    * Обновляет количество подписок враппера исходя из текущего состояния subscriptionsMap
@@ -241,9 +375,11 @@ public class MarketDataStreamWrapper {
     if (timeoutExceeded && subscriptionsCount.get() > 0) {
       logger.info("Wrapper {} reconnecting...", uuid);
       disconnectWrapper();
+      failPendingRequests();
       isResubscribing.set(true);
-      requestsRef.get().forEach(request -> newCall(request).join());
+      var resubscriptions = buildResubscriptionRequests().map(this::newCall);
       isResubscribing.set(false);
+      resubscriptions.forEach(CompletableFuture::join);
       lastInteractionTime.set(System.currentTimeMillis());
       if (subscriptionsCount.get() > 0) {
         onConnectListeners.forEach(Runnable::run);
@@ -251,10 +387,36 @@ public class MarketDataStreamWrapper {
     }
   }
 
+  public UUID getUuid() {
+    return uuid;
+  }
+
+  /**
+   * Метод для получения счётчиков сообщений, полученных обёрткой.
+   * Счётчики заполняются только при включённом свойстве {@code stream.market-data.metrics}
+   *
+   * @return Снимок счётчиков сообщений
+   */
+  public StreamTrafficStats getTrafficStats() {
+    return traffic.snapshot();
+  }
+
   public int getSubscriptionsCount() {
     return subscriptionsCount.get();
   }
 
+  protected static class PendingRequest {
+
+    private final RequestAction action;
+    private final Collection<Instrument> instruments;
+    private final CompletableFuture<MarketDataSubscriptionResult> result = new CompletableFuture<>();
+
+    protected PendingRequest(RequestAction action, Collection<Instrument> instruments) {
+      this.action = action;
+      this.instruments = instruments;
+    }
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
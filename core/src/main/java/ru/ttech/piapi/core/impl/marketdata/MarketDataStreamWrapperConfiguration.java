@@ -2,6 +2,7 @@ package ru.ttech.piapi.core.impl.marketdata;
 
 import lombok.Getter;
 import ru.ttech.piapi.core.connector.streaming.listeners.OnNextListener;
+import ru.ttech.piapi.core.impl.marketdata.metrics.MarketDataStreamMetrics;
 import ru.ttech.piapi.core.impl.marketdata.wrapper.CandleWrapper;
 import ru.ttech.piapi.core.impl.marketdata.wrapper.LastPriceWrapper;
 import ru.ttech.piapi.core.impl.marketdata.wrapper.OrderBookWrapper;
@@ -26,6 +27,10 @@ public class MarketDataStreamWrapperConfiguration {
   private final List<OnNextListener<TradingStatusWrapper>> onTradingStatusListeners;
   @Getter
   private final List<Runnable> onConnectListeners;
+  @Getter
+  private final MarketDataSubscriptionIndex subscriptionIndex;
+  @Getter
+  private final MarketDataStreamMetrics streamMetrics;
 
   public MarketDataStreamWrapperConfiguration(
     ScheduledExecutorService executorService,
@@ -34,7 +39,9 @@ public class MarketDataStreamWrapperConfiguration {
     List<OnNextListener<OrderBookWrapper>> onOrderBookListeners,
     List<OnNextListener<TradeWrapper>> onTradeListeners,
     List<OnNextListener<TradingStatusWrapper>> onTradingStatusListeners,
-    List<Runnable> onConnectListeners
+    List<Runnable> onConnectListeners,
+    MarketDataSubscriptionIndex subscriptionIndex,
+    MarketDataStreamMetrics streamMetrics
   ) {
     this.executorService = executorService;
     this.onCandleListeners = onCandleListeners;
@@ -43,6 +50,8 @@ public class MarketDataStreamWrapperConfiguration {
     this.onTradeListeners = onTradeListeners;
     this.onTradingStatusListeners = onTradingStatusListeners;
     this.onConnectListeners = onConnectListeners;
+    this.subscriptionIndex = subscriptionIndex;
+    this.streamMetrics = streamMetrics;
   }
 
   public MarketDataStreamConfiguration.Builder getStreamWrapperConfigBuilder() {
@@ -74,6 +83,8 @@ public class MarketDataStreamWrapperConfiguration {
     private final List<OnNextListener<TradeWrapper>> onTradeListeners = new ArrayList<>();
     private final List<OnNextListener<TradingStatusWrapper>> onTradingStatusListeners = new ArrayList<>();
     private final List<Runnable> onConnectListeners = new ArrayList<>();
+    private MarketDataSubscriptionIndex subscriptionIndex;
+    private MarketDataStreamMetrics streamMetrics;
 
     protected Builder(ScheduledExecutorService executorService) {
       this.executorService = executorService;
@@ -163,10 +174,32 @@ public class MarketDataStreamWrapperConfiguration {
       return this;
     }
 
+    /**
+     * Метод для задания общего индекса подписок, который обёртка будет обновлять при получении результатов подписки
+     *
+     * @param subscriptionIndex Индекс подписок
+     * @return Билдер конфигурации обёртки над стримом
+     */
+    public Builder setSubscriptionIndex(MarketDataSubscriptionIndex subscriptionIndex) {
+      this.subscriptionIndex = subscriptionIndex;
+      return this;
+    }
+
+    /**
+     * Метод для задания общих метрик стримов, в которые обёртка будет записывать полученные сообщения
+     *
+     * @param streamMetrics Метрики стримов. Если {@code null}, метрики не собираются
+     * @return Билдер конфигурации обёртки над стримом
+     */
+    public Builder setStreamMetrics(MarketDataStreamMetrics streamMetrics) {
+      this.streamMetrics = streamMetrics;
+      return this;
+    }
+
     public MarketDataStreamWrapperConfiguration build() {
       return new MarketDataStreamWrapperConfiguration(
         executorService, onCandleListeners, onLastPriceListeners, onOrderBookListeners, onTradeListeners,
-        onTradingStatusListeners, onConnectListeners
+        onTradingStatusListeners, onConnectListeners, subscriptionIndex, streamMetrics
       );
     }
   }
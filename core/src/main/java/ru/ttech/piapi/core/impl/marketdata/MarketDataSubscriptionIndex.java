@@ -0,0 +1,79 @@
+package ru.ttech.piapi.core.impl.marketdata;
+
+import ru.ttech.piapi.core.impl.marketdata.subscription.Instrument;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Общий индекс подписок на рыночные данные
+ * <p>Хранит соответствие (тип данных, инструмент) - обёртка над стримом, в которой оформлена подписка.
+ * Обновляется обёртками {@link MarketDataStreamWrapper} при получении результатов подписки,
+ * поэтому проверка наличия подписки не требует обхода всех стримов
+ */
+public class MarketDataSubscriptionIndex {
+
+  private final Map<MarketDataResponseType, Map<Instrument, MarketDataStreamWrapper>> index =
+    new EnumMap<>(MarketDataResponseType.class);
+
+  public MarketDataSubscriptionIndex() {
+    for (var responseType : MarketDataResponseType.values()) {
+      if (responseType != MarketDataResponseType.OTHER) {
+        index.put(responseType, new ConcurrentHashMap<>());
+      }
+    }
+  }
+
+  /**
+   * Метод для регистрации подписки в индексе
+   *
+   * @param responseType тип данных
+   * @param instrument   инструмент
+   * @param wrapper      обёртка над стримом, в которой оформлена подписка
+   */
+  public void register(MarketDataResponseType responseType, Instrument instrument, MarketDataStreamWrapper wrapper) {
+    getIndex(responseType).put(instrument, wrapper);
+  }
+
+  /**
+   * Метод для удаления подписки из индекса. Подписка удаляется, только если она принадлежит указанной обёртке
+   *
+   * @param responseType тип данных
+   * @param instrument   инструмент
+   * @param wrapper      обёртка над стримом, в которой была оформлена подписка
+   */
+  public void unregister(MarketDataResponseType responseType, Instrument instrument, MarketDataStreamWrapper wrapper) {
+    getIndex(responseType).remove(instrument, wrapper);
+  }
+
+  /**
+   * Метод для получения обёртки над стримом, в которой оформлена подписка
+   *
+   * @param responseType тип данных
+   * @param instrument   инструмент
+   * @return Обёртка над стримом или null, если подписки нет
+   */
+  public MarketDataStreamWrapper getWrapper(MarketDataResponseType responseType, Instrument instrument) {
+    return getIndex(responseType).get(instrument);
+  }
+
+  /**
+   * Метод для проверки наличия подписки
+   *
+   * @param responseType тип данных
+   * @param instrument   инструмент
+   * @return true, если подписка есть, false - если нет
+   */
+  public boolean isSubscribed(MarketDataResponseType responseType, Instrument instrument) {
+    return getIndex(responseType).containsKey(instrument);
+  }
+
+  private Map<Instrument, MarketDataStreamWrapper> getIndex(MarketDataResponseType responseType) {
+    var responseTypeIndex = index.get(responseType);
+    if (responseTypeIndex == null) {
+      throw new IllegalArgumentException("Unsupported response type: " + responseType);
+    }
+    return responseTypeIndex;
+  }
+}
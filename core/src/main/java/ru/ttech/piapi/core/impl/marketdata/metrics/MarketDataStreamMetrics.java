@@ -0,0 +1,107 @@
+package ru.ttech.piapi.core.impl.marketdata.metrics;
+
+import com.google.protobuf.Timestamp;
+import ru.tinkoff.piapi.contract.v1.MarketDataResponse;
+import ru.ttech.piapi.core.connector.metrics.Histogram;
+import ru.ttech.piapi.core.helpers.TimeMapper;
+import ru.ttech.piapi.core.impl.marketdata.MarketDataResponseType;
+import ru.ttech.piapi.core.impl.marketdata.util.MarketDataResponseUtil;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Метрики стримов рыночных данных по типам данных: количество и объём сообщений, задержка
+ * между временем события на бирже и временем получения, время ожидания в очереди обработки
+ * <p>Метрики собираются при включённом свойстве {@code stream.market-data.metrics} и доступны через
+ * {@link ru.ttech.piapi.core.impl.marketdata.MarketDataStreamManager#getStreamMetrics()}
+ */
+public final class MarketDataStreamMetrics {
+
+  private static final MarketDataResponseType[] RESPONSE_TYPES = MarketDataResponseType.values();
+
+  private final Map<MarketDataResponseType, ResponseTypeMetrics> responseTypes;
+
+  public MarketDataStreamMetrics() {
+    var responseTypes = new EnumMap<MarketDataResponseType, ResponseTypeMetrics>(MarketDataResponseType.class);
+    for (MarketDataResponseType responseType : RESPONSE_TYPES) {
+      responseTypes.put(responseType, new ResponseTypeMetrics());
+    }
+    this.responseTypes = Collections.unmodifiableMap(responseTypes);
+  }
+
+  /**
+   * Метод для учёта сообщения, полученного из стрима
+   *
+   * @param response       сообщение
+   * @param wrapperTraffic счётчик сообщений обёртки, получившей сообщение
+   */
+  public void recordResponse(MarketDataResponse response, StreamTrafficCounter wrapperTraffic) {
+    long nowNanos = System.nanoTime();
+    long bytes = response.getSerializedSize();
+    var metrics = responseTypes.get(MarketDataResponseUtil.getResponseType(response));
+    wrapperTraffic.record(bytes, nowNanos);
+    metrics.traffic.record(bytes, nowNanos);
+    var exchangeTime = getExchangeTime(response);
+    if (exchangeTime.getSeconds() > 0) {
+      long exchangeTimeMillis = TimeUnit.NANOSECONDS.toMillis(TimeMapper.timestampToEpochNanos(exchangeTime));
+      metrics.exchangeLag.record(System.currentTimeMillis() - exchangeTimeMillis);
+    }
+  }
+
+  /**
+   * @param responseType тип рыночных данных
+   * @return Гистограмма времени ожидания в очереди обработки в микросекундах
+   */
+  public Histogram getQueueWaitHistogram(MarketDataResponseType responseType) {
+    return responseTypes.get(responseType).queueWait;
+  }
+
+  /**
+   * @param wrappers счётчики сообщений обёрток над стримами
+   * @return Снимок метрик
+   */
+  public MarketDataStreamMetricsSnapshot snapshot(Map<UUID, StreamTrafficStats> wrappers) {
+    var snapshot = new EnumMap<MarketDataResponseType, MarketDataTypeMetricsSnapshot>(MarketDataResponseType.class);
+    responseTypes.forEach((responseType, metrics) -> snapshot.put(responseType, metrics.snapshot()));
+    return new MarketDataStreamMetricsSnapshot(
+      Collections.unmodifiableMap(snapshot),
+      Collections.unmodifiableMap(wrappers)
+    );
+  }
+
+  /**
+   * Для свечей используется время последней сделки, вошедшей в свечу, так как время начала интервала
+   * не отражает момент события. Для сообщений без времени события возвращается пустой {@link Timestamp}
+   */
+  private static Timestamp getExchangeTime(MarketDataResponse response) {
+    switch (response.getPayloadCase()) {
+      case CANDLE:
+        return response.getCandle().getLastTradeTs();
+      case ORDERBOOK:
+        return response.getOrderbook().getTime();
+      case TRADE:
+        return response.getTrade().getTime();
+      case LAST_PRICE:
+        return response.getLastPrice().getTime();
+      case TRADING_STATUS:
+        return response.getTradingStatus().getTime();
+      default:
+        return Timestamp.getDefaultInstance();
+    }
+  }
+
+  private static final class ResponseTypeMetrics {
+
+    private final StreamTrafficCounter traffic = new StreamTrafficCounter();
+    private final Histogram exchangeLag = new Histogram();
+    private final Histogram queueWait = new Histogram();
+
+    private MarketDataTypeMetricsSnapshot snapshot() {
+      return new MarketDataTypeMetricsSnapshot(traffic.snapshot(), exchangeLag.snapshot(), queueWait.snapshot());
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package ru.ttech.piapi.core.impl.marketdata.metrics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import ru.ttech.piapi.core.impl.marketdata.MarketDataResponseType;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Снимок метрик стримов рыночных данных
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class MarketDataStreamMetricsSnapshot {
+
+  /**
+   * Метрики по типам рыночных данных. Пинги и результаты подписок учитываются в типе
+   * {@link MarketDataResponseType#OTHER}
+   */
+  private final Map<MarketDataResponseType, MarketDataTypeMetricsSnapshot> responseTypes;
+  /**
+   * Счётчики сообщений по идентификаторам обёрток над стримами
+   */
+  private final Map<UUID, StreamTrafficStats> wrappers;
+}
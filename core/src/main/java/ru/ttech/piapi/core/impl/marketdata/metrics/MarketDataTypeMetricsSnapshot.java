@@ -0,0 +1,29 @@
+package ru.ttech.piapi.core.impl.marketdata.metrics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import ru.ttech.piapi.core.connector.metrics.HistogramSnapshot;
+
+/**
+ * Снимок метрик рыночных данных одного типа
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class MarketDataTypeMetricsSnapshot {
+
+  /**
+   * Счётчики сообщений по всем стримам
+   */
+  private final StreamTrafficStats traffic;
+  /**
+   * Гистограмма задержки в миллисекундах между временем события на бирже и временем получения сообщения.
+   * Задержка включает расхождение часов биржи и клиента
+   */
+  private final HistogramSnapshot exchangeLag;
+  /**
+   * Гистограмма времени ожидания обновления в очереди обработки до вызова листенеров в микросекундах
+   */
+  private final HistogramSnapshot queueWait;
+}
@@ -0,0 +1,43 @@
+package ru.ttech.piapi.core.impl.marketdata.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счётчик скорости за последнюю завершённую секунду
+ * <p>Значения текущей секунды накапливаются в {@link LongAdder}, при переходе на следующую секунду
+ * накопленная сумма становится скоростью. Переход выполняется без блокировок, поэтому значения,
+ * записанные на границе секунд, могут быть учтены в соседней секунде
+ */
+final class RateMeter {
+
+  private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final AtomicLong currentSecond;
+  private final LongAdder current = new LongAdder();
+  private volatile long lastSecondValue;
+
+  RateMeter(long nowNanos) {
+    this.currentSecond = new AtomicLong(Math.floorDiv(nowNanos, NANOS_PER_SECOND));
+  }
+
+  void mark(long amount, long nowNanos) {
+    roll(nowNanos);
+    current.add(amount);
+  }
+
+  long getRate(long nowNanos) {
+    roll(nowNanos);
+    return lastSecondValue;
+  }
+
+  private void roll(long nowNanos) {
+    long second = Math.floorDiv(nowNanos, NANOS_PER_SECOND);
+    long observed = currentSecond.get();
+    if (second > observed && currentSecond.compareAndSet(observed, second)) {
+      long completed = current.sumThenReset();
+      lastSecondValue = second - observed == 1 ? completed : 0;
+    }
+  }
+}
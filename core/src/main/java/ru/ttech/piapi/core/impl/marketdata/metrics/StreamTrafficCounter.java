@@ -0,0 +1,40 @@
+package ru.ttech.piapi.core.impl.marketdata.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счётчик сообщений и байт, полученных из стрима
+ */
+public final class StreamTrafficCounter {
+
+  private final LongAdder messages = new LongAdder();
+  private final LongAdder bytes = new LongAdder();
+  private final RateMeter messagesRate;
+  private final RateMeter bytesRate;
+
+  public StreamTrafficCounter() {
+    long nowNanos = System.nanoTime();
+    this.messagesRate = new RateMeter(nowNanos);
+    this.bytesRate = new RateMeter(nowNanos);
+  }
+
+  /**
+   * Метод для учёта полученного сообщения
+   *
+   * @param messageBytes размер сообщения в байтах
+   * @param nowNanos     текущее значение {@link System#nanoTime()}
+   */
+  public void record(long messageBytes, long nowNanos) {
+    messages.increment();
+    bytes.add(messageBytes);
+    messagesRate.mark(1, nowNanos);
+    bytesRate.mark(messageBytes, nowNanos);
+  }
+
+  public StreamTrafficStats snapshot() {
+    long nowNanos = System.nanoTime();
+    return new StreamTrafficStats(
+      messages.sum(), bytes.sum(), messagesRate.getRate(nowNanos), bytesRate.getRate(nowNanos)
+    );
+  }
+}
@@ -0,0 +1,31 @@
+package ru.ttech.piapi.core.impl.marketdata.metrics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Снимок счётчиков сообщений, полученных из стрима
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class StreamTrafficStats {
+
+  /**
+   * Количество сообщений с момента создания счётчика
+   */
+  private final long messages;
+  /**
+   * Суммарный размер сообщений в байтах с момента создания счётчика
+   */
+  private final long bytes;
+  /**
+   * Количество сообщений за последнюю завершённую секунду
+   */
+  private final long messagesPerSecond;
+  /**
+   * Размер сообщений в байтах за последнюю завершённую секунду
+   */
+  private final long bytesPerSecond;
+}
@@ -0,0 +1,262 @@
+package ru.ttech.piapi.core.impl.marketdata.orderbook;
+
+import ru.tinkoff.piapi.contract.v1.Order;
+import ru.tinkoff.piapi.contract.v1.OrderBook;
+import ru.ttech.piapi.core.helpers.NumberMapper;
+import ru.ttech.piapi.core.helpers.TimeMapper;
+import ru.ttech.piapi.core.impl.marketdata.subscription.Instrument;
+
+import java.lang.invoke.VarHandle;
+import java.util.List;
+
+/**
+ * Локальная копия стакана по одному инструменту
+ * <p>Уровни хранятся в заранее выделенных массивах и обновляются на месте. Обновления применяет один поток,
+ * читать стакан можно из любых потоков: чтение повторяется, если во время него было применено обновление.
+ * Номер версии увеличивается на единицу при каждом применённом обновлении
+ */
+public class LocalOrderBook {
+
+  private final Instrument instrument;
+  private final long[] bidPrices;
+  private final long[] bidQuantities;
+  private final long[] askPrices;
+  private final long[] askQuantities;
+  private final boolean[] changedBids;
+  private final boolean[] changedAsks;
+  private int bidsCount;
+  private int asksCount;
+  private boolean consistent;
+  private long timeEpochNanos;
+  private volatile long sequence;
+
+  public LocalOrderBook(Instrument instrument) {
+    this.instrument = instrument;
+    int depth = Math.max(1, instrument.getDepth());
+    this.bidPrices = new long[depth];
+    this.bidQuantities = new long[depth];
+    this.askPrices = new long[depth];
+    this.askQuantities = new long[depth];
+    this.changedBids = new boolean[depth];
+    this.changedAsks = new boolean[depth];
+  }
+
+  /**
+   * Метод для применения снимка стакана. Листенер вызывается после того, как обновление полностью применено,
+   * поэтому из него можно читать стакан. Уровни сравниваются с предыдущим снимком по позиции
+   *
+   * @param orderBook снимок стакана
+   * @param listener  листенер изменившихся уровней или null
+   * @return true, если изменился хотя бы один уровень
+   */
+  protected boolean apply(OrderBook orderBook, OrderBookChangeListener listener) {
+    long currentSequence = sequence;
+    int previousBidsCount = bidsCount;
+    int previousAsksCount = asksCount;
+    boolean changed;
+    sequence = currentSequence + 1;
+    VarHandle.storeStoreFence();
+    try {
+      changed = applySide(orderBook.getBidsList(), bidPrices, bidQuantities, previousBidsCount, changedBids);
+      changed |= applySide(orderBook.getAsksList(), askPrices, askQuantities, previousAsksCount, changedAsks);
+      bidsCount = Math.min(orderBook.getBidsCount(), bidPrices.length);
+      asksCount = Math.min(orderBook.getAsksCount(), askPrices.length);
+      consistent = orderBook.getIsConsistent();
+      timeEpochNanos = TimeMapper.timestampToEpochNanos(orderBook.getTime());
+    } finally {
+      sequence = currentSequence + 2;
+    }
+    if (changed && listener != null) {
+      notifyChanges(listener, OrderBookSide.BID, bidPrices, bidQuantities, changedBids,
+        Math.max(previousBidsCount, bidsCount));
+      notifyChanges(listener, OrderBookSide.ASK, askPrices, askQuantities, changedAsks,
+        Math.max(previousAsksCount, asksCount));
+      listener.onOrderBookChanged(this);
+    }
+    return changed;
+  }
+
+  private static boolean applySide(
+    List<Order> orders,
+    long[] prices,
+    long[] quantities,
+    int previousCount,
+    boolean[] changedLevels
+  ) {
+    boolean changed = false;
+    int count = Math.min(orders.size(), prices.length);
+    for (int level = 0; level < count; level++) {
+      var order = orders.get(level);
+      long price = NumberMapper.quotationToFixedPoint(order.getPrice());
+      long quantity = order.getQuantity();
+      boolean levelChanged = level >= previousCount || prices[level] != price || quantities[level] != quantity;
+      if (levelChanged) {
+        prices[level] = price;
+        quantities[level] = quantity;
+        changed = true;
+      }
+      changedLevels[level] = levelChanged;
+    }
+    for (int level = count; level < previousCount; level++) {
+      prices[level] = 0;
+      quantities[level] = 0;
+      changedLevels[level] = true;
+      changed = true;
+    }
+    return changed;
+  }
+
+  private void notifyChanges(
+    OrderBookChangeListener listener,
+    OrderBookSide side,
+    long[] prices,
+    long[] quantities,
+    boolean[] changedLevels,
+    int levelsCount
+  ) {
+    for (int level = 0; level < levelsCount; level++) {
+      if (changedLevels[level]) {
+        changedLevels[level] = false;
+        listener.onLevelChanged(this, side, level, prices[level], quantities[level]);
+      }
+    }
+  }
+
+  /**
+   * Метод для согласованного копирования стакана
+   *
+   * @param target снимок, в который копируется стакан. Может переиспользоваться между вызовами
+   * @return Снимок стакана
+   */
+  public Snapshot readInto(Snapshot target) {
+    while (true) {
+      long startSequence = sequence;
+      if ((startSequence & 1) == 0) {
+        target.ensureCapacity(bidPrices.length, askPrices.length);
+        int bids = bidsCount;
+        int asks = asksCount;
+        System.arraycopy(bidPrices, 0, target.bidPrices, 0, bids);
+        System.arraycopy(bidQuantities, 0, target.bidQuantities, 0, bids);
+        System.arraycopy(askPrices, 0, target.askPrices, 0, asks);
+        System.arraycopy(askQuantities, 0, target.askQuantities, 0, asks);
+        target.bidsCount = bids;
+        target.asksCount = asks;
+        target.consistent = consistent;
+        target.timeEpochNanos = timeEpochNanos;
+        target.version = startSequence >>> 1;
+        VarHandle.loadLoadFence();
+        if (sequence == startSequence) {
+          return target;
+        }
+      }
+      Thread.onSpinWait();
+    }
+  }
+
+  /**
+   * Метод для получения лучшей цены покупки
+   *
+   * @return Лучшая цена покупки в формате с фиксированной точкой или 0, если заявок нет
+   */
+  public long getBestBid() {
+    return readTopLevel(bidPrices, OrderBookSide.BID);
+  }
+
+  /**
+   * Метод для получения лучшей цены продажи
+   *
+   * @return Лучшая цена продажи в формате с фиксированной точкой или 0, если заявок нет
+   */
+  public long getBestAsk() {
+    return readTopLevel(askPrices, OrderBookSide.ASK);
+  }
+
+  private long readTopLevel(long[] prices, OrderBookSide side) {
+    while (true) {
+      long startSequence = sequence;
+      if ((startSequence & 1) == 0) {
+        int count = side == OrderBookSide.BID ? bidsCount : asksCount;
+        long price = count == 0 ? 0 : prices[0];
+        VarHandle.loadLoadFence();
+        if (sequence == startSequence) {
+          return price;
+        }
+      }
+      Thread.onSpinWait();
+    }
+  }
+
+  /**
+   * @return Номер версии стакана. Увеличивается при каждом применённом обновлении
+   */
+  public long getVersion() {
+    return sequence >>> 1;
+  }
+
+  public Instrument getInstrument() {
+    return instrument;
+  }
+
+  /**
+   * Согласованный снимок локального стакана
+   */
+  public static class Snapshot {
+
+    private long[] bidPrices = new long[0];
+    private long[] bidQuantities = new long[0];
+    private long[] askPrices = new long[0];
+    private long[] askQuantities = new long[0];
+    private int bidsCount;
+    private int asksCount;
+    private boolean consistent;
+    private long timeEpochNanos;
+    private long version;
+
+    private void ensureCapacity(int bidsCapacity, int asksCapacity) {
+      if (bidPrices.length < bidsCapacity) {
+        bidPrices = new long[bidsCapacity];
+        bidQuantities = new long[bidsCapacity];
+      }
+      if (askPrices.length < asksCapacity) {
+        askPrices = new long[asksCapacity];
+        askQuantities = new long[asksCapacity];
+      }
+    }
+
+    public int getBidsCount() {
+      return bidsCount;
+    }
+
+    public int getAsksCount() {
+      return asksCount;
+    }
+
+    public long getBidPrice(int level) {
+      return bidPrices[level];
+    }
+
+    public long getBidQuantity(int level) {
+      return bidQuantities[level];
+    }
+
+    public long getAskPrice(int level) {
+      return askPrices[level];
+    }
+
+    public long getAskQuantity(int level) {
+      return askQuantities[level];
+    }
+
+    public boolean isConsistent() {
+      return consistent;
+    }
+
+    public long getTimeEpochNanos() {
+      return timeEpochNanos;
+    }
+
+    public long getVersion() {
+      return version;
+    }
+  }
+}
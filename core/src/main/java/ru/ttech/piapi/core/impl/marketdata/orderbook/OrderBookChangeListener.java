@@ -0,0 +1,31 @@
+package ru.ttech.piapi.core.impl.marketdata.orderbook;
+
+/**
+ * Листенер изменений локального стакана
+ * <p>Вызывается в потоке, применяющем обновление, только для изменившихся уровней.
+ * Изменения определяются по позиции уровня, а не по цене: уровень с индексом {@code level} считается изменившимся,
+ * если на этой позиции стоит другая цена или другое количество. Поэтому при появлении новой лучшей цены все
+ * более глубокие уровни сдвигаются и тоже передаются как изменившиеся.
+ * Цены передаются в формате с фиксированной точкой (см. {@link ru.ttech.piapi.core.helpers.NumberMapper#FIXED_POINT_SCALE})
+ */
+public interface OrderBookChangeListener {
+
+  /**
+   * Метод вызывается для каждой позиции стакана, на которой изменилась цена или количество
+   *
+   * @param orderBook стакан
+   * @param side      сторона стакана
+   * @param level     индекс уровня. 0 - лучшая цена
+   * @param price     цена, которая теперь стоит на этой позиции. 0, если позиция опустела
+   * @param quantity  количество лотов на этой позиции. 0, если позиция опустела
+   */
+  void onLevelChanged(LocalOrderBook orderBook, OrderBookSide side, int level, long price, long quantity);
+
+  /**
+   * Метод вызывается после применения обновления, если изменился хотя бы один уровень
+   *
+   * @param orderBook стакан
+   */
+  default void onOrderBookChanged(LocalOrderBook orderBook) {
+  }
+}
@@ -0,0 +1,72 @@
+package ru.ttech.piapi.core.impl.marketdata.orderbook;
+
+import ru.ttech.piapi.core.connector.streaming.listeners.OnNextListener;
+import ru.ttech.piapi.core.impl.marketdata.subscription.Instrument;
+import ru.ttech.piapi.core.impl.marketdata.wrapper.OrderBookWrapper;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Движок локальных стаканов
+ * <p>Хранит по одному стакану {@link LocalOrderBook} на каждую пару инструмент - глубина стакана и применяет
+ * к нему входящие снимки на месте. Листенеру передаются только изменившиеся уровни.
+ * <p>Пример:
+ * <pre>{@code
+ * var engine = new OrderBookEngine((orderBook, side, level, price, quantity) ->
+ *   logger.info("{} {} level {} changed", orderBook.getInstrument().getInstrumentUid(), side, level));
+ * marketDataStreamManager.subscribeOrderBooks(instruments, engine);
+ * }</pre>
+ * Снимки одного инструмента должны применяться последовательно, что обеспечивает
+ * {@link ru.ttech.piapi.core.impl.marketdata.MarketDataStreamManager}
+ */
+public class OrderBookEngine implements OnNextListener<OrderBookWrapper> {
+
+  private final Map<Instrument, LocalOrderBook> orderBooks = new ConcurrentHashMap<>();
+  private final Map<String, LocalOrderBook> lastOrderBookByUid = new ConcurrentHashMap<>();
+  private final OrderBookChangeListener changeListener;
+
+  public OrderBookEngine() {
+    this(null);
+  }
+
+  /**
+   * @param changeListener листенер изменившихся уровней стаканов
+   */
+  public OrderBookEngine(OrderBookChangeListener changeListener) {
+    this.changeListener = changeListener;
+  }
+
+  @Override
+  public void onNext(OrderBookWrapper orderBookWrapper) {
+    var orderBook = orderBookWrapper.getOriginal();
+    var localOrderBook = lastOrderBookByUid.get(orderBook.getInstrumentUid());
+    if (localOrderBook == null
+      || localOrderBook.getInstrument().getDepth() != orderBook.getDepth()
+      || localOrderBook.getInstrument().getOrderBookType() != orderBook.getOrderBookType()) {
+      var instrument = new Instrument(orderBook.getInstrumentUid(), orderBook.getDepth(), orderBook.getOrderBookType());
+      localOrderBook = orderBooks.computeIfAbsent(instrument, LocalOrderBook::new);
+      lastOrderBookByUid.put(orderBook.getInstrumentUid(), localOrderBook);
+    }
+    localOrderBook.apply(orderBook, changeListener);
+  }
+
+  /**
+   * Метод для получения локального стакана
+   *
+   * @param instrument инструмент с глубиной и типом стакана
+   * @return Стакан или null, если по инструменту ещё не было обновлений
+   */
+  public LocalOrderBook getOrderBook(Instrument instrument) {
+    return orderBooks.get(instrument);
+  }
+
+  /**
+   * @return Все локальные стаканы
+   */
+  public Collection<LocalOrderBook> getOrderBooks() {
+    return Collections.unmodifiableCollection(orderBooks.values());
+  }
+}
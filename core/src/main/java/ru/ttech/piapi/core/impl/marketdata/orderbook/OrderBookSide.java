@@ -0,0 +1,15 @@
+package ru.ttech.piapi.core.impl.marketdata.orderbook;
+
+/**
+ * Сторона стакана
+ */
+public enum OrderBookSide {
+  /**
+   * Заявки на покупку
+   */
+  BID,
+  /**
+   * Заявки на продажу
+   */
+  ASK
+}
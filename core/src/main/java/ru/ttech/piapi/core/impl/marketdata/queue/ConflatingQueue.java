@@ -0,0 +1,110 @@
+package ru.ttech.piapi.core.impl.marketdata.queue;
+
+import ru.ttech.piapi.core.connector.OverflowPolicy;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Очередь, хранящая только последнее необработанное обновление по каждому инструменту
+ * <p>Порядок обработки инструментов определяется моментом поступления первого необработанного обновления.
+ * Если для инструмента уже есть обновление в очереди, оно заменяется новым без изменения позиции
+ *
+ * @param <T> тип обновления
+ */
+public class ConflatingQueue<T> implements MarketDataQueue<T> {
+
+  private final Map<Object, T> pending;
+  private final RingBufferQueue<Object> keys;
+  private final Function<T, ?> keyExtractor;
+  private final LongAdder droppedCount = new LongAdder();
+  private final LongAdder conflatedCount = new LongAdder();
+
+  /**
+   * @param capacity     максимальное количество инструментов с необработанными обновлениями
+   * @param keyExtractor функция получения ключа инструмента из обновления
+   */
+  public ConflatingQueue(int capacity, Function<T, ?> keyExtractor) {
+    this.keys = new RingBufferQueue<>(capacity, OverflowPolicy.DROP_NEWEST);
+    this.pending = new ConcurrentHashMap<>(keys.capacity());
+    this.keyExtractor = keyExtractor;
+  }
+
+  @Override
+  public boolean offer(T element) {
+    Object key = keyExtractor.apply(element);
+    if (pending.put(key, element) != null) {
+      conflatedCount.increment();
+      return true;
+    }
+    if (!keys.offer(key)) {
+      // Откатывается только своё обновление. Если его уже заменило более новое, ключ которого в очередь не попал,
+      // отбрасывается более новое, чтобы оно не осталось в таблице без ключа в очереди
+      if (pending.remove(key, element) || pending.remove(key) != null) {
+        droppedCount.increment();
+      }
+      return false;
+    }
+    return true;
+  }
+
+  @Override
+  public T poll() {
+    Object key;
+    while ((key = keys.poll()) != null) {
+      T element = pending.remove(key);
+      if (element != null) {
+        return element;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    while (true) {
+      Object key = keys.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+      if (key == null) {
+        return null;
+      }
+      T element = pending.remove(key);
+      if (element != null) {
+        return element;
+      }
+    }
+  }
+
+  @Override
+  public T take() throws InterruptedException {
+    while (true) {
+      T element = pending.remove(keys.take());
+      if (element != null) {
+        return element;
+      }
+    }
+  }
+
+  @Override
+  public int size() {
+    return pending.size();
+  }
+
+  @Override
+  public int capacity() {
+    return keys.capacity();
+  }
+
+  @Override
+  public long getDroppedCount() {
+    return droppedCount.sum();
+  }
+
+  @Override
+  public long getConflatedCount() {
+    return conflatedCount.sum();
+  }
+}
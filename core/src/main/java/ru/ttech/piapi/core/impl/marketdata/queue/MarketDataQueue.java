@@ -0,0 +1,104 @@
+package ru.ttech.piapi.core.impl.marketdata.queue;
+
+import ru.ttech.piapi.core.connector.OverflowPolicy;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Ограниченная очередь обновлений рыночных данных
+ * <p>Допускает запись из нескольких потоков. Поведение при переполнении определяется {@link OverflowPolicy}
+ *
+ * @param <T> тип обновления
+ */
+public interface MarketDataQueue<T> {
+
+  /**
+   * Метод для добавления обновления в очередь с учётом политики переполнения
+   *
+   * @param element обновление
+   * @return true, если обновление принято очередью, false - если отброшено
+   */
+  boolean offer(T element);
+
+  /**
+   * Метод для извлечения обновления без ожидания
+   *
+   * @return обновление или null, если очередь пуста
+   */
+  T poll();
+
+  /**
+   * Метод для извлечения обновления с ожиданием не дольше указанного времени
+   *
+   * @param timeout время ожидания
+   * @param unit    единица измерения времени ожидания
+   * @return обновление или null, если за время ожидания обновлений не поступило
+   * @throws InterruptedException если поток был прерван во время ожидания
+   */
+  T poll(long timeout, TimeUnit unit) throws InterruptedException;
+
+  /**
+   * Метод для извлечения обновления с ожиданием его поступления
+   *
+   * @return обновление
+   * @throws InterruptedException если поток был прерван во время ожидания
+   */
+  T take() throws InterruptedException;
+
+  /**
+   * Метод для извлечения доступных обновлений без ожидания
+   *
+   * @param target      коллекция, в которую добавляются обновления
+   * @param maxElements максимальное количество извлекаемых обновлений
+   * @return количество извлечённых обновлений
+   */
+  default int drainTo(Collection<? super T> target, int maxElements) {
+    int drained = 0;
+    while (drained < maxElements) {
+      T element = poll();
+      if (element == null) {
+        break;
+      }
+      target.add(element);
+      drained++;
+    }
+    return drained;
+  }
+
+  /**
+   * @return текущее количество обновлений в очереди
+   */
+  int size();
+
+  /**
+   * @return ёмкость очереди
+   */
+  int capacity();
+
+  /**
+   * @return количество отброшенных обновлений
+   */
+  long getDroppedCount();
+
+  /**
+   * @return количество обновлений, заменённых более новыми по тому же инструменту
+   */
+  long getConflatedCount();
+
+  /**
+   * Метод для создания очереди
+   *
+   * @param policy        политика обработки переполнения
+   * @param capacity      ёмкость очереди. Округляется вверх до степени двойки
+   * @param keyExtractor  функция получения ключа инструмента. Используется только с {@link OverflowPolicy#CONFLATE}
+   * @return Очередь обновлений
+   */
+  static <T> MarketDataQueue<T> create(OverflowPolicy policy, int capacity, Function<T, ?> keyExtractor) {
+    if (policy == OverflowPolicy.CONFLATE) {
+      return new ConflatingQueue<>(capacity, keyExtractor);
+    }
+    return new RingBufferQueue<>(capacity, policy);
+  }
+}
@@ -0,0 +1,31 @@
+package ru.ttech.piapi.core.impl.marketdata.queue;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Снимок состояния очередей обработки рыночных данных одного типа
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class MarketDataQueueStats {
+
+  /**
+   * Количество обновлений, ожидающих обработки
+   */
+  private final int size;
+  /**
+   * Суммарная ёмкость очередей
+   */
+  private final int capacity;
+  /**
+   * Количество отброшенных при переполнении обновлений
+   */
+  private final long droppedCount;
+  /**
+   * Количество обновлений, заменённых более новыми по тому же инструменту
+   */
+  private final long conflatedCount;
+}
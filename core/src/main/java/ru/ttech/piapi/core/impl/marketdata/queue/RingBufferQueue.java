@@ -0,0 +1,239 @@
+package ru.ttech.piapi.core.impl.marketdata.queue;
+
+import ru.ttech.piapi.core.connector.OverflowPolicy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ограниченная кольцевая очередь без блокировок с заранее выделенным буфером
+ * <p>Допускает одновременную запись и чтение из нескольких потоков. Каждая ячейка буфера хранит номер последовательности,
+ * по которому писатели и читатели определяют, свободна ли ячейка, поэтому при работе очереди не создаются новые объекты
+ *
+ * @param <T> тип обновления
+ */
+public class RingBufferQueue<T> implements MarketDataQueue<T> {
+
+  private static final int SPIN_TRIES = 100;
+  private static final int YIELD_TRIES = 10;
+  private static final long CONSUMER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final long PRODUCER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+  private final Object[] buffer;
+  private final AtomicLongArray sequences;
+  private final int mask;
+  private final OverflowPolicy policy;
+  private final AtomicLong tail = new AtomicLong();
+  private final AtomicLong head = new AtomicLong();
+  private final LongAdder droppedCount = new LongAdder();
+  private volatile Thread waitingConsumer;
+
+  /**
+   * @param capacity ёмкость очереди. Округляется вверх до степени двойки
+   * @param policy   политика обработки переполнения. {@link OverflowPolicy#CONFLATE} не поддерживается
+   */
+  public RingBufferQueue(int capacity, OverflowPolicy policy) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+    }
+    if (policy == OverflowPolicy.CONFLATE) {
+      throw new IllegalArgumentException("Use ConflatingQueue for " + policy + " policy");
+    }
+    int size = ceilingPowerOfTwo(capacity);
+    this.buffer = new Object[size];
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+    this.mask = size - 1;
+    this.policy = policy;
+  }
+
+  @Override
+  public boolean offer(T element) {
+    if (element == null) {
+      throw new NullPointerException("Element must not be null");
+    }
+    boolean accepted = tryOffer(element);
+    if (!accepted) {
+      accepted = offerOnOverflow(element);
+    }
+    if (accepted) {
+      signalConsumer();
+    }
+    return accepted;
+  }
+
+  @Override
+  public T poll() {
+    long position = head.get();
+    while (true) {
+      int index = (int) (position & mask);
+      long difference = sequences.get(index) - (position + 1);
+      if (difference == 0) {
+        if (head.compareAndSet(position, position + 1)) {
+          @SuppressWarnings("unchecked")
+          T element = (T) buffer[index];
+          buffer[index] = null;
+          sequences.set(index, position + mask + 1);
+          return element;
+        }
+        position = head.get();
+      } else if (difference < 0) {
+        return null;
+      } else {
+        position = head.get();
+      }
+    }
+  }
+
+  @Override
+  public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+    return awaitElement(System.nanoTime() + unit.toNanos(timeout), true);
+  }
+
+  @Override
+  public T take() throws InterruptedException {
+    return awaitElement(0, false);
+  }
+
+  @Override
+  public int size() {
+    long size = tail.get() - head.get();
+    return (int) Math.max(0, Math.min(size, buffer.length));
+  }
+
+  @Override
+  public int capacity() {
+    return buffer.length;
+  }
+
+  @Override
+  public long getDroppedCount() {
+    return droppedCount.sum();
+  }
+
+  @Override
+  public long getConflatedCount() {
+    return 0;
+  }
+
+  public OverflowPolicy getPolicy() {
+    return policy;
+  }
+
+  protected boolean tryOffer(T element) {
+    long position = tail.get();
+    while (true) {
+      int index = (int) (position & mask);
+      long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          buffer[index] = element;
+          sequences.set(index, position + 1);
+          return true;
+        }
+        position = tail.get();
+      } else if (difference < 0) {
+        return false;
+      } else {
+        position = tail.get();
+      }
+    }
+  }
+
+  private boolean offerOnOverflow(T element) {
+    switch (policy) {
+      case DROP_NEWEST:
+        droppedCount.increment();
+        return false;
+      case DROP_OLDEST:
+        do {
+          if (poll() != null) {
+            droppedCount.increment();
+          }
+        } while (!tryOffer(element));
+        return true;
+      default:
+        int idle = 0;
+        while (!tryOffer(element)) {
+          if (Thread.currentThread().isInterrupted()) {
+            droppedCount.increment();
+            return false;
+          }
+          signalConsumer();
+          idle = idle(idle, PRODUCER_PARK_NANOS);
+        }
+        return true;
+    }
+  }
+
+  private T awaitElement(long deadline, boolean timed) throws InterruptedException {
+    int idle = 0;
+    while (true) {
+      T element = poll();
+      if (element != null) {
+        return element;
+      }
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+      long parkNanos = CONSUMER_PARK_NANOS;
+      if (timed) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          return null;
+        }
+        parkNanos = Math.min(parkNanos, remaining);
+      }
+      if (idle < SPIN_TRIES + YIELD_TRIES) {
+        idle = idle(idle, parkNanos);
+        continue;
+      }
+      waitingConsumer = Thread.currentThread();
+      try {
+        if (isEmpty()) {
+          LockSupport.parkNanos(this, parkNanos);
+        }
+      } finally {
+        waitingConsumer = null;
+      }
+    }
+  }
+
+  private boolean isEmpty() {
+    return tail.get() == head.get();
+  }
+
+  private void signalConsumer() {
+    var consumer = waitingConsumer;
+    if (consumer != null) {
+      LockSupport.unpark(consumer);
+    }
+  }
+
+  private static int idle(int idle, long parkNanos) {
+    if (idle < SPIN_TRIES) {
+      Thread.onSpinWait();
+    } else if (idle < SPIN_TRIES + YIELD_TRIES) {
+      Thread.yield();
+    } else {
+      LockSupport.parkNanos(parkNanos);
+    }
+    return idle + 1;
+  }
+
+  private static int ceilingPowerOfTwo(int value) {
+    int highestBit = Integer.highestOneBit(value);
+    if (highestBit == value) {
+      return value;
+    }
+    if (highestBit == 1 << 30) {
+      throw new IllegalArgumentException("Capacity is too large: " + value);
+    }
+    return highestBit << 1;
+  }
+}
@@ -1,7 +1,12 @@
 package ru.ttech.piapi.core.impl.marketdata.util;
 
+import ru.tinkoff.piapi.contract.v1.CandleInstrument;
+import ru.tinkoff.piapi.contract.v1.InfoInstrument;
+import ru.tinkoff.piapi.contract.v1.LastPriceInstrument;
 import ru.tinkoff.piapi.contract.v1.MarketDataRequest;
+import ru.tinkoff.piapi.contract.v1.OrderBookInstrument;
 import ru.tinkoff.piapi.contract.v1.SubscriptionAction;
+import ru.tinkoff.piapi.contract.v1.TradeInstrument;
 import ru.ttech.piapi.core.impl.marketdata.MarketDataResponseType;
 import ru.ttech.piapi.core.impl.marketdata.subscription.Instrument;
 import ru.ttech.piapi.core.impl.marketdata.subscription.RequestAction;
@@ -72,4 +77,75 @@ public class MarketDataRequestUtil {
     }
     return Collections.emptyList();
   }
+
+  /**
+   * Метод для получения шаблона запроса: запроса с теми же параметрами подписки, но без инструментов
+   *
+   * @param request запрос на подписку или отписку
+   * @return Запрос без инструментов
+   */
+  public static MarketDataRequest clearInstruments(MarketDataRequest request) {
+    if (request.hasSubscribeCandlesRequest()) {
+      return request.toBuilder()
+        .setSubscribeCandlesRequest(request.getSubscribeCandlesRequest().toBuilder().clearInstruments())
+        .build();
+    } else if (request.hasSubscribeLastPriceRequest()) {
+      return request.toBuilder()
+        .setSubscribeLastPriceRequest(request.getSubscribeLastPriceRequest().toBuilder().clearInstruments())
+        .build();
+    } else if (request.hasSubscribeOrderBookRequest()) {
+      return request.toBuilder()
+        .setSubscribeOrderBookRequest(request.getSubscribeOrderBookRequest().toBuilder().clearInstruments())
+        .build();
+    } else if (request.hasSubscribeTradesRequest()) {
+      return request.toBuilder()
+        .setSubscribeTradesRequest(request.getSubscribeTradesRequest().toBuilder().clearInstruments())
+        .build();
+    } else if (request.hasSubscribeInfoRequest()) {
+      return request.toBuilder()
+        .setSubscribeInfoRequest(request.getSubscribeInfoRequest().toBuilder().clearInstruments())
+        .build();
+    }
+    return request;
+  }
+
+  /**
+   * Метод для построения запроса по шаблону и списку инструментов
+   *
+   * @param template    шаблон запроса, полученный из {@link #clearInstruments(MarketDataRequest)}
+   * @param instruments инструменты
+   * @return Запрос с параметрами шаблона и указанными инструментами
+   */
+  public static MarketDataRequest withInstruments(MarketDataRequest template, List<Instrument> instruments) {
+    if (template.hasSubscribeCandlesRequest()) {
+      var builder = template.getSubscribeCandlesRequest().toBuilder().clearInstruments();
+      instruments.forEach(instrument -> builder.addInstruments(CandleInstrument.newBuilder()
+        .setInstrumentId(instrument.getInstrumentUid())
+        .setInterval(instrument.getSubscriptionInterval())));
+      return template.toBuilder().setSubscribeCandlesRequest(builder).build();
+    } else if (template.hasSubscribeLastPriceRequest()) {
+      var builder = template.getSubscribeLastPriceRequest().toBuilder().clearInstruments();
+      instruments.forEach(instrument -> builder.addInstruments(LastPriceInstrument.newBuilder()
+        .setInstrumentId(instrument.getInstrumentUid())));
+      return template.toBuilder().setSubscribeLastPriceRequest(builder).build();
+    } else if (template.hasSubscribeOrderBookRequest()) {
+      var builder = template.getSubscribeOrderBookRequest().toBuilder().clearInstruments();
+      instruments.forEach(instrument -> builder.addInstruments(OrderBookInstrument.newBuilder()
+        .setInstrumentId(instrument.getInstrumentUid())
+        .setDepth(instrument.getDepth())
+        .setOrderBookType(instrument.getOrderBookType())));
+      return template.toBuilder().setSubscribeOrderBookRequest(builder).build();
+    } else if (template.hasSubscribeTradesRequest()) {
+      var builder = template.getSubscribeTradesRequest().toBuilder().clearInstruments();
+      instruments.forEach(instrument -> builder.addInstruments(TradeInstrument.newBuilder()
+        .setInstrumentId(instrument.getInstrumentUid())));
+      return template.toBuilder().setSubscribeTradesRequest(builder).build();
+    } else if (template.hasSubscribeInfoRequest()) {
+      var builder = template.getSubscribeInfoRequest().toBuilder().clearInstruments();
+      instruments.forEach(instrument -> builder.addInstruments(InfoInstrument.newBuilder()
+        .setInstrumentId(instrument.getInstrumentUid())));
+      return template.toBuilder().setSubscribeInfoRequest(builder).build();
+    }
+    throw new IllegalArgumentException("Unknown request type");
+  }
 }
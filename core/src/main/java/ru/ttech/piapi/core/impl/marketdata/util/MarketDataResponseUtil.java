@@ -1,6 +1,7 @@
 package ru.ttech.piapi.core.impl.marketdata.util;
 
 import ru.tinkoff.piapi.contract.v1.MarketDataResponse;
+import ru.ttech.piapi.core.impl.marketdata.MarketDataResponseType;
 import ru.ttech.piapi.core.impl.marketdata.subscription.MarketDataSubscriptionResult;
 import ru.ttech.piapi.core.impl.marketdata.subscription.SubscriptionResultMapper;
 
@@ -22,4 +23,21 @@ public class MarketDataResponseUtil {
     }
     return Optional.empty();
   }
+
+  public static MarketDataResponseType getResponseType(MarketDataResponse response) {
+    switch (response.getPayloadCase()) {
+      case CANDLE:
+        return MarketDataResponseType.CANDLE;
+      case LAST_PRICE:
+        return MarketDataResponseType.LAST_PRICE;
+      case ORDERBOOK:
+        return MarketDataResponseType.ORDER_BOOK;
+      case TRADE:
+        return MarketDataResponseType.TRADE;
+      case TRADING_STATUS:
+        return MarketDataResponseType.TRADING_STATUS;
+      default:
+        return MarketDataResponseType.OTHER;
+    }
+  }
 }
@@ -51,6 +51,24 @@ public class CandleWrapper extends ResponseWrapper<Candle> {
     return NumberMapper.quotationToBigDecimal(response.getOpen());
   }
 
+  /**
+   * Метод для получения цены открытия в формате с фиксированной точкой без создания промежуточных объектов
+   *
+   * @return Цена открытия, умноженная на {@link NumberMapper#FIXED_POINT_SCALE}
+   */
+  public long getOpenFixedPoint() {
+    return NumberMapper.quotationToFixedPoint(response.getOpen());
+  }
+
+  /**
+   * Метод для получения цены открытия в формате double без создания промежуточных объектов
+   *
+   * @return Цена открытия
+   */
+  public double getOpenDouble() {
+    return NumberMapper.quotationToDouble(response.getOpen());
+  }
+
   /**
    * Метод для полуения максимальной цены за 1 инструмент
    * <p>Чтобы получить стоимость лота, нужно умножить на лотность инструмента.
@@ -64,6 +82,24 @@ public class CandleWrapper extends ResponseWrapper<Candle> {
     return NumberMapper.quotationToBigDecimal(response.getHigh());
   }
 
+  /**
+   * Метод для получения максимальной цены в формате с фиксированной точкой без создания промежуточных объектов
+   *
+   * @return Максимальная цена, умноженная на {@link NumberMapper#FIXED_POINT_SCALE}
+   */
+  public long getHighFixedPoint() {
+    return NumberMapper.quotationToFixedPoint(response.getHigh());
+  }
+
+  /**
+   * Метод для получения максимальной цены в формате double без создания промежуточных объектов
+   *
+   * @return Максимальная цена
+   */
+  public double getHighDouble() {
+    return NumberMapper.quotationToDouble(response.getHigh());
+  }
+
   /**
    * Метод для полуения минимальной цены за 1 инструмент
    * <p>Чтобы получить стоимость лота, нужно умножить на лотность инструмента.
@@ -77,6 +113,24 @@ public class CandleWrapper extends ResponseWrapper<Candle> {
     return NumberMapper.quotationToBigDecimal(response.getLow());
   }
 
+  /**
+   * Метод для получения минимальной цены в формате с фиксированной точкой без создания промежуточных объектов
+   *
+   * @return Минимальная цена, умноженная на {@link NumberMapper#FIXED_POINT_SCALE}
+   */
+  public long getLowFixedPoint() {
+    return NumberMapper.quotationToFixedPoint(response.getLow());
+  }
+
+  /**
+   * Метод для получения минимальной цены в формате double без создания промежуточных объектов
+   *
+   * @return Минимальная цена
+   */
+  public double getLowDouble() {
+    return NumberMapper.quotationToDouble(response.getLow());
+  }
+
   /**
    * Метод для полуения цены закрытия за 1 инструмент
    * <p>Чтобы получить стоимость лота, нужно умножить на лотность инструмента.
@@ -90,6 +144,24 @@ public class CandleWrapper extends ResponseWrapper<Candle> {
     return NumberMapper.quotationToBigDecimal(response.getClose());
   }
 
+  /**
+   * Метод для получения цены закрытия в формате с фиксированной точкой без создания промежуточных объектов
+   *
+   * @return Цена закрытия, умноженная на {@link NumberMapper#FIXED_POINT_SCALE}
+   */
+  public long getCloseFixedPoint() {
+    return NumberMapper.quotationToFixedPoint(response.getClose());
+  }
+
+  /**
+   * Метод для получения цены закрытия в формате double без создания промежуточных объектов
+   *
+   * @return Цена закрытия
+   */
+  public double getCloseDouble() {
+    return NumberMapper.quotationToDouble(response.getClose());
+  }
+
   /**
    * Метод для получения объёма сделок в лотах
    *
@@ -108,6 +180,15 @@ public class CandleWrapper extends ResponseWrapper<Candle> {
     return TimeMapper.timestampToLocalDateTime(response.getTime());
   }
 
+  /**
+   * Метод для получения времени начала интервала свечи в наносекундах с начала эпохи без создания промежуточных объектов
+   *
+   * @return Время начала интервала свечи в наносекундах с 1970-01-01T00:00:00Z
+   */
+  public long getTimeEpochNanos() {
+    return TimeMapper.timestampToEpochNanos(response.getTime());
+  }
+
   /**
    * Метод для получения времени последней сделки, вошедшей в свечу по UTC
    *
@@ -117,6 +198,15 @@ public class CandleWrapper extends ResponseWrapper<Candle> {
     return TimeMapper.timestampToLocalDateTime(response.getLastTradeTs());
   }
 
+  /**
+   * Метод для получения времени последней сделки, вошедшей в свечу, в наносекундах с начала эпохи без создания промежуточных объектов
+   *
+   * @return Время последней сделки, вошедшей в свечу, в наносекундах с 1970-01-01T00:00:00Z
+   */
+  public long getLastTradeTimeEpochNanos() {
+    return TimeMapper.timestampToEpochNanos(response.getLastTradeTs());
+  }
+
   /**
    * Метод для получения UID инструмента
    *
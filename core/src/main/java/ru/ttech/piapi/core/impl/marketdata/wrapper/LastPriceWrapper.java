@@ -41,6 +41,24 @@ public class LastPriceWrapper extends ResponseWrapper<LastPrice> {
     return NumberMapper.quotationToBigDecimal(response.getPrice());
   }
 
+  /**
+   * Метод для получения цены последней сделки в формате с фиксированной точкой без создания промежуточных объектов
+   *
+   * @return Цена последней сделки, умноженная на {@link NumberMapper#FIXED_POINT_SCALE}
+   */
+  public long getPriceFixedPoint() {
+    return NumberMapper.quotationToFixedPoint(response.getPrice());
+  }
+
+  /**
+   * Метод для получения цены последней сделки в формате double без создания промежуточных объектов
+   *
+   * @return Цена последней сделки
+   */
+  public double getPriceDouble() {
+    return NumberMapper.quotationToDouble(response.getPrice());
+  }
+
   /**
    * Метод для получения времени последней цены в часовом поясе UTC по времени биржи
    *
@@ -50,6 +68,15 @@ public class LastPriceWrapper extends ResponseWrapper<LastPrice> {
     return TimeMapper.timestampToLocalDateTime(response.getTime());
   }
 
+  /**
+   * Метод для получения времени последней цены в наносекундах с начала эпохи без создания промежуточных объектов
+   *
+   * @return Время последней цены в наносекундах с 1970-01-01T00:00:00Z
+   */
+  public long getTimeEpochNanos() {
+    return TimeMapper.timestampToEpochNanos(response.getTime());
+  }
+
   /**
    * Метод для получения UID инструмента
    *
@@ -15,18 +15,18 @@ import java.util.stream.Collectors;
 /**
  * Стакан
  * <p>Обертка для работы с {@link OrderBook}
+ * <p>Списки заявок и массивы уровней создаются при первом обращении и переиспользуются всеми листенерами.
+ * Лучшие цены, спред и средняя цена читаются напрямую из ответа без создания промежуточных объектов
  */
 public class OrderBookWrapper extends ResponseWrapper<OrderBook> {
 
-  private final List<OrderWrapper> bids;
-  private final List<OrderWrapper> asks;
+  private volatile List<OrderWrapper> bids;
+  private volatile List<OrderWrapper> asks;
+  private volatile Levels bidLevels;
+  private volatile Levels askLevels;
 
   public OrderBookWrapper(OrderBook orderBook) {
     super(orderBook);
-    this.bids = orderBook.getBidsList().stream().map(OrderWrapper::new)
-      .collect(Collectors.toUnmodifiableList());
-    this.asks = orderBook.getAsksList().stream().map(OrderWrapper::new)
-      .collect(Collectors.toUnmodifiableList());
   }
 
   /**
@@ -62,7 +62,12 @@ public class OrderBookWrapper extends ResponseWrapper<OrderBook> {
    * @return список предложений
    */
   public List<OrderWrapper> getBids() {
-    return bids;
+    var result = bids;
+    if (result == null) {
+      result = toOrderWrappers(response.getBidsList());
+      bids = result;
+    }
+    return result;
   }
 
   /**
@@ -71,7 +76,128 @@ public class OrderBookWrapper extends ResponseWrapper<OrderBook> {
    * @return список спроса
    */
   public List<OrderWrapper> getAsks() {
-    return asks;
+    var result = asks;
+    if (result == null) {
+      result = toOrderWrappers(response.getAsksList());
+      asks = result;
+    }
+    return result;
+  }
+
+  /**
+   * Метод для получения уровней предложений в виде массивов цен и количеств
+   *
+   * @return Уровни предложений
+   */
+  public Levels getBidLevels() {
+    var result = bidLevels;
+    if (result == null) {
+      result = Levels.of(response.getBidsList());
+      bidLevels = result;
+    }
+    return result;
+  }
+
+  /**
+   * Метод для получения уровней спроса в виде массивов цен и количеств
+   *
+   * @return Уровни спроса
+   */
+  public Levels getAskLevels() {
+    var result = askLevels;
+    if (result == null) {
+      result = Levels.of(response.getAsksList());
+      askLevels = result;
+    }
+    return result;
+  }
+
+  /**
+   * Метод для получения лучшей цены покупки в формате с фиксированной точкой
+   *
+   * @return Лучшая цена покупки, умноженная на {@link NumberMapper#FIXED_POINT_SCALE}, или 0, если заявок нет
+   */
+  public long getBestBidFixedPoint() {
+    return response.getBidsCount() == 0 ? 0 : NumberMapper.quotationToFixedPoint(response.getBids(0).getPrice());
+  }
+
+  /**
+   * Метод для получения лучшей цены продажи в формате с фиксированной точкой
+   *
+   * @return Лучшая цена продажи, умноженная на {@link NumberMapper#FIXED_POINT_SCALE}, или 0, если заявок нет
+   */
+  public long getBestAskFixedPoint() {
+    return response.getAsksCount() == 0 ? 0 : NumberMapper.quotationToFixedPoint(response.getAsks(0).getPrice());
+  }
+
+  /**
+   * Метод для получения спреда в формате с фиксированной точкой
+   *
+   * @return Разница лучших цен продажи и покупки, умноженная на {@link NumberMapper#FIXED_POINT_SCALE},
+   * или 0, если одна из сторон стакана пуста
+   */
+  public long getSpreadFixedPoint() {
+    if (response.getBidsCount() == 0 || response.getAsksCount() == 0) {
+      return 0;
+    }
+    return getBestAskFixedPoint() - getBestBidFixedPoint();
+  }
+
+  /**
+   * Метод для получения средней цены в формате с фиксированной точкой
+   *
+   * @return Среднее лучших цен продажи и покупки, умноженное на {@link NumberMapper#FIXED_POINT_SCALE},
+   * или 0, если одна из сторон стакана пуста
+   */
+  public long getMidPriceFixedPoint() {
+    if (response.getBidsCount() == 0 || response.getAsksCount() == 0) {
+      return 0;
+    }
+    long bestBid = getBestBidFixedPoint();
+    long bestAsk = getBestAskFixedPoint();
+    return bestBid + (bestAsk - bestBid) / 2;
+  }
+
+  /**
+   * Метод для получения лучшей цены покупки
+   *
+   * @return Лучшая цена покупки или null, если заявок нет
+   */
+  public BigDecimal getBestBid() {
+    return response.getBidsCount() == 0 ? null : NumberMapper.quotationToBigDecimal(response.getBids(0).getPrice());
+  }
+
+  /**
+   * Метод для получения лучшей цены продажи
+   *
+   * @return Лучшая цена продажи или null, если заявок нет
+   */
+  public BigDecimal getBestAsk() {
+    return response.getAsksCount() == 0 ? null : NumberMapper.quotationToBigDecimal(response.getAsks(0).getPrice());
+  }
+
+  /**
+   * Метод для получения спреда
+   *
+   * @return Разница лучших цен продажи и покупки или null, если одна из сторон стакана пуста
+   */
+  public BigDecimal getSpread() {
+    if (response.getBidsCount() == 0 || response.getAsksCount() == 0) {
+      return null;
+    }
+    return NumberMapper.fixedPointToBigDecimal(getSpreadFixedPoint());
+  }
+
+  /**
+   * Метод для получения средней цены
+   *
+   * @return Среднее лучших цен продажи и покупки или null, если одна из сторон стакана пуста
+   */
+  public BigDecimal getMidPrice() {
+    if (response.getBidsCount() == 0 || response.getAsksCount() == 0) {
+      return null;
+    }
+    return NumberMapper.fixedPointToBigDecimal(getMidPriceFixedPoint());
   }
 
   /**
@@ -127,6 +253,10 @@ public class OrderBookWrapper extends ResponseWrapper<OrderBook> {
     return response.getOrderBookType();
   }
 
+  private static List<OrderWrapper> toOrderWrappers(List<Order> orders) {
+    return orders.stream().map(OrderWrapper::new).collect(Collectors.toUnmodifiableList());
+  }
+
   /**
    * Ордер на продажу/покупку
    * <p>Обертка для работы с {@link Order}
@@ -158,5 +288,68 @@ public class OrderBookWrapper extends ResponseWrapper<OrderBook> {
     public long getQuantity() {
       return response.getQuantity();
     }
+
+    /**
+     * Метод для получения цены за 1 инструмент в формате с фиксированной точкой
+     *
+     * @return Цена, умноженная на {@link NumberMapper#FIXED_POINT_SCALE}
+     */
+    public long getPriceFixedPoint() {
+      return NumberMapper.quotationToFixedPoint(response.getPrice());
+    }
+  }
+
+  /**
+   * Уровни одной стороны стакана в виде параллельных массивов цен и количеств.
+   * Уровень с индексом 0 - лучшая цена
+   */
+  public static class Levels {
+
+    private final long[] prices;
+    private final long[] quantities;
+
+    protected Levels(long[] prices, long[] quantities) {
+      this.prices = prices;
+      this.quantities = quantities;
+    }
+
+    protected static Levels of(List<Order> orders) {
+      int size = orders.size();
+      var prices = new long[size];
+      var quantities = new long[size];
+      for (int i = 0; i < size; i++) {
+        var order = orders.get(i);
+        prices[i] = NumberMapper.quotationToFixedPoint(order.getPrice());
+        quantities[i] = order.getQuantity();
+      }
+      return new Levels(prices, quantities);
+    }
+
+    /**
+     * @return Количество уровней
+     */
+    public int size() {
+      return prices.length;
+    }
+
+    /**
+     * Метод для получения цены уровня
+     *
+     * @param level индекс уровня
+     * @return Цена, умноженная на {@link NumberMapper#FIXED_POINT_SCALE}
+     */
+    public long getPrice(int level) {
+      return prices[level];
+    }
+
+    /**
+     * Метод для получения количества лотов на уровне
+     *
+     * @param level индекс уровня
+     * @return Количество лотов
+     */
+    public long getQuantity(int level) {
+      return quantities[level];
+    }
   }
 }
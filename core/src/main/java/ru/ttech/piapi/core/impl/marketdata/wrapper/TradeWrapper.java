@@ -47,6 +47,24 @@ public class TradeWrapper extends ResponseWrapper<Trade> {
     return NumberMapper.quotationToBigDecimal(response.getPrice());
   }
 
+  /**
+   * Метод для получения цены сделки в формате с фиксированной точкой без создания промежуточных объектов
+   *
+   * @return Цена сделки, умноженная на {@link NumberMapper#FIXED_POINT_SCALE}
+   */
+  public long getPriceFixedPoint() {
+    return NumberMapper.quotationToFixedPoint(response.getPrice());
+  }
+
+  /**
+   * Метод для получения цены сделки в формате double без создания промежуточных объектов
+   *
+   * @return Цена сделки
+   */
+  public double getPriceDouble() {
+    return NumberMapper.quotationToDouble(response.getPrice());
+  }
+
   /**
    * Метод для получения количества лотов
    *
@@ -65,6 +83,15 @@ public class TradeWrapper extends ResponseWrapper<Trade> {
     return TimeMapper.timestampToLocalDateTime(response.getTime());
   }
 
+  /**
+   * Метод для получения времени сделки в наносекундах с начала эпохи без создания промежуточных объектов
+   *
+   * @return Время сделки в наносекундах с 1970-01-01T00:00:00Z
+   */
+  public long getTimeEpochNanos() {
+    return TimeMapper.timestampToEpochNanos(response.getTime());
+  }
+
   /**
    * Метод для получения UID инструмента
    *
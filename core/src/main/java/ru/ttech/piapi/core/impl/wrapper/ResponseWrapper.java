@@ -3,15 +3,25 @@ package ru.ttech.piapi.core.impl.wrapper;
 public abstract class ResponseWrapper<T> {
 
   protected final T response;
+  protected final long createdAtNanos;
 
   protected ResponseWrapper(T response) {
     this.response = response;
+    this.createdAtNanos = System.nanoTime();
   }
 
   public T getOriginal() {
     return response;
   }
 
+  /**
+   * @return Значение {@link System#nanoTime()} в момент создания обёртки.
+   * Позволяет измерить, сколько времени обновление ожидало обработки
+   */
+  public long getCreatedAtNanos() {
+    return createdAtNanos;
+  }
+
   @Override
   public String toString() {
     return "{" +
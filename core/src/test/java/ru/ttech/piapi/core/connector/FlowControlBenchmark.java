@@ -0,0 +1,112 @@
+package ru.ttech.piapi.core.connector;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.tinkoff.piapi.contract.v1.GetCandlesRequest;
+import ru.tinkoff.piapi.contract.v1.GetCandlesResponse;
+import ru.tinkoff.piapi.contract.v1.HistoricCandle;
+import ru.tinkoff.piapi.contract.v1.MarketDataServiceGrpc;
+import ru.tinkoff.piapi.contract.v1.Quotation;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пропускная способность получения больших ответов {@code GetCandles} от локального сервера
+ * с окном управления потоком HTTP/2 по умолчанию и с увеличенным окном
+ * <p>Запуск: {@code FlowControlBenchmark#main} из тестового classpath модуля core
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlowControlBenchmark {
+
+  private static final int CANDLES_COUNT = 50_000;
+
+  @Param({"default", "tuned"})
+  private String profile;
+
+  private Server server;
+  private ManagedChannel channel;
+  private MarketDataServiceGrpc.MarketDataServiceBlockingStub stub;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    var response = createResponse();
+    server = NettyServerBuilder.forAddress(new InetSocketAddress("localhost", 0))
+      .addService(new MarketDataServiceGrpc.MarketDataServiceImplBase() {
+        @Override
+        public void getCandles(GetCandlesRequest request, StreamObserver<GetCandlesResponse> responseObserver) {
+          responseObserver.onNext(response);
+          responseObserver.onCompleted();
+        }
+      })
+      .build()
+      .start();
+    var properties = new Properties();
+    properties.setProperty("token", "benchmark");
+    properties.setProperty("connection.max-message-size", String.valueOf(64 * 1024 * 1024));
+    if ("tuned".equals(profile)) {
+      properties.setProperty("connection.flow-control-window", String.valueOf(16 * 1024 * 1024));
+    }
+    var configuration = ConnectorConfiguration.loadFromProperties(properties);
+    var builder = NettyChannelBuilder.forAddress("localhost", server.getPort()).usePlaintext();
+    channel = ServiceStubFactory.configureConnection(builder, configuration).build();
+    stub = MarketDataServiceGrpc.newBlockingStub(channel);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws InterruptedException {
+    channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public GetCandlesResponse getCandles() {
+    return stub.getCandles(GetCandlesRequest.getDefaultInstance());
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(FlowControlBenchmark.class.getSimpleName()).build()).run();
+  }
+
+  private static GetCandlesResponse createResponse() {
+    var builder = GetCandlesResponse.newBuilder();
+    for (int i = 0; i < CANDLES_COUNT; i++) {
+      var price = Quotation.newBuilder().setUnits(100 + i % 100).setNano(i % 1_000_000_000).build();
+      builder.addCandles(HistoricCandle.newBuilder()
+        .setOpen(price)
+        .setHigh(price)
+        .setLow(price)
+        .setClose(price)
+        .setVolume(i)
+        .setIsComplete(true)
+        .build());
+    }
+    return builder.build();
+  }
+}
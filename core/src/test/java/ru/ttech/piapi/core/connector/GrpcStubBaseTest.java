@@ -8,7 +8,10 @@ import org.grpcmock.GrpcMock;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Optional;
+import java.util.Properties;
 
 public abstract class GrpcStubBaseTest {
   private ManagedChannel channel;
@@ -29,4 +32,16 @@ public abstract class GrpcStubBaseTest {
     var configuration = ConnectorConfiguration.loadPropertiesFromResources("invest.properties");
     return Tuple.of(ServiceStubFactory.create(configuration, () -> channel), configuration);
   }
+
+  protected Tuple2<ServiceStubFactory, ConnectorConfiguration> createStubFactory(Properties overrides) {
+    var properties = new Properties();
+    try (var stream = getClass().getClassLoader().getResourceAsStream("invest.properties")) {
+      properties.load(stream);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    properties.putAll(overrides);
+    var configuration = ConnectorConfiguration.loadFromProperties(properties);
+    return Tuple.of(ServiceStubFactory.create(configuration, () -> channel), configuration);
+  }
 }
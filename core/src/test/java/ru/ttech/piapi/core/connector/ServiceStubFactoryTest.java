@@ -0,0 +1,57 @@
+package ru.ttech.piapi.core.connector;
+
+import io.grpc.StatusRuntimeException;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.piapi.contract.v1.InstrumentRequest;
+import ru.tinkoff.piapi.contract.v1.InstrumentsServiceGrpc;
+import ru.tinkoff.piapi.contract.v1.OrdersServiceGrpc;
+import ru.tinkoff.piapi.contract.v1.PostOrderRequest;
+
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ServiceStubFactoryTest {
+
+  @Test
+  void shutdown_releasesOwnEventLoopThreads() {
+    var properties = new Properties();
+    properties.setProperty("token", "token");
+    properties.setProperty("target", "localhost:1");
+    properties.setProperty("grpc.transport", "NIO");
+    properties.setProperty("grpc.event-loop-threads", "1");
+    properties.setProperty("connection.order-entry.enabled", "true");
+    var factory = ServiceStubFactory.create(ConnectorConfiguration.loadFromProperties(properties));
+    var ordersService = factory.newSyncService(OrdersServiceGrpc::newBlockingStub);
+    assertThatThrownBy(() -> ordersService.getStub()
+      .withDeadlineAfter(5, TimeUnit.SECONDS)
+      .postOrder(PostOrderRequest.getDefaultInstance()))
+      .isInstanceOf(StatusRuntimeException.class);
+    assertThatThrownBy(() -> factory.newSyncService(InstrumentsServiceGrpc::newBlockingStub).getStub()
+      .withDeadlineAfter(5, TimeUnit.SECONDS)
+      .getInstrumentBy(InstrumentRequest.getDefaultInstance()))
+      .isInstanceOf(StatusRuntimeException.class);
+    assertThat(countThreads("piapi-order-entry")).isPositive();
+    assertThat(countThreads("piapi-grpc-event-loop")).isPositive();
+
+    factory.shutdown();
+
+    assertThat(factory.getChannel().isTerminated()).isTrue();
+    Awaitility.await()
+      .atMost(Duration.ofSeconds(10))
+      .untilAsserted(() -> {
+        assertThat(countThreads("piapi-order-entry")).isZero();
+        assertThat(countThreads("piapi-grpc-event-loop")).isZero();
+      });
+  }
+
+  private static long countThreads(String namePrefix) {
+    return Thread.getAllStackTraces().keySet().stream()
+      .filter(thread -> thread.isAlive() && thread.getName().startsWith(namePrefix))
+      .count();
+  }
+}
@@ -0,0 +1,103 @@
+package ru.ttech.piapi.core.connector.coalescing;
+
+import io.grpc.Status;
+import org.grpcmock.junit5.GrpcMockExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import ru.tinkoff.piapi.contract.v1.GetLastPricesRequest;
+import ru.tinkoff.piapi.contract.v1.GetLastPricesResponse;
+import ru.tinkoff.piapi.contract.v1.LastPrice;
+import ru.tinkoff.piapi.contract.v1.MarketDataServiceGrpc;
+import ru.ttech.piapi.core.connector.GrpcStubBaseTest;
+import ru.ttech.piapi.core.connector.exception.ServiceRuntimeException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.grpcmock.GrpcMock.calledMethod;
+import static org.grpcmock.GrpcMock.statusException;
+import static org.grpcmock.GrpcMock.stubFor;
+import static org.grpcmock.GrpcMock.times;
+import static org.grpcmock.GrpcMock.unaryMethod;
+import static org.grpcmock.GrpcMock.verifyThat;
+
+@ExtendWith(GrpcMockExtension.class)
+public class MarketDataRequestCoalescerTest extends GrpcStubBaseTest {
+
+  @Test
+  public void getLastPrice_coalescesConcurrentRequests() throws Exception {
+    var batchRequest = GetLastPricesRequest.newBuilder().addAllInstrumentId(List.of("uid1", "uid2")).build();
+    var firstPrice = LastPrice.newBuilder().setInstrumentUid("uid1").setFigi("FIGI1").build();
+    var secondPrice = LastPrice.newBuilder().setInstrumentUid("uid2").setFigi("FIGI2").build();
+    stubFor(unaryMethod(MarketDataServiceGrpc.getGetLastPricesMethod())
+      .withRequest(batchRequest)
+      .willReturn(GetLastPricesResponse.newBuilder().addLastPrices(firstPrice).addLastPrices(secondPrice).build()));
+    var coalescer = createCoalescer();
+
+    var first = coalescer.getLastPrice("uid1");
+    var second = coalescer.getLastPrice("uid2");
+    var duplicate = coalescer.getLastPrice("uid1");
+
+    assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(firstPrice);
+    assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(secondPrice);
+    assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(firstPrice);
+    verifyThat(calledMethod(MarketDataServiceGrpc.getGetLastPricesMethod()), times(1));
+  }
+
+  @Test
+  public void getLastPrice_isolatesFailedInstrument() throws Exception {
+    var price = LastPrice.newBuilder().setInstrumentUid("uid1").build();
+    stubFor(unaryMethod(MarketDataServiceGrpc.getGetLastPricesMethod())
+      .withRequest(GetLastPricesRequest.newBuilder().addAllInstrumentId(List.of("uid1", "unknown")).build())
+      .willReturn(statusException(Status.NOT_FOUND)));
+    stubFor(unaryMethod(MarketDataServiceGrpc.getGetLastPricesMethod())
+      .withRequest(GetLastPricesRequest.newBuilder().addInstrumentId("uid1").build())
+      .willReturn(GetLastPricesResponse.newBuilder().addLastPrices(price).build()));
+    stubFor(unaryMethod(MarketDataServiceGrpc.getGetLastPricesMethod())
+      .withRequest(GetLastPricesRequest.newBuilder().addInstrumentId("unknown").build())
+      .willReturn(statusException(Status.NOT_FOUND)));
+    var coalescer = createCoalescer();
+
+    var known = coalescer.getLastPrice("uid1");
+    var unknown = coalescer.getLastPrice("unknown");
+
+    assertThat(known.get(5, TimeUnit.SECONDS)).isEqualTo(price);
+    assertThatThrownBy(() -> unknown.get(5, TimeUnit.SECONDS))
+      .isInstanceOf(ExecutionException.class)
+      .hasCauseInstanceOf(ServiceRuntimeException.class);
+    verifyThat(calledMethod(MarketDataServiceGrpc.getGetLastPricesMethod()), times(3));
+  }
+
+  @Test
+  public void getLastPrice_doesNotFanOutOnResourceExhausted() {
+    stubFor(unaryMethod(MarketDataServiceGrpc.getGetLastPricesMethod())
+      .willReturn(statusException(Status.RESOURCE_EXHAUSTED)));
+    var coalescer = createCoalescer();
+
+    var first = coalescer.getLastPrice("uid1");
+    var second = coalescer.getLastPrice("uid2");
+
+    for (var future : List.of(first, second)) {
+      assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(ServiceRuntimeException.class)
+        .satisfies(e -> assertThat(((ServiceRuntimeException) e.getCause()).getErrorStatus().getCode())
+          .isEqualTo(Status.Code.RESOURCE_EXHAUSTED));
+    }
+    verifyThat(calledMethod(MarketDataServiceGrpc.getGetLastPricesMethod()), times(1));
+  }
+
+  private MarketDataRequestCoalescer createCoalescer() {
+    var factory = createStubFactory()._1();
+    return new MarketDataRequestCoalescer(
+      factory.newAsyncService(MarketDataServiceGrpc::newStub),
+      CoalescingConfig.custom().window(Duration.ofMillis(50)).build(),
+      Executors.newSingleThreadScheduledExecutor()
+    );
+  }
+}
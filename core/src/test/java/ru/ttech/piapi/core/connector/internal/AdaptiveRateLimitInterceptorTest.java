@@ -0,0 +1,98 @@
+package ru.ttech.piapi.core.connector.internal;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.piapi.contract.v1.MarketDataServiceGrpc;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AdaptiveRateLimitInterceptorTest {
+
+  private final AdaptiveRateLimitInterceptor interceptor = new AdaptiveRateLimitInterceptor();
+
+  @AfterEach
+  void tearDown() {
+    interceptor.shutdown();
+  }
+
+  @Test
+  void cancel_closesWaitingCallWithoutStartingIt() {
+    var channel = exhaustedChannel(CallOptions.DEFAULT);
+    var waitingCall = mock(ClientCall.class);
+    when(channel.newCall(MarketDataServiceGrpc.getGetCandlesMethod(), CallOptions.DEFAULT)).thenReturn(waitingCall);
+    var status = new AtomicReference<Status>();
+
+    var call = interceptor.interceptCall(MarketDataServiceGrpc.getGetCandlesMethod(), CallOptions.DEFAULT, channel);
+    call.start(closeListener(status), new Metadata());
+    call.cancel("cancelled", null);
+
+    assertThat(status.get().getCode()).isEqualTo(Status.Code.CANCELLED);
+    verify(waitingCall, never()).start(any(), any());
+  }
+
+  @Test
+  void deadline_closesWaitingCallWithoutStartingIt() {
+    var callOptions = CallOptions.DEFAULT.withDeadlineAfter(100, TimeUnit.MILLISECONDS);
+    var channel = exhaustedChannel(callOptions);
+    var waitingCall = mock(ClientCall.class);
+    when(channel.newCall(MarketDataServiceGrpc.getGetCandlesMethod(), callOptions)).thenReturn(waitingCall);
+    var status = new AtomicReference<Status>();
+
+    var call = interceptor.interceptCall(MarketDataServiceGrpc.getGetCandlesMethod(), callOptions, channel);
+    call.start(closeListener(status), new Metadata());
+
+    Awaitility.await()
+      .atMost(Duration.ofSeconds(2))
+      .untilAsserted(() -> assertThat(status.get()).isNotNull());
+    assertThat(status.get().getCode()).isEqualTo(Status.Code.DEADLINE_EXCEEDED);
+    verify(waitingCall, never()).start(any(), any());
+  }
+
+  /**
+   * Создаёт канал, первый вызов которого исчерпывает лимит сервиса на минуту
+   */
+  @SuppressWarnings("unchecked")
+  private Channel exhaustedChannel(CallOptions callOptions) {
+    var channel = mock(Channel.class);
+    var exhaustingCall = mock(ClientCall.class);
+    doAnswer(invocation -> {
+      var headers = new Metadata();
+      headers.put(Metadata.Key.of("x-ratelimit-limit", Metadata.ASCII_STRING_MARSHALLER), "10");
+      headers.put(Metadata.Key.of("x-ratelimit-remaining", Metadata.ASCII_STRING_MARSHALLER), "0");
+      headers.put(Metadata.Key.of("x-ratelimit-reset", Metadata.ASCII_STRING_MARSHALLER), "60");
+      ClientCall.Listener<Object> listener = invocation.getArgument(0);
+      listener.onHeaders(headers);
+      return null;
+    }).when(exhaustingCall).start(any(), any());
+    when(channel.newCall(MarketDataServiceGrpc.getGetCandlesMethod(), callOptions)).thenReturn(exhaustingCall);
+    interceptor.interceptCall(MarketDataServiceGrpc.getGetCandlesMethod(), callOptions, channel)
+      .start(new ClientCall.Listener<>() {
+      }, new Metadata());
+    return channel;
+  }
+
+  private static <T> ClientCall.Listener<T> closeListener(AtomicReference<Status> status) {
+    return new ClientCall.Listener<>() {
+      @Override
+      public void onClose(Status closeStatus, Metadata trailers) {
+        status.set(closeStatus);
+      }
+    };
+  }
+}
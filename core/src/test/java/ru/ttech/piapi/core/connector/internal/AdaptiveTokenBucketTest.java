@@ -0,0 +1,49 @@
+package ru.ttech.piapi.core.connector.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveTokenBucketTest {
+
+  @Test
+  void tryAcquire_waitsForResetWhenLimitExhausted() {
+    var bucket = new AdaptiveTokenBucket();
+    long now = 0;
+    assertThat(bucket.tryAcquire(now)).isZero();
+
+    bucket.update(100, 2, 10, now);
+    assertThat(bucket.tryAcquire(now)).isZero();
+    assertThat(bucket.tryAcquire(now)).isZero();
+    assertThat(bucket.tryAcquire(now)).isEqualTo(TimeUnit.SECONDS.toNanos(10));
+
+    long afterReset = TimeUnit.SECONDS.toNanos(10);
+    assertThat(bucket.tryAcquire(afterReset)).isZero();
+    assertThat(bucket.getRemaining()).isEqualTo(99);
+  }
+
+  @Test
+  void tryAcquire_startsNewWindowAfterRefill() {
+    var bucket = new AdaptiveTokenBucket();
+    bucket.update(3, 0, 10, 0);
+
+    long afterReset = TimeUnit.SECONDS.toNanos(10);
+    for (int i = 0; i < 3; i++) {
+      assertThat(bucket.tryAcquire(afterReset)).isZero();
+    }
+    assertThat(bucket.tryAcquire(afterReset)).isEqualTo(TimeUnit.SECONDS.toNanos(10));
+    assertThat(bucket.tryAcquire(afterReset + TimeUnit.SECONDS.toNanos(10))).isZero();
+  }
+
+  @Test
+  void exhaust_blocksUntilReset() {
+    var bucket = new AdaptiveTokenBucket();
+    bucket.update(100, 50, 30, 0);
+    bucket.exhaust(5, 0);
+
+    assertThat(bucket.tryAcquire(TimeUnit.SECONDS.toNanos(1))).isEqualTo(TimeUnit.SECONDS.toNanos(4));
+    assertThat(bucket.tryAcquire(TimeUnit.SECONDS.toNanos(5))).isZero();
+  }
+}
@@ -0,0 +1,48 @@
+package ru.ttech.piapi.core.connector.internal;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import ru.tinkoff.piapi.contract.v1.OrdersServiceGrpc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ManagedChannelPoolTest {
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void newCall_selectsLeastLoadedChannel() {
+    var firstChannel = mock(ManagedChannel.class);
+    var secondChannel = mock(ManagedChannel.class);
+    var firstCall = mock(ClientCall.class);
+    var secondCall = mock(ClientCall.class);
+    when(firstChannel.newCall(any(), any())).thenReturn(firstCall);
+    when(secondChannel.newCall(any(), any())).thenReturn(secondCall);
+    var pool = new ManagedChannelPool(List.of(firstChannel, secondChannel));
+    var method = OrdersServiceGrpc.getPostOrderMethod();
+
+    pool.newCall(method, CallOptions.DEFAULT).start(mock(ClientCall.Listener.class), new Metadata());
+    pool.newCall(method, CallOptions.DEFAULT).start(mock(ClientCall.Listener.class), new Metadata());
+    assertThat(pool.getActiveCalls(0)).isEqualTo(1);
+    assertThat(pool.getActiveCalls(1)).isEqualTo(1);
+
+    ArgumentCaptor<ClientCall.Listener<Object>> listener = ArgumentCaptor.forClass(ClientCall.Listener.class);
+    verify(secondCall).start(listener.capture(), any());
+    listener.getValue().onClose(Status.OK, new Metadata());
+    assertThat(pool.getActiveCalls(1)).isZero();
+
+    pool.newCall(method, CallOptions.DEFAULT).start(mock(ClientCall.Listener.class), new Metadata());
+    assertThat(pool.getActiveCalls(0)).isEqualTo(1);
+    assertThat(pool.getActiveCalls(1)).isEqualTo(1);
+  }
+}
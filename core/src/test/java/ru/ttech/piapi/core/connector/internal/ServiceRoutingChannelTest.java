@@ -0,0 +1,34 @@
+package ru.ttech.piapi.core.connector.internal;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.piapi.contract.v1.MarketDataServiceGrpc;
+import ru.tinkoff.piapi.contract.v1.OrdersServiceGrpc;
+import ru.tinkoff.piapi.contract.v1.StopOrdersServiceGrpc;
+
+import java.util.Set;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class ServiceRoutingChannelTest {
+
+  @Test
+  void newCall_routesPriorityServicesToPriorityChannel() {
+    var defaultChannel = mock(Channel.class);
+    var priorityChannel = mock(Channel.class);
+    var channel = new ServiceRoutingChannel(defaultChannel, priorityChannel,
+      Set.of(OrdersServiceGrpc.SERVICE_NAME, StopOrdersServiceGrpc.SERVICE_NAME));
+
+    channel.newCall(OrdersServiceGrpc.getPostOrderMethod(), CallOptions.DEFAULT);
+    channel.newCall(StopOrdersServiceGrpc.getPostStopOrderMethod(), CallOptions.DEFAULT);
+    channel.newCall(MarketDataServiceGrpc.getGetCandlesMethod(), CallOptions.DEFAULT);
+
+    verify(priorityChannel).newCall(OrdersServiceGrpc.getPostOrderMethod(), CallOptions.DEFAULT);
+    verify(priorityChannel).newCall(StopOrdersServiceGrpc.getPostStopOrderMethod(), CallOptions.DEFAULT);
+    verify(priorityChannel, never()).newCall(MarketDataServiceGrpc.getGetCandlesMethod(), CallOptions.DEFAULT);
+    verify(defaultChannel).newCall(MarketDataServiceGrpc.getGetCandlesMethod(), CallOptions.DEFAULT);
+  }
+}
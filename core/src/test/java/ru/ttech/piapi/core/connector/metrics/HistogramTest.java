@@ -0,0 +1,38 @@
+package ru.ttech.piapi.core.connector.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class HistogramTest {
+
+  @Test
+  public void percentiles_withinRelativeError() {
+    var histogram = new Histogram();
+    for (long value = 1; value <= 100_000; value++) {
+      histogram.record(value);
+    }
+
+    var snapshot = histogram.snapshot();
+
+    assertThat(snapshot.getCount()).isEqualTo(100_000);
+    assertThat(snapshot.getMax()).isEqualTo(100_000);
+    assertThat(snapshot.getMean()).isCloseTo(50_000.5, within(0.001));
+    assertThat(snapshot.getValueAtPercentile(50)).isCloseTo(50_000, within(50_000 / 64L));
+    assertThat(snapshot.getValueAtPercentile(99)).isCloseTo(99_000, within(99_000 / 64L));
+    assertThat(snapshot.getValueAtPercentile(100)).isEqualTo(100_000);
+  }
+
+  @Test
+  public void bucketIndex_isContinuousAndMonotonic() {
+    int previous = Histogram.bucketIndex(0);
+    for (long value = 1; value < 1 << 20; value++) {
+      int index = Histogram.bucketIndex(value);
+      assertThat(index - previous).isBetween(0, 1);
+      assertThat(Histogram.highestEquivalentValue(index)).isGreaterThanOrEqualTo(value);
+      previous = index;
+    }
+    assertThat(Histogram.bucketIndex(Histogram.MAX_VALUE)).isGreaterThan(previous);
+  }
+}
@@ -0,0 +1,91 @@
+package ru.ttech.piapi.core.connector.resilience;
+
+import io.github.resilience4j.decorators.Decorators;
+import io.grpc.MethodDescriptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.tinkoff.piapi.contract.v1.GetLastPricesRequest;
+import ru.tinkoff.piapi.contract.v1.GetLastPricesResponse;
+import ru.tinkoff.piapi.contract.v1.MarketDataServiceGrpc;
+import ru.ttech.piapi.core.connector.ConnectorConfiguration;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Накладные расходы resilience4j на один асинхронный вызов без сетевого взаимодействия:
+ * построение цепочки декораторов с поиском в реестрах на каждый вызов и закэшированный {@link ResiliencePipeline}
+ * <p>Запуск: {@code ResiliencePipelineBenchmark#main} из тестового classpath модуля core
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=info")
+public class ResiliencePipelineBenchmark {
+
+  private static final MethodDescriptor<GetLastPricesRequest, GetLastPricesResponse> METHOD =
+    MarketDataServiceGrpc.getGetLastPricesMethod();
+  private static final CompletableFuture<GetLastPricesResponse> RESPONSE =
+    CompletableFuture.completedFuture(GetLastPricesResponse.getDefaultInstance());
+
+  private final Map<MethodDescriptor<?, ?>, ResiliencePipeline> pipelines = new ConcurrentHashMap<>();
+  private ScheduledExecutorService executorService;
+  private ResilienceConfiguration configuration;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    var properties = new Properties();
+    properties.setProperty("token", "benchmark");
+    executorService = Executors.newSingleThreadScheduledExecutor();
+    configuration = ResilienceConfiguration.builder(executorService, ConnectorConfiguration.loadFromProperties(properties))
+      .build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    executorService.shutdownNow();
+  }
+
+  @Benchmark
+  public GetLastPricesResponse perCallDecorators() {
+    return Decorators.ofCompletionStage(() -> RESPONSE)
+      .withBulkhead(configuration.getBulkheadForMethod(METHOD))
+      .withRateLimiter(configuration.getRateLimiterForMethod(METHOD))
+      .withCircuitBreaker(configuration.getCircuitBreakerForMethod(METHOD))
+      .withRetry(configuration.getRetryForMethod(METHOD), configuration.getExecutorService())
+      .get().toCompletableFuture().join();
+  }
+
+  @Benchmark
+  public GetLastPricesResponse cachedPipeline() {
+    var pipeline = pipelines.get(METHOD);
+    if (pipeline == null) {
+      pipeline = pipelines.computeIfAbsent(METHOD, key -> ResiliencePipeline.create(key, configuration));
+    }
+    return pipeline.execute(() -> RESPONSE).join();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(ResiliencePipelineBenchmark.class.getSimpleName()).build()).run();
+  }
+}
@@ -12,20 +12,27 @@ import ru.tinkoff.piapi.contract.v1.Candle;
 import ru.tinkoff.piapi.contract.v1.CandleInstrument;
 import ru.tinkoff.piapi.contract.v1.CandleSubscription;
 import ru.tinkoff.piapi.contract.v1.LastPrice;
+import ru.tinkoff.piapi.contract.v1.LastPriceInstrument;
+import ru.tinkoff.piapi.contract.v1.LastPriceSubscription;
 import ru.tinkoff.piapi.contract.v1.MarketDataRequest;
 import ru.tinkoff.piapi.contract.v1.MarketDataResponse;
 import ru.tinkoff.piapi.contract.v1.MarketDataStreamServiceGrpc;
 import ru.tinkoff.piapi.contract.v1.SubscribeCandlesRequest;
 import ru.tinkoff.piapi.contract.v1.SubscribeCandlesResponse;
+import ru.tinkoff.piapi.contract.v1.SubscribeLastPriceRequest;
+import ru.tinkoff.piapi.contract.v1.SubscribeLastPriceResponse;
 import ru.tinkoff.piapi.contract.v1.SubscriptionAction;
 import ru.tinkoff.piapi.contract.v1.SubscriptionInterval;
 import ru.tinkoff.piapi.contract.v1.SubscriptionStatus;
 import ru.ttech.piapi.core.connector.GrpcStubBaseTest;
 import ru.ttech.piapi.core.connector.streaming.StreamServiceStubFactory;
 import ru.ttech.piapi.core.impl.marketdata.MarketDataStreamWrapperConfiguration;
+import ru.ttech.piapi.core.impl.marketdata.subscription.Instrument;
+import ru.ttech.piapi.core.impl.marketdata.subscription.RequestAction;
 
 import java.time.Duration;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -172,4 +179,196 @@ public class MarketDataWrapperTest extends GrpcStubBaseTest {
         .untilAsserted(() -> assertThat(receivedUpdates.get()).isEqualTo(0));
     verifyThat(MarketDataStreamServiceGrpc.getMarketDataStreamMethod());
   }
+
+  @SneakyThrows
+  @Test
+  void testMarketDataStreamPipelinedRequests() {
+    var candlesRequest = MarketDataRequest.newBuilder()
+      .setSubscribeCandlesRequest(SubscribeCandlesRequest.newBuilder()
+        .setSubscriptionAction(SubscriptionAction.SUBSCRIPTION_ACTION_SUBSCRIBE)
+        .addInstruments(CandleInstrument.newBuilder()
+          .setInstrumentId("instrumentUid")
+          .setInterval(SubscriptionInterval.SUBSCRIPTION_INTERVAL_ONE_MINUTE)
+          .build())
+        .build())
+      .build();
+    var lastPriceRequest = MarketDataRequest.newBuilder()
+      .setSubscribeLastPriceRequest(SubscribeLastPriceRequest.newBuilder()
+        .setSubscriptionAction(SubscriptionAction.SUBSCRIPTION_ACTION_SUBSCRIBE)
+        .addInstruments(LastPriceInstrument.newBuilder().setInstrumentId("instrumentUid").build())
+        .build())
+      .build();
+    var candlesResponse = MarketDataResponse.newBuilder()
+      .setSubscribeCandlesResponse(SubscribeCandlesResponse.newBuilder()
+        .addCandlesSubscriptions(CandleSubscription.newBuilder()
+          .setInstrumentUid("instrumentUid")
+          .setInterval(SubscriptionInterval.SUBSCRIPTION_INTERVAL_ONE_MINUTE)
+          .setSubscriptionAction(SubscriptionAction.SUBSCRIPTION_ACTION_SUBSCRIBE)
+          .setSubscriptionStatus(SubscriptionStatus.SUBSCRIPTION_STATUS_SUCCESS)
+          .build())
+        .build())
+      .build();
+    var lastPriceResponse = MarketDataResponse.newBuilder()
+      .setSubscribeLastPriceResponse(SubscribeLastPriceResponse.newBuilder()
+        .addLastPriceSubscriptions(LastPriceSubscription.newBuilder()
+          .setInstrumentUid("instrumentUid")
+          .setSubscriptionAction(SubscriptionAction.SUBSCRIPTION_ACTION_SUBSCRIBE)
+          .setSubscriptionStatus(SubscriptionStatus.SUBSCRIPTION_STATUS_SUCCESS)
+          .build())
+        .build())
+      .build();
+    var receivedRequests = new AtomicInteger();
+    stubFor(bidiStreamingMethod(MarketDataStreamServiceGrpc.getMarketDataStreamMethod())
+      .withFirstRequest(candlesRequest)
+      .willProxyTo(responseObserver -> new StreamObserver<>() {
+        @Override
+        public void onNext(MarketDataRequest marketDataRequest) {
+          if (receivedRequests.incrementAndGet() == 2) {
+            responseObserver.onNext(lastPriceResponse);
+            responseObserver.onNext(candlesResponse);
+          }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onCompleted() {
+          responseObserver.onCompleted();
+        }
+      }));
+    var factory = createStubFactory()._1();
+    var streamFactory = StreamServiceStubFactory.create(factory);
+    var executorService = Executors.newSingleThreadScheduledExecutor();
+    var wrapper = streamFactory.newResilienceMarketDataStream(MarketDataStreamWrapperConfiguration.builder(executorService)
+      .build());
+
+    var candlesResult = wrapper.newCall(candlesRequest);
+    var lastPriceResult = wrapper.newCall(lastPriceRequest);
+
+    assertThat(candlesResult.get(1, TimeUnit.SECONDS)).isNotNull();
+    assertThat(lastPriceResult.get(1, TimeUnit.SECONDS)).isNotNull();
+    assertThat(wrapper.getSubscriptionsCount()).isEqualTo(2);
+    wrapper.disconnect();
+  }
+
+  @SneakyThrows
+  @Test
+  void testMarketDataStreamMatchesResultsByInstruments() {
+    var firstRequest = candlesRequest("firstUid");
+    var secondRequest = candlesRequest("secondUid");
+    var receivedRequests = new AtomicInteger();
+    stubFor(bidiStreamingMethod(MarketDataStreamServiceGrpc.getMarketDataStreamMethod())
+      .withFirstRequest(firstRequest)
+      .willProxyTo(responseObserver -> new StreamObserver<>() {
+        @Override
+        public void onNext(MarketDataRequest marketDataRequest) {
+          if (receivedRequests.incrementAndGet() == 2) {
+            responseObserver.onNext(candlesResponse("secondUid"));
+            responseObserver.onNext(candlesResponse("firstUid"));
+          }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onCompleted() {
+          responseObserver.onCompleted();
+        }
+      }));
+    var factory = createStubFactory()._1();
+    var streamFactory = StreamServiceStubFactory.create(factory);
+    var executorService = Executors.newSingleThreadScheduledExecutor();
+    var wrapper = streamFactory.newResilienceMarketDataStream(MarketDataStreamWrapperConfiguration.builder(executorService)
+      .build());
+
+    var firstResult = wrapper.newCall(firstRequest);
+    var secondResult = wrapper.newCall(secondRequest);
+
+    assertThat(firstResult.get(1, TimeUnit.SECONDS).getSubscriptionStatusMap().keySet())
+      .extracting(Instrument::getInstrumentUid)
+      .containsExactly("firstUid");
+    assertThat(secondResult.get(1, TimeUnit.SECONDS).getSubscriptionStatusMap().keySet())
+      .extracting(Instrument::getInstrumentUid)
+      .containsExactly("secondUid");
+    wrapper.disconnect();
+  }
+
+  @SneakyThrows
+  @Test
+  void testMarketDataStreamMatchesResultsByAction() {
+    var subscribeRequest = candlesRequest("instrumentUid");
+    var unsubscribeRequest = candlesRequest("instrumentUid", SubscriptionAction.SUBSCRIPTION_ACTION_UNSUBSCRIBE);
+    var receivedRequests = new AtomicInteger();
+    stubFor(bidiStreamingMethod(MarketDataStreamServiceGrpc.getMarketDataStreamMethod())
+      .withFirstRequest(subscribeRequest)
+      .willProxyTo(responseObserver -> new StreamObserver<>() {
+        @Override
+        public void onNext(MarketDataRequest marketDataRequest) {
+          if (receivedRequests.incrementAndGet() == 2) {
+            responseObserver.onNext(
+              candlesResponse("instrumentUid", SubscriptionAction.SUBSCRIPTION_ACTION_UNSUBSCRIBE));
+            responseObserver.onNext(candlesResponse("instrumentUid"));
+          }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onCompleted() {
+          responseObserver.onCompleted();
+        }
+      }));
+    var factory = createStubFactory()._1();
+    var streamFactory = StreamServiceStubFactory.create(factory);
+    var executorService = Executors.newSingleThreadScheduledExecutor();
+    var wrapper = streamFactory.newResilienceMarketDataStream(MarketDataStreamWrapperConfiguration.builder(executorService)
+      .build());
+
+    var subscribeResult = wrapper.newCall(subscribeRequest);
+    var unsubscribeResult = wrapper.newCall(unsubscribeRequest);
+
+    assertThat(subscribeResult.get(1, TimeUnit.SECONDS).getSubscriptionAction()).isEqualTo(RequestAction.SUBSCRIBE);
+    assertThat(unsubscribeResult.get(1, TimeUnit.SECONDS).getSubscriptionAction())
+      .isEqualTo(RequestAction.UNSUBSCRIBE);
+    wrapper.disconnect();
+  }
+
+  private static MarketDataRequest candlesRequest(String instrumentUid) {
+    return candlesRequest(instrumentUid, SubscriptionAction.SUBSCRIPTION_ACTION_SUBSCRIBE);
+  }
+
+  private static MarketDataRequest candlesRequest(String instrumentUid, SubscriptionAction action) {
+    return MarketDataRequest.newBuilder()
+      .setSubscribeCandlesRequest(SubscribeCandlesRequest.newBuilder()
+        .setSubscriptionAction(action)
+        .addInstruments(CandleInstrument.newBuilder()
+          .setInstrumentId(instrumentUid)
+          .setInterval(SubscriptionInterval.SUBSCRIPTION_INTERVAL_ONE_MINUTE)
+          .build())
+        .build())
+      .build();
+  }
+
+  private static MarketDataResponse candlesResponse(String instrumentUid) {
+    return candlesResponse(instrumentUid, SubscriptionAction.SUBSCRIPTION_ACTION_SUBSCRIBE);
+  }
+
+  private static MarketDataResponse candlesResponse(String instrumentUid, SubscriptionAction action) {
+    return MarketDataResponse.newBuilder()
+      .setSubscribeCandlesResponse(SubscribeCandlesResponse.newBuilder()
+        .addCandlesSubscriptions(CandleSubscription.newBuilder()
+          .setInstrumentUid(instrumentUid)
+          .setInterval(SubscriptionInterval.SUBSCRIPTION_INTERVAL_ONE_MINUTE)
+          .setSubscriptionAction(action)
+          .setSubscriptionStatus(SubscriptionStatus.SUBSCRIPTION_STATUS_SUCCESS)
+          .build())
+        .build())
+      .build();
+  }
 }
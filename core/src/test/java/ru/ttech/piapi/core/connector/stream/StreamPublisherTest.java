@@ -0,0 +1,150 @@
+package ru.ttech.piapi.core.connector.stream;
+
+import org.awaitility.Awaitility;
+import org.grpcmock.junit5.GrpcMockExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import ru.tinkoff.piapi.contract.v1.OrderStateStreamRequest;
+import ru.tinkoff.piapi.contract.v1.OrderStateStreamResponse;
+import ru.tinkoff.piapi.contract.v1.OrdersStreamServiceGrpc;
+import ru.tinkoff.piapi.contract.v1.Ping;
+import ru.ttech.piapi.core.connector.GrpcStubBaseTest;
+import ru.ttech.piapi.core.connector.streaming.ServerSideStreamConfiguration;
+import ru.ttech.piapi.core.connector.streaming.ServerSideStreamPublisher;
+import ru.ttech.piapi.core.connector.streaming.StreamServiceStubFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.grpcmock.GrpcMock.response;
+import static org.grpcmock.GrpcMock.serverStreamingMethod;
+import static org.grpcmock.GrpcMock.stream;
+import static org.grpcmock.GrpcMock.stubFor;
+
+@ExtendWith(GrpcMockExtension.class)
+public class StreamPublisherTest extends GrpcStubBaseTest {
+
+  @Test
+  public void publisher_deliversOnlyRequestedMessages() throws InterruptedException {
+    stubOrderStateStream(5);
+    var publisher = createPublisher();
+    List<OrderStateStreamResponse> received = new CopyOnWriteArrayList<>();
+    var completed = new AtomicBoolean();
+    var subscriptionRef = new AtomicReference<Flow.Subscription>();
+    publisher.subscribe(new Flow.Subscriber<>() {
+      @Override
+      public void onSubscribe(Flow.Subscription subscription) {
+        subscriptionRef.set(subscription);
+        subscription.request(2);
+      }
+
+      @Override
+      public void onNext(OrderStateStreamResponse item) {
+        received.add(item);
+      }
+
+      @Override
+      public void onError(Throwable throwable) {
+      }
+
+      @Override
+      public void onComplete() {
+        completed.set(true);
+      }
+    });
+
+    Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(received).hasSize(2));
+    Thread.sleep(300);
+    assertThat(received).hasSize(2);
+    assertThat(completed).isFalse();
+
+    subscriptionRef.get().request(3);
+    Awaitility.await().atMost(Duration.ofSeconds(5)).untilTrue(completed);
+    assertThat(received).hasSize(5);
+  }
+
+  @Test
+  public void publisher_signalsInvalidDemandAfterOnNext() {
+    stubOrderStateStream(5);
+    var publisher = createPublisher();
+    List<Throwable> errors = new CopyOnWriteArrayList<>();
+    var inOnNext = new AtomicBoolean();
+    var overlappingSignal = new AtomicBoolean();
+    publisher.subscribe(new Flow.Subscriber<>() {
+      private Flow.Subscription subscription;
+
+      @Override
+      public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(1);
+      }
+
+      @Override
+      public void onNext(OrderStateStreamResponse item) {
+        inOnNext.set(true);
+        subscription.request(0);
+        inOnNext.set(false);
+      }
+
+      @Override
+      public void onError(Throwable throwable) {
+        overlappingSignal.compareAndSet(false, inOnNext.get());
+        errors.add(throwable);
+      }
+
+      @Override
+      public void onComplete() {
+      }
+    });
+
+    Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(errors).hasSize(1));
+    assertThat(errors.get(0)).isInstanceOf(IllegalArgumentException.class);
+    assertThat(overlappingSignal).isFalse();
+  }
+
+  @Test
+  public void publisher_toMulti() {
+    stubOrderStateStream(3);
+
+    var responses = createPublisher().toMulti().collect().asList().await().atMost(Duration.ofSeconds(5));
+
+    assertThat(responses).hasSize(3);
+  }
+
+  @Test
+  public void publisher_rejectsSecondSubscriber() {
+    stubOrderStateStream(1);
+    var publisher = createPublisher();
+    publisher.toMulti().collect().asList().await().atMost(Duration.ofSeconds(5));
+
+    var error = new AtomicReference<Throwable>();
+    publisher.toMulti().subscribe().with(item -> {
+    }, error::set);
+
+    assertThat(error.get()).isInstanceOf(IllegalStateException.class);
+  }
+
+  private void stubOrderStateStream(int responsesCount) {
+    var response = OrderStateStreamResponse.newBuilder().setPing(Ping.getDefaultInstance()).build();
+    var responses = stream(response(response));
+    for (int i = 1; i < responsesCount; i++) {
+      responses = responses.and(response(response));
+    }
+    stubFor(serverStreamingMethod(OrdersStreamServiceGrpc.getOrderStateStreamMethod()).willReturn(responses));
+  }
+
+  private ServerSideStreamPublisher<OrdersStreamServiceGrpc.OrdersStreamServiceStub, OrderStateStreamResponse>
+  createPublisher() {
+    var streamFactory = StreamServiceStubFactory.create(createStubFactory()._1());
+    return streamFactory.newServerSidePublisher(ServerSideStreamConfiguration.builder(
+      OrdersStreamServiceGrpc::newStub,
+      OrdersStreamServiceGrpc.getOrderStateStreamMethod(),
+      (stub, observer) -> stub.orderStateStream(OrderStateStreamRequest.getDefaultInstance(), observer)
+    ).build());
+  }
+}
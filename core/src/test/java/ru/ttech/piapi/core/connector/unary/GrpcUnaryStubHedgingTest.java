@@ -0,0 +1,175 @@
+package ru.ttech.piapi.core.connector.unary;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.MethodDescriptor;
+import org.awaitility.Awaitility;
+import org.grpcmock.junit5.GrpcMockExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import ru.tinkoff.piapi.contract.v1.GetLastPricesRequest;
+import ru.tinkoff.piapi.contract.v1.GetLastPricesResponse;
+import ru.tinkoff.piapi.contract.v1.LastPrice;
+import ru.tinkoff.piapi.contract.v1.MarketDataServiceGrpc;
+import ru.tinkoff.piapi.contract.v1.OrdersServiceGrpc;
+import ru.ttech.piapi.core.connector.GrpcStubBaseTest;
+import ru.ttech.piapi.core.connector.resilience.HedgingConfig;
+import ru.ttech.piapi.core.connector.resilience.ResilienceConfiguration;
+
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.grpcmock.GrpcMock.calledMethod;
+import static org.grpcmock.GrpcMock.response;
+import static org.grpcmock.GrpcMock.stubFor;
+import static org.grpcmock.GrpcMock.times;
+import static org.grpcmock.GrpcMock.unaryMethod;
+import static org.grpcmock.GrpcMock.verifyThat;
+
+@ExtendWith(GrpcMockExtension.class)
+public class GrpcUnaryStubHedgingTest extends GrpcStubBaseTest {
+
+  @Test
+  public void asyncHedging_returnsFirstResponse() throws Exception {
+    var request = GetLastPricesRequest.getDefaultInstance();
+    var slowResponse = GetLastPricesResponse.getDefaultInstance();
+    var fastResponse = GetLastPricesResponse.newBuilder()
+      .addLastPrices(LastPrice.newBuilder().setInstrumentUid("instrumentUid").build())
+      .build();
+    stubFor(unaryMethod(MarketDataServiceGrpc.getGetLastPricesMethod())
+      .withRequest(request)
+      .willReturn(response(slowResponse).withFixedDelay(2000))
+      .nextWillReturn(fastResponse));
+
+    var factoryWithConfig = createStubFactory();
+    var factory = factoryWithConfig._1();
+    var configuration = factoryWithConfig._2();
+    var executorService = Executors.newSingleThreadScheduledExecutor();
+    var resilienceConfiguration = ResilienceConfiguration.builder(executorService, configuration)
+      .withHedgingForMethod(
+        MarketDataServiceGrpc.getGetLastPricesMethod(),
+        HedgingConfig.custom().delay(Duration.ofMillis(50)).build())
+      .build();
+    var resilienceAsyncService = factory.newResilienceAsyncService(
+      MarketDataServiceGrpc::newStub,
+      resilienceConfiguration
+    );
+
+    var asyncResponse = resilienceAsyncService.callAsyncMethod(
+      MarketDataServiceGrpc.getGetLastPricesMethod(),
+      (stub, observer) -> stub.getLastPrices(request, observer)
+    );
+
+    assertThat(asyncResponse.get(1, TimeUnit.SECONDS)).isEqualTo(fastResponse);
+    verifyThat(calledMethod(MarketDataServiceGrpc.getGetLastPricesMethod()).withRequest(request), times(2));
+  }
+
+  @Test
+  public void syncHedging_returnsFirstResponse() {
+    var request = GetLastPricesRequest.getDefaultInstance();
+    var fastResponse = GetLastPricesResponse.newBuilder()
+      .addLastPrices(LastPrice.newBuilder().setInstrumentUid("instrumentUid").build())
+      .build();
+    stubFor(unaryMethod(MarketDataServiceGrpc.getGetLastPricesMethod())
+      .withRequest(request)
+      .willReturn(response(GetLastPricesResponse.getDefaultInstance()).withFixedDelay(2000))
+      .nextWillReturn(fastResponse));
+
+    var factoryWithConfig = createStubFactory();
+    var resilienceConfiguration = ResilienceConfiguration.builder(
+        Executors.newSingleThreadScheduledExecutor(), factoryWithConfig._2())
+      .withHedgingForMethod(
+        MarketDataServiceGrpc.getGetLastPricesMethod(),
+        HedgingConfig.custom().delay(Duration.ofMillis(50)).build())
+      .build();
+    var resilienceSyncService = factoryWithConfig._1().newResilienceSyncService(
+      MarketDataServiceGrpc::newBlockingStub,
+      resilienceConfiguration
+    );
+
+    long startNanos = System.nanoTime();
+    var response = resilienceSyncService.callSyncMethod(
+      MarketDataServiceGrpc.getGetLastPricesMethod(),
+      stub -> stub.getLastPrices(request)
+    );
+
+    assertThat(response).isEqualTo(fastResponse);
+    assertThat(Duration.ofNanos(System.nanoTime() - startNanos)).isLessThan(Duration.ofMillis(1500));
+    verifyThat(calledMethod(MarketDataServiceGrpc.getGetLastPricesMethod()).withRequest(request), times(2));
+  }
+
+  @Test
+  public void asyncHedging_cancelsLosingAttemptWithForkedContext() throws Exception {
+    var request = GetLastPricesRequest.getDefaultInstance();
+    var fastResponse = GetLastPricesResponse.newBuilder()
+      .addLastPrices(LastPrice.newBuilder().setInstrumentUid("instrumentUid").build())
+      .build();
+    stubFor(unaryMethod(MarketDataServiceGrpc.getGetLastPricesMethod())
+      .withRequest(request)
+      .willReturn(response(GetLastPricesResponse.getDefaultInstance()).withFixedDelay(2000))
+      .nextWillReturn(fastResponse));
+
+    var properties = new Properties();
+    properties.setProperty("grpc.context-fork", "true");
+    var factoryWithConfig = createStubFactory(properties);
+    var resilienceConfiguration = ResilienceConfiguration.builder(
+        Executors.newSingleThreadScheduledExecutor(), factoryWithConfig._2())
+      .withHedgingForMethod(
+        MarketDataServiceGrpc.getGetLastPricesMethod(),
+        HedgingConfig.custom().delay(Duration.ofMillis(50)).build())
+      .build();
+    var cancelledCalls = new AtomicInteger();
+    var resilienceAsyncService = factoryWithConfig._1().newResilienceAsyncService(
+      channel -> MarketDataServiceGrpc.newStub(channel).withInterceptors(cancellationCounter(cancelledCalls)),
+      resilienceConfiguration
+    );
+
+    var asyncResponse = resilienceAsyncService.callAsyncMethod(
+      MarketDataServiceGrpc.getGetLastPricesMethod(),
+      (stub, observer) -> stub.getLastPrices(request, observer)
+    );
+
+    assertThat(asyncResponse.get(1, TimeUnit.SECONDS)).isEqualTo(fastResponse);
+    Awaitility.await()
+      .atMost(Duration.ofSeconds(1))
+      .untilAsserted(() -> assertThat(cancelledCalls).hasValue(1));
+  }
+
+  @Test
+  public void hedging_rejectedForOrders() {
+    var configuration = createStubFactory()._2();
+    var builder = ResilienceConfiguration.builder(Executors.newSingleThreadScheduledExecutor(), configuration);
+
+    assertThatThrownBy(() -> builder.withHedgingForMethod(
+      OrdersServiceGrpc.getPostOrderMethod(),
+      HedgingConfig.custom().build()
+    )).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static ClientInterceptor cancellationCounter(AtomicInteger cancelledCalls) {
+    return new ClientInterceptor() {
+      @Override
+      public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+        MethodDescriptor<ReqT, RespT> method,
+        CallOptions callOptions,
+        Channel next
+      ) {
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+          @Override
+          public void cancel(String message, Throwable cause) {
+            cancelledCalls.incrementAndGet();
+            super.cancel(message, cause);
+          }
+        };
+      }
+    };
+  }
+}
@@ -0,0 +1,67 @@
+package ru.ttech.piapi.core.connector.unary;
+
+import io.grpc.Status;
+import org.grpcmock.junit5.GrpcMockExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import ru.tinkoff.piapi.contract.v1.GetLastPricesRequest;
+import ru.tinkoff.piapi.contract.v1.GetLastPricesResponse;
+import ru.tinkoff.piapi.contract.v1.GetTradingStatusRequest;
+import ru.tinkoff.piapi.contract.v1.LastPrice;
+import ru.tinkoff.piapi.contract.v1.MarketDataServiceGrpc;
+import ru.ttech.piapi.core.connector.GrpcStubBaseTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.grpcmock.GrpcMock.response;
+import static org.grpcmock.GrpcMock.statusException;
+import static org.grpcmock.GrpcMock.stubFor;
+import static org.grpcmock.GrpcMock.unaryMethod;
+
+@ExtendWith(GrpcMockExtension.class)
+public class GrpcUnaryStubMetricsTest extends GrpcStubBaseTest {
+
+  @Test
+  public void metrics_recordCallsStatusesAndBytes() {
+    var request = GetLastPricesRequest.newBuilder().addInstrumentId("instrumentUid").build();
+    stubFor(unaryMethod(MarketDataServiceGrpc.getGetLastPricesMethod())
+      .withRequest(request)
+      .willReturn(response(GetLastPricesResponse.newBuilder()
+        .addLastPrices(LastPrice.newBuilder().setInstrumentUid("instrumentUid").build())
+        .build())));
+    stubFor(unaryMethod(MarketDataServiceGrpc.getGetTradingStatusMethod())
+      .willReturn(statusException(Status.NOT_FOUND)));
+    var properties = new Properties();
+    properties.setProperty("grpc.metrics", "true");
+    var factory = createStubFactory(properties)._1();
+    var metrics = factory.getMetrics().orElseThrow();
+    List<Status.Code> sinkCodes = new ArrayList<>();
+    metrics.addSink((method, code, latencyNanos, bytesSent, bytesReceived) -> sinkCodes.add(code));
+    var syncService = factory.newSyncService(MarketDataServiceGrpc::newBlockingStub);
+
+    syncService.callSyncMethod(stub -> stub.getLastPrices(request));
+    syncService.callSyncMethod(stub -> stub.getLastPrices(request));
+    assertThatThrownBy(() -> syncService.callSyncMethod(
+      stub -> stub.getTradingStatus(GetTradingStatusRequest.getDefaultInstance())));
+
+    var lastPrices = metrics.snapshot(MarketDataServiceGrpc.getGetLastPricesMethod());
+    assertThat(lastPrices.getCalls()).isEqualTo(2);
+    assertThat(lastPrices.getStatusCodes()).isEqualTo(Map.of(Status.Code.OK, 2L));
+    assertThat(lastPrices.getBytesSent()).isPositive();
+    assertThat(lastPrices.getBytesReceived()).isPositive();
+    assertThat(lastPrices.getLatency().getCount()).isEqualTo(2);
+    var tradingStatus = metrics.snapshot(MarketDataServiceGrpc.getGetTradingStatusMethod());
+    assertThat(tradingStatus.getStatusCodes()).isEqualTo(Map.of(Status.Code.NOT_FOUND, 1L));
+    assertThat(sinkCodes).containsExactly(Status.Code.OK, Status.Code.OK, Status.Code.NOT_FOUND);
+  }
+
+  @Test
+  public void metrics_disabledByDefault() {
+    assertThat(createStubFactory()._1().getMetrics()).isEmpty();
+  }
+}
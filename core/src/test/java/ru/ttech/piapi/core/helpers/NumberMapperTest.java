@@ -0,0 +1,23 @@
+package ru.ttech.piapi.core.helpers;
+
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.piapi.contract.v1.Quotation;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NumberMapperTest {
+
+  @Test
+  void quotationToFixedPoint_matchesBigDecimal() {
+    var positive = Quotation.newBuilder().setUnits(10).setNano(900_000_000).build();
+    var negative = Quotation.newBuilder().setUnits(-3).setNano(-50_000_000).build();
+
+    assertThat(NumberMapper.quotationToFixedPoint(positive)).isEqualTo(10_900_000_000L);
+    assertThat(NumberMapper.quotationToDouble(positive)).isEqualTo(10.9);
+    assertThat(NumberMapper.fixedPointToBigDecimal(NumberMapper.quotationToFixedPoint(negative)))
+      .isEqualByComparingTo(NumberMapper.quotationToBigDecimal(negative))
+      .isEqualByComparingTo(new BigDecimal("-3.05"));
+  }
+}
@@ -0,0 +1,24 @@
+package ru.ttech.piapi.core.helpers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class VirtualThreadsTest {
+
+  @Test
+  void newVirtualThreadPerTaskExecutor_dependsOnJavaVersion() throws Exception {
+    if (Runtime.version().feature() < 21) {
+      assertThat(VirtualThreads.isSupported()).isFalse();
+      assertThatThrownBy(VirtualThreads::newVirtualThreadPerTaskExecutor)
+        .isInstanceOf(UnsupportedOperationException.class);
+      return;
+    }
+    var executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+    assertThat(executor.submit(() -> 1).get(1, TimeUnit.SECONDS)).isEqualTo(1);
+    executor.shutdown();
+  }
+}
@@ -0,0 +1,149 @@
+package ru.ttech.piapi.core.impl.marketdata;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.tinkoff.piapi.contract.v1.MarketDataResponse;
+import ru.tinkoff.piapi.contract.v1.OrderBook;
+import ru.ttech.piapi.core.connector.streaming.listeners.ListenerList;
+import ru.ttech.piapi.core.connector.streaming.listeners.OnNextListener;
+import ru.ttech.piapi.core.impl.marketdata.util.MarketDataResponseUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость передачи одного сообщения стрима листенерам:
+ * <ul>
+ *   <li>{@code observer*} - наблюдатель стрима рыночных данных со списками листенеров и поиском в {@link EnumMap}
+ *   через {@link Optional} и с массивами листенеров</li>
+ *   <li>{@code dispatcher*} - обход листенеров диспетчера в {@link Collections#synchronizedList}
+ *   и в {@link ListenerList}</li>
+ * </ul>
+ * Листенеры создаются из нескольких разных лямбд, чтобы точки вызова были мегаморфными, как в реальном приложении
+ * <p>Запуск: {@code ListenerDispatchBenchmark#main} из тестового classpath модуля core
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=info")
+public class ListenerDispatchBenchmark {
+
+  private static final MarketDataResponse RESPONSE = MarketDataResponse.newBuilder()
+    .setOrderbook(OrderBook.newBuilder().setInstrumentUid("instrument").setDepth(10))
+    .build();
+
+  @Param({"1", "5", "20"})
+  private int listenersCount;
+
+  private List<OnNextListener<MarketDataResponse>> linkedListeners;
+  private Map<MarketDataResponseType, List<OnNextListener<MarketDataResponse>>> linkedResponseListeners;
+  private MarketDataStreamObserver observer;
+  private List<OnNextListener<MarketDataResponse>> synchronizedListeners;
+  private ListenerList<OnNextListener<MarketDataResponse>> listenerList;
+
+  @Setup(Level.Trial)
+  public void setUp(Blackhole blackhole) {
+    linkedListeners = new LinkedList<>(List.of(blackhole::consume));
+    linkedResponseListeners = new EnumMap<>(MarketDataResponseType.class);
+    synchronizedListeners = Collections.synchronizedList(new ArrayList<>());
+    listenerList = new ListenerList<>();
+    var responseListeners = new LinkedList<OnNextListener<MarketDataResponse>>();
+    for (int i = 0; i < listenersCount; i++) {
+      var listener = createListener(i, blackhole);
+      responseListeners.add(listener);
+      synchronizedListeners.add(listener);
+      listenerList.add(listener);
+    }
+    linkedResponseListeners.put(MarketDataResponseType.ORDER_BOOK, responseListeners);
+    observer = new MarketDataStreamObserver(linkedResponseListeners, linkedListeners, List.of(), List.of());
+  }
+
+  @Benchmark
+  public void observerLinkedLists() {
+    linkedListeners.forEach(listener -> {
+      try {
+        listener.onNext(RESPONSE);
+      } catch (Throwable e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    Optional.ofNullable(linkedResponseListeners.get(MarketDataResponseUtil.getResponseType(RESPONSE)))
+      .ifPresent(listeners -> listeners.forEach(listener -> {
+        try {
+          listener.onNext(RESPONSE);
+        } catch (Throwable e) {
+          throw new IllegalStateException(e);
+        }
+      }));
+  }
+
+  @Benchmark
+  public void observerArrays() {
+    observer.onNext(RESPONSE);
+  }
+
+  @Benchmark
+  public void dispatcherSynchronizedList() {
+    synchronizedListeners.forEach(listener -> {
+      try {
+        listener.onNext(RESPONSE);
+      } catch (Throwable e) {
+        throw new IllegalStateException(e);
+      }
+    });
+  }
+
+  @Benchmark
+  @SuppressWarnings("unchecked")
+  public void dispatcherListenerList() {
+    for (Object listener : listenerList.array()) {
+      try {
+        ((OnNextListener<MarketDataResponse>) listener).onNext(RESPONSE);
+      } catch (Throwable e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+
+  private static OnNextListener<MarketDataResponse> createListener(int index, Blackhole blackhole) {
+    switch (index % 4) {
+      case 0:
+        return response -> blackhole.consume(response.getPayloadCase());
+      case 1:
+        return response -> blackhole.consume(response.hasOrderbook());
+      case 2:
+        return response -> blackhole.consume(response.getOrderbook().getDepth());
+      default:
+        return blackhole::consume;
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+      .include(ListenerDispatchBenchmark.class.getSimpleName())
+      .build()
+    ).run();
+  }
+}
@@ -0,0 +1,214 @@
+package ru.ttech.piapi.core.impl.marketdata;
+
+import com.google.protobuf.Timestamp;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.piapi.contract.v1.OrderBook;
+import ru.tinkoff.piapi.contract.v1.Trade;
+import ru.ttech.piapi.core.connector.ConnectorConfiguration;
+import ru.ttech.piapi.core.connector.OverflowPolicy;
+import ru.ttech.piapi.core.impl.marketdata.queue.MarketDataQueue;
+import ru.ttech.piapi.core.impl.marketdata.wrapper.OrderBookWrapper;
+import ru.ttech.piapi.core.impl.marketdata.wrapper.TradeWrapper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MarketDataDispatcherTest {
+
+  @Test
+  void dispatch_preservesOrderPerInstrument() {
+    int instrumentsCount = 10;
+    int updatesCount = 1000;
+    var dispatcher = new MarketDataDispatcher<>(4, TradeWrapper::getInstrumentUid,
+      () -> MarketDataQueue.<TradeWrapper>create(OverflowPolicy.BLOCK, 16, TradeWrapper::getInstrumentUid));
+    Map<String, List<Long>> received = new ConcurrentHashMap<>();
+    dispatcher.getListeners().add(trade -> received
+      .computeIfAbsent(trade.getInstrumentUid(), __ -> new CopyOnWriteArrayList<>())
+      .add(trade.getQuantity()));
+    var executorService = Executors.newCachedThreadPool();
+    try {
+      dispatcher.start(executorService);
+      for (long i = 0; i < updatesCount; i++) {
+        for (int instrument = 0; instrument < instrumentsCount; instrument++) {
+          dispatcher.dispatch(new TradeWrapper(Trade.newBuilder()
+            .setInstrumentUid("instrument-" + instrument)
+            .setQuantity(i)
+            .build()));
+        }
+      }
+
+      var expected = IntStream.range(0, updatesCount).mapToObj(Long::valueOf).collect(Collectors.toList());
+      Awaitility.await()
+        .atMost(Duration.ofSeconds(5))
+        .untilAsserted(() -> {
+          assertThat(received).hasSize(instrumentsCount);
+          received.values().forEach(updates -> assertThat(updates).containsExactlyElementsOf(expected));
+        });
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  @Test
+  void conflation_deliversOnlyLatestOrderBook() {
+    var properties = new Properties();
+    properties.setProperty("token", "token");
+    properties.setProperty("stream.market-data.conflate-order-books", "true");
+    var context = new MarketDataStreamContext(ConnectorConfiguration.loadFromProperties(properties));
+    List<Long> received = new CopyOnWriteArrayList<>();
+    context.getOnOrderBookListeners().add(orderBook -> received.add(orderBook.getOriginal().getTime().getSeconds()));
+    for (long i = 1; i <= 100; i++) {
+      context.getGlobalOnOrderBookListener().onNext(new OrderBookWrapper(OrderBook.newBuilder()
+        .setInstrumentUid("instrument")
+        .setDepth(10)
+        .setTime(Timestamp.newBuilder().setSeconds(i).build())
+        .build()));
+    }
+    assertThat(context.getOrderBooksDispatcher().getQueueStats().getConflatedCount()).isEqualTo(99);
+
+    var executorService = Executors.newCachedThreadPool();
+    try {
+      context.getOrderBooksDispatcher().start(executorService);
+      Awaitility.await()
+        .atMost(Duration.ofSeconds(5))
+        .untilAsserted(() -> assertThat(received).containsExactly(100L));
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  @Test
+  void batchListener_receivesBatchesLimitedBySize() {
+    int updatesCount = 1000;
+    int batchSize = 64;
+    var dispatcher = new MarketDataDispatcher<>(1, TradeWrapper::getInstrumentUid,
+      () -> MarketDataQueue.<TradeWrapper>create(OverflowPolicy.BLOCK, updatesCount, TradeWrapper::getInstrumentUid),
+      null, batchSize, 0);
+    List<Long> received = new CopyOnWriteArrayList<>();
+    List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    dispatcher.getBatchListeners().add(batch -> {
+      batchSizes.add(batch.size());
+      batch.forEach(trade -> received.add(trade.getQuantity()));
+    });
+    for (long i = 0; i < updatesCount; i++) {
+      dispatcher.dispatch(new TradeWrapper(Trade.newBuilder().setInstrumentUid("instrument").setQuantity(i).build()));
+    }
+
+    var executorService = Executors.newCachedThreadPool();
+    try {
+      dispatcher.start(executorService);
+      var expected = LongStream.range(0, updatesCount).boxed().collect(Collectors.toList());
+      Awaitility.await()
+        .atMost(Duration.ofSeconds(5))
+        .untilAsserted(() -> assertThat(received).containsExactlyElementsOf(expected));
+      assertThat(batchSizes).allSatisfy(size -> assertThat(size).isBetween(1, batchSize));
+      assertThat(batchSizes.get(0)).isEqualTo(batchSize);
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  @Test
+  void batchLinger_doesNotDelayOnNextListeners() throws InterruptedException {
+    var dispatcher = new MarketDataDispatcher<>(1, TradeWrapper::getInstrumentUid,
+      () -> MarketDataQueue.<TradeWrapper>create(OverflowPolicy.BLOCK, 16, TradeWrapper::getInstrumentUid),
+      null, 16, 10_000);
+    var delivered = new CountDownLatch(2);
+    List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    dispatcher.getListeners().add(trade -> delivered.countDown());
+    dispatcher.getBatchListeners().add(batch -> batchSizes.add(batch.size()));
+    var executorService = Executors.newCachedThreadPool();
+    try {
+      dispatcher.start(executorService);
+      dispatcher.dispatch(new TradeWrapper(Trade.newBuilder().setInstrumentUid("instrument").build()));
+      dispatcher.dispatch(new TradeWrapper(Trade.newBuilder().setInstrumentUid("instrument").build()));
+
+      assertThat(delivered.await(1, TimeUnit.SECONDS)).isTrue();
+      assertThat(batchSizes).isEmpty();
+      dispatcher.stopIntake();
+      dispatcher.drain();
+      assertThat(dispatcher.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+      assertThat(batchSizes).containsExactly(2);
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  @Test
+  void drain_deliversQueuedUpdatesAndRejectsNew() throws InterruptedException {
+    int updatesCount = 1000;
+    var dispatcher = new MarketDataDispatcher<>(2, TradeWrapper::getInstrumentUid,
+      () -> MarketDataQueue.<TradeWrapper>create(OverflowPolicy.BLOCK, updatesCount, TradeWrapper::getInstrumentUid));
+    List<Long> received = new CopyOnWriteArrayList<>();
+    dispatcher.getListeners().add(trade -> received.add(trade.getQuantity()));
+    for (long i = 0; i < updatesCount; i++) {
+      dispatcher.dispatch(new TradeWrapper(Trade.newBuilder()
+        .setInstrumentUid("instrument-" + i % 4)
+        .setQuantity(i)
+        .build()));
+    }
+
+    var executorService = Executors.newCachedThreadPool();
+    try {
+      dispatcher.start(executorService);
+      dispatcher.stopIntake();
+      dispatcher.dispatch(new TradeWrapper(Trade.newBuilder().setInstrumentUid("instrument-0").build()));
+      dispatcher.drain();
+
+      assertThat(dispatcher.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+      assertThat(received).hasSize(updatesCount);
+      assertThat(dispatcher.getRejectedCount()).isEqualTo(1);
+      assertThat(dispatcher.discardRemaining()).isZero();
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  @Test
+  void discardRemaining_dropsUpdatesNotProcessedInTime() throws InterruptedException {
+    var dispatcher = new MarketDataDispatcher<>(1, TradeWrapper::getInstrumentUid,
+      () -> MarketDataQueue.<TradeWrapper>create(OverflowPolicy.BLOCK, 16, TradeWrapper::getInstrumentUid),
+      null, 1, 0);
+    var processing = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    dispatcher.getListeners().add(trade -> {
+      processing.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    for (int i = 0; i < 10; i++) {
+      dispatcher.dispatch(new TradeWrapper(Trade.newBuilder().setInstrumentUid("instrument").build()));
+    }
+
+    var executorService = Executors.newCachedThreadPool();
+    try {
+      dispatcher.start(executorService);
+      assertThat(processing.await(5, TimeUnit.SECONDS)).isTrue();
+      dispatcher.stopIntake();
+      dispatcher.drain();
+
+      assertThat(dispatcher.awaitTermination(100, TimeUnit.MILLISECONDS)).isFalse();
+      assertThat(dispatcher.discardRemaining()).isEqualTo(9);
+      release.countDown();
+      assertThat(dispatcher.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+}
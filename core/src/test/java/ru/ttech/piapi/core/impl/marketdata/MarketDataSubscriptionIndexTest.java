@@ -0,0 +1,25 @@
+package ru.ttech.piapi.core.impl.marketdata;
+
+import org.junit.jupiter.api.Test;
+import ru.ttech.piapi.core.impl.marketdata.subscription.Instrument;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class MarketDataSubscriptionIndexTest {
+
+  @Test
+  void unregister_removesOnlyOwnSubscription() {
+    var index = new MarketDataSubscriptionIndex();
+    var instrument = new Instrument("instrumentUid");
+    var oldWrapper = mock(MarketDataStreamWrapper.class);
+    var newWrapper = mock(MarketDataStreamWrapper.class);
+
+    index.register(MarketDataResponseType.LAST_PRICE, instrument, oldWrapper);
+    index.register(MarketDataResponseType.LAST_PRICE, instrument, newWrapper);
+    index.unregister(MarketDataResponseType.LAST_PRICE, instrument, oldWrapper);
+
+    assertThat(index.getWrapper(MarketDataResponseType.LAST_PRICE, instrument)).isSameAs(newWrapper);
+    assertThat(index.isSubscribed(MarketDataResponseType.TRADE, instrument)).isFalse();
+  }
+}
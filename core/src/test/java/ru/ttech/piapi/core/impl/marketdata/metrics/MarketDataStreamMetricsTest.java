@@ -0,0 +1,99 @@
+package ru.ttech.piapi.core.impl.marketdata.metrics;
+
+import com.google.protobuf.Timestamp;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.piapi.contract.v1.Candle;
+import ru.tinkoff.piapi.contract.v1.MarketDataResponse;
+import ru.tinkoff.piapi.contract.v1.OrderBook;
+import ru.tinkoff.piapi.contract.v1.Ping;
+import ru.ttech.piapi.core.connector.ConnectorConfiguration;
+import ru.ttech.piapi.core.impl.marketdata.MarketDataResponseType;
+import ru.ttech.piapi.core.impl.marketdata.MarketDataStreamContext;
+import ru.ttech.piapi.core.impl.marketdata.wrapper.OrderBookWrapper;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MarketDataStreamMetricsTest {
+
+  @Test
+  void recordResponse_countsTrafficAndExchangeLag() {
+    var metrics = new MarketDataStreamMetrics();
+    var wrapperTraffic = new StreamTrafficCounter();
+    long exchangeTimeMillis = System.currentTimeMillis() - 250;
+    var orderBook = MarketDataResponse.newBuilder()
+      .setOrderbook(OrderBook.newBuilder()
+        .setInstrumentUid("instrument")
+        .setTime(Timestamp.newBuilder()
+          .setSeconds(TimeUnit.MILLISECONDS.toSeconds(exchangeTimeMillis))
+          .setNanos((int) TimeUnit.MILLISECONDS.toNanos(exchangeTimeMillis % 1000))))
+      .build();
+    var candleWithoutTrades = MarketDataResponse.newBuilder()
+      .setCandle(Candle.newBuilder().setTime(Timestamp.newBuilder().setSeconds(1)))
+      .build();
+    var ping = MarketDataResponse.newBuilder().setPing(Ping.getDefaultInstance()).build();
+
+    metrics.recordResponse(orderBook, wrapperTraffic);
+    metrics.recordResponse(orderBook, wrapperTraffic);
+    metrics.recordResponse(candleWithoutTrades, wrapperTraffic);
+    metrics.recordResponse(ping, wrapperTraffic);
+
+    var wrapperId = UUID.randomUUID();
+    var snapshot = metrics.snapshot(Map.of(wrapperId, wrapperTraffic.snapshot()));
+    var orderBooks = snapshot.getResponseTypes().get(MarketDataResponseType.ORDER_BOOK);
+    assertThat(orderBooks.getTraffic().getMessages()).isEqualTo(2);
+    assertThat(orderBooks.getTraffic().getBytes()).isEqualTo(2L * orderBook.getSerializedSize());
+    assertThat(orderBooks.getExchangeLag().getCount()).isEqualTo(2);
+    assertThat(orderBooks.getExchangeLag().getMax()).isBetween(250L, 10_000L);
+    var candles = snapshot.getResponseTypes().get(MarketDataResponseType.CANDLE);
+    assertThat(candles.getTraffic().getMessages()).isEqualTo(1);
+    assertThat(candles.getExchangeLag().getCount()).isZero();
+    assertThat(snapshot.getResponseTypes().get(MarketDataResponseType.OTHER).getTraffic().getMessages()).isEqualTo(1);
+    assertThat(snapshot.getWrappers().get(wrapperId).getMessages()).isEqualTo(4);
+  }
+
+  @Test
+  void dispatcher_recordsQueueWait() {
+    var properties = new Properties();
+    properties.setProperty("token", "token");
+    properties.setProperty("stream.market-data.metrics", "true");
+    var context = new MarketDataStreamContext(ConnectorConfiguration.loadFromProperties(properties));
+    for (int i = 0; i < 10; i++) {
+      context.getGlobalOnOrderBookListener().onNext(new OrderBookWrapper(OrderBook.newBuilder()
+        .setInstrumentUid("instrument-" + i)
+        .build()));
+    }
+    var queueWait = context.getStreamMetrics().getQueueWaitHistogram(MarketDataResponseType.ORDER_BOOK);
+
+    var executorService = Executors.newCachedThreadPool();
+    try {
+      context.getOrderBooksDispatcher().start(executorService);
+      Awaitility.await()
+        .atMost(Duration.ofSeconds(5))
+        .untilAsserted(() -> assertThat(queueWait.snapshot().getCount()).isEqualTo(10));
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  @Test
+  void rateMeter_reportsLastCompletedSecond() {
+    long second = TimeUnit.SECONDS.toNanos(1);
+    var rateMeter = new RateMeter(0);
+    rateMeter.mark(3, 100);
+    rateMeter.mark(2, second - 1);
+
+    assertThat(rateMeter.getRate(second - 1)).isZero();
+    assertThat(rateMeter.getRate(second)).isEqualTo(5);
+    rateMeter.mark(7, second + 1);
+    assertThat(rateMeter.getRate(2 * second)).isEqualTo(7);
+    assertThat(rateMeter.getRate(4 * second)).isZero();
+  }
+}
@@ -0,0 +1,110 @@
+package ru.ttech.piapi.core.impl.marketdata.orderbook;
+
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.piapi.contract.v1.Order;
+import ru.tinkoff.piapi.contract.v1.OrderBook;
+import ru.tinkoff.piapi.contract.v1.OrderBookType;
+import ru.tinkoff.piapi.contract.v1.Quotation;
+import ru.ttech.piapi.core.impl.marketdata.subscription.Instrument;
+import ru.ttech.piapi.core.impl.marketdata.wrapper.OrderBookWrapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrderBookEngineTest {
+
+  @Test
+  void onNext_reportsOnlyChangedLevels() {
+    List<String> changes = new ArrayList<>();
+    var engine = new OrderBookEngine((orderBook, side, level, price, quantity) ->
+      changes.add(side + ":" + level + ":" + price + ":" + quantity));
+
+    engine.onNext(orderBook(List.of(order(100, 5), order(99, 3)), List.of(order(101, 1))));
+    changes.clear();
+    engine.onNext(orderBook(List.of(order(100, 5), order(99, 4)), List.of()));
+
+    assertThat(changes).containsExactly("BID:1:99000000000:4", "ASK:0:0:0");
+    var localOrderBook = engine.getOrderBook(new Instrument("uid", 10, OrderBookType.ORDERBOOK_TYPE_ALL));
+    var snapshot = localOrderBook.readInto(new LocalOrderBook.Snapshot());
+    assertThat(snapshot.getVersion()).isEqualTo(2);
+    assertThat(snapshot.getBidsCount()).isEqualTo(2);
+    assertThat(snapshot.getAsksCount()).isZero();
+    assertThat(localOrderBook.getBestBid()).isEqualTo(100_000_000_000L);
+  }
+
+  @Test
+  void onNext_reportsShiftedLevelsByPosition() {
+    List<String> changes = new ArrayList<>();
+    var engine = new OrderBookEngine((orderBook, side, level, price, quantity) ->
+      changes.add(side + ":" + level + ":" + price + ":" + quantity));
+
+    engine.onNext(orderBook(List.of(order(100, 5), order(99, 3)), List.of()));
+    changes.clear();
+    engine.onNext(orderBook(List.of(order(101, 1), order(100, 5), order(99, 3)), List.of()));
+
+    assertThat(changes).containsExactly(
+      "BID:0:101000000000:1", "BID:1:100000000000:5", "BID:2:99000000000:3");
+  }
+
+  @Test
+  void readInto_neverReturnsPartiallyAppliedUpdate() throws Exception {
+    int updatesCount = 20_000;
+    var engine = new OrderBookEngine((orderBook, side, level, price, quantity) -> { });
+    engine.onNext(orderBook(levels(10, 0), levels(10, 0)));
+    var localOrderBook = engine.getOrderBook(new Instrument("uid", 10, OrderBookType.ORDERBOOK_TYPE_ALL));
+
+    var writer = CompletableFuture.runAsync(() -> {
+      for (int update = 1; update <= updatesCount; update++) {
+        int depth = update % 2 == 0 ? 10 : 5;
+        engine.onNext(orderBook(levels(depth, update), levels(depth, update)));
+      }
+    });
+    var snapshot = new LocalOrderBook.Snapshot();
+    long checkedSnapshots = 0;
+    while (!writer.isDone() || checkedSnapshots == 0) {
+      localOrderBook.readInto(snapshot);
+      long update = snapshot.getVersion() - 1;
+      int expectedDepth = update % 2 == 1 ? 5 : 10;
+      assertThat(snapshot.getBidsCount()).isEqualTo(expectedDepth);
+      assertThat(snapshot.getAsksCount()).isEqualTo(expectedDepth);
+      for (int level = 0; level < expectedDepth; level++) {
+        assertThat(snapshot.getBidQuantity(level)).isEqualTo(update);
+        assertThat(snapshot.getAskQuantity(level)).isEqualTo(update);
+      }
+      checkedSnapshots++;
+    }
+    writer.get(10, TimeUnit.SECONDS);
+
+    assertThat(localOrderBook.getVersion()).isEqualTo(updatesCount + 1);
+  }
+
+  private static List<Order> levels(int depth, long quantity) {
+    return LongStream.range(0, depth)
+      .mapToObj(level -> order(100 - level, quantity))
+      .collect(Collectors.toList());
+  }
+
+  private static OrderBookWrapper orderBook(List<Order> bids, List<Order> asks) {
+    return new OrderBookWrapper(OrderBook.newBuilder()
+      .setInstrumentUid("uid")
+      .setDepth(10)
+      .setOrderBookType(OrderBookType.ORDERBOOK_TYPE_ALL)
+      .setIsConsistent(true)
+      .addAllBids(bids)
+      .addAllAsks(asks)
+      .build());
+  }
+
+  private static Order order(long price, long quantity) {
+    return Order.newBuilder()
+      .setPrice(Quotation.newBuilder().setUnits(price).build())
+      .setQuantity(quantity)
+      .build();
+  }
+}
@@ -0,0 +1,58 @@
+package ru.ttech.piapi.core.impl.marketdata.queue;
+
+import org.junit.jupiter.api.Test;
+import ru.ttech.piapi.core.connector.OverflowPolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MarketDataQueueTest {
+
+  @Test
+  void dropOldest_keepsLatestUpdates() {
+    MarketDataQueue<Integer> queue = MarketDataQueue.create(OverflowPolicy.DROP_OLDEST, 4, Function.identity());
+    for (int i = 0; i < 10; i++) {
+      assertThat(queue.offer(i)).isTrue();
+    }
+
+    assertThat(drain(queue)).containsExactly(6, 7, 8, 9);
+    assertThat(queue.getDroppedCount()).isEqualTo(6);
+  }
+
+  @Test
+  void dropNewest_rejectsUpdatesWhenFull() {
+    MarketDataQueue<Integer> queue = MarketDataQueue.create(OverflowPolicy.DROP_NEWEST, 4, Function.identity());
+    for (int i = 0; i < 10; i++) {
+      assertThat(queue.offer(i)).isEqualTo(i < 4);
+    }
+
+    assertThat(drain(queue)).containsExactly(0, 1, 2, 3);
+    assertThat(queue.getDroppedCount()).isEqualTo(6);
+  }
+
+  @Test
+  void conflate_keepsLatestUpdatePerKey() {
+    MarketDataQueue<String> queue = MarketDataQueue.create(OverflowPolicy.CONFLATE, 4, update -> update.charAt(0));
+    queue.offer("a1");
+    queue.offer("b1");
+    queue.offer("a2");
+    queue.offer("a3");
+    queue.offer("c1");
+
+    assertThat(queue.size()).isEqualTo(3);
+    assertThat(drain(queue)).containsExactly("a3", "b1", "c1");
+    assertThat(queue.getConflatedCount()).isEqualTo(2);
+  }
+
+  private static <T> List<T> drain(MarketDataQueue<T> queue) {
+    List<T> result = new ArrayList<>();
+    T element;
+    while ((element = queue.poll()) != null) {
+      result.add(element);
+    }
+    return result;
+  }
+}
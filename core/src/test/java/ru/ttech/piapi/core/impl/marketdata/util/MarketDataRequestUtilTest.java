@@ -0,0 +1,26 @@
+package ru.ttech.piapi.core.impl.marketdata.util;
+
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.piapi.contract.v1.SubscriptionAction;
+import ru.tinkoff.piapi.contract.v1.TradeSourceType;
+import ru.ttech.piapi.core.impl.marketdata.subscription.Instrument;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MarketDataRequestUtilTest {
+
+  @Test
+  void withInstruments_restoresRequestFromTemplate() {
+    var instruments = List.of(new Instrument("first"), new Instrument("second"));
+    var request = MarketDataRequestBuilder.buildTradesRequest(
+      instruments, TradeSourceType.TRADE_SOURCE_EXCHANGE, SubscriptionAction.SUBSCRIPTION_ACTION_SUBSCRIBE
+    ).toBuilder();
+    request.getSubscribeTradesRequestBuilder().setWithOpenInterest(true);
+    var template = MarketDataRequestUtil.clearInstruments(request.build());
+
+    assertThat(template.getSubscribeTradesRequest().getInstrumentsList()).isEmpty();
+    assertThat(MarketDataRequestUtil.withInstruments(template, instruments)).isEqualTo(request.build());
+  }
+}
@@ -0,0 +1,37 @@
+package ru.ttech.piapi.core.impl.marketdata.wrapper;
+
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.piapi.contract.v1.Order;
+import ru.tinkoff.piapi.contract.v1.OrderBook;
+import ru.tinkoff.piapi.contract.v1.Quotation;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrderBookWrapperTest {
+
+  @Test
+  void topOfBook_readsLevelsWithoutLists() {
+    var orderBook = new OrderBookWrapper(OrderBook.newBuilder()
+      .addBids(order(100, 500_000_000, 3))
+      .addBids(order(100, 0, 7))
+      .addAsks(order(101, 0, 2))
+      .build());
+
+    assertThat(orderBook.getBestBidFixedPoint()).isEqualTo(100_500_000_000L);
+    assertThat(orderBook.getSpread()).isEqualByComparingTo(new BigDecimal("0.5"));
+    assertThat(orderBook.getMidPrice()).isEqualByComparingTo(new BigDecimal("100.75"));
+    assertThat(orderBook.getBidLevels().size()).isEqualTo(2);
+    assertThat(orderBook.getBidLevels().getQuantity(1)).isEqualTo(7);
+    assertThat(orderBook.getBidLevels()).isSameAs(orderBook.getBidLevels());
+    assertThat(orderBook.getAsks()).hasSize(1);
+  }
+
+  private static Order order(long units, int nano, long quantity) {
+    return Order.newBuilder()
+      .setPrice(Quotation.newBuilder().setUnits(units).setNano(nano).build())
+      .setQuantity(quantity)
+      .build();
+  }
+}
@@ -3,6 +3,9 @@ package ru.ttech.piapi.springboot.configuration;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import ru.ttech.piapi.core.connector.CallbackExecutorType;
+import ru.ttech.piapi.core.connector.TransportType;
+import ru.ttech.piapi.core.connector.OverflowPolicy;
 
 import java.util.Optional;
 import java.util.Properties;
@@ -74,6 +77,38 @@ public class ConnectorProperties {
      * Максимальный размер сообщения
      */
     private Integer maxMessageSize;
+    /**
+     * Интервал отправки keepalive пингов в миллисекундах. 0 - пинги не отправляются
+     */
+    private Integer keepaliveTime;
+    /**
+     * Отправка keepalive пингов при отсутствии активных вызовов
+     */
+    private Boolean keepaliveWithoutCalls;
+    /**
+     * Начальный размер окна управления потоком HTTP/2 с автоматической подстройкой
+     */
+    private Integer initialWindowSize;
+    /**
+     * Фиксированный размер окна управления потоком HTTP/2
+     */
+    private Integer flowControlWindow;
+    /**
+     * Максимальный размер метаданных ответа
+     */
+    private Integer maxMetadataSize;
+    /**
+     * Количество соединений в пуле для унарных запросов
+     */
+    private Integer poolSize;
+    /**
+     * Количество соединений в отдельном пуле для стримов. 0 - стримы используют общий пул
+     */
+    private Integer streamPoolSize;
+    /**
+     * Настройки выделенного соединения для выставления заявок
+     */
+    private OrderEntry orderEntry = new OrderEntry();
 
     @Getter
     @Setter
@@ -87,6 +122,15 @@ public class ConnectorProperties {
        */
       private Integer waitDuration;
     }
+
+    @Getter
+    @Setter
+    public static class OrderEntry {
+      /**
+       * Выполнение запросов OrdersService и StopOrdersService через выделенное соединение
+       */
+      private Boolean enabled;
+    }
   }
 
   @Getter
@@ -100,6 +144,34 @@ public class ConnectorProperties {
      * Включение форка контекста
      */
     private Boolean contextFork;
+    /**
+     * Алгоритм сжатия запросов: none, identity или gzip
+     */
+    private String compression;
+    /**
+     * Адаптивное ограничение частоты запросов по заголовкам x-ratelimit-* ответов сервера
+     */
+    private Boolean adaptiveRateLimit;
+    /**
+     * Сбор метрик вызовов: количество, коды статусов, объём данных и гистограммы длительности
+     */
+    private Boolean metrics;
+    /**
+     * Сетевой транспорт: AUTO, EPOLL или NIO
+     */
+    private TransportType transport;
+    /**
+     * Количество сетевых потоков в общей группе. 0 - по количеству процессоров
+     */
+    private Integer eventLoopThreads;
+    /**
+     * Исполнитель обработчиков ответов: DEFAULT, DIRECT или VIRTUAL
+     */
+    private CallbackExecutorType executor;
+    /**
+     * Обработка сообщений стримов прямо в сетевом потоке
+     */
+    private Boolean streamDirectExecutor;
   }
 
   @Getter
@@ -130,6 +202,47 @@ public class ConnectorProperties {
        * Максимальное число одновременных подписок в одном стриме
        */
       private Integer maxSubscriptionsCount;
+      /**
+       * Количество потоков обработки для каждого типа рыночных данных
+       */
+      private Integer dispatcherLanes;
+      /**
+       * Ёмкость очереди обработки в каждом потоке обработки рыночных данных
+       */
+      private Integer queueCapacity;
+      /**
+       * Политика обработки переполнения очереди рыночных данных
+       */
+      private OverflowPolicy overflowPolicy;
+      /**
+       * Доставлять только последний стакан по каждому инструменту
+       */
+      private Boolean conflateOrderBooks;
+      /**
+       * Доставлять только последнюю цену по каждому инструменту
+       */
+      private Boolean conflateLastPrices;
+      /**
+       * Собирать метрики стримов рыночных данных
+       */
+      private Boolean metrics;
+      /**
+       * Максимальный размер пакета обновлений для пакетных листенеров
+       */
+      private Integer batchSize;
+      /**
+       * Время ожидания заполнения пакета обновлений в миллисекундах
+       */
+      private Integer batchLinger;
+      /**
+       * Обрабатывать рыночные данные в виртуальных потоках (Java 21+)
+       */
+      private Boolean virtualThreads;
+      /**
+       * Общее время ожидания завершения подписок и обработки накопленных обновлений при остановке менеджера
+       * в миллисекундах
+       */
+      private Integer shutdownTimeout;
     }
   }
 
@@ -152,14 +265,66 @@ public class ConnectorProperties {
       .ifPresent(maxAttempts -> properties.setProperty("connection.retry.max-attempts", String.valueOf(maxAttempts)));
     Optional.ofNullable(connection.getMaxMessageSize())
       .ifPresent(maxMessageSize -> properties.setProperty("connection.max-message-size", String.valueOf(maxMessageSize)));
+    Optional.ofNullable(connection.getKeepaliveTime())
+      .ifPresent(keepaliveTime -> properties.setProperty("connection.keepalive-time", String.valueOf(keepaliveTime)));
+    Optional.ofNullable(connection.getKeepaliveWithoutCalls())
+      .ifPresent(withoutCalls -> properties.setProperty("connection.keepalive-without-calls", String.valueOf(withoutCalls)));
+    Optional.ofNullable(connection.getInitialWindowSize())
+      .ifPresent(windowSize -> properties.setProperty("connection.initial-window-size", String.valueOf(windowSize)));
+    Optional.ofNullable(connection.getFlowControlWindow())
+      .ifPresent(windowSize -> properties.setProperty("connection.flow-control-window", String.valueOf(windowSize)));
+    Optional.ofNullable(connection.getMaxMetadataSize())
+      .ifPresent(metadataSize -> properties.setProperty("connection.max-metadata-size", String.valueOf(metadataSize)));
+    Optional.ofNullable(connection.getPoolSize())
+      .ifPresent(poolSize -> properties.setProperty("connection.pool-size", String.valueOf(poolSize)));
+    Optional.ofNullable(connection.getStreamPoolSize())
+      .ifPresent(streamPoolSize -> properties.setProperty("connection.stream-pool-size", String.valueOf(streamPoolSize)));
+    Optional.ofNullable(connection.getOrderEntry().getEnabled())
+      .ifPresent(enabled -> properties.setProperty("connection.order-entry.enabled", String.valueOf(enabled)));
     Optional.ofNullable(grpc.getDebug())
       .ifPresent(debug -> properties.setProperty("grpc.debug", String.valueOf(debug)));
     Optional.ofNullable(grpc.getContextFork())
       .ifPresent(contextFork -> properties.setProperty("grpc.context-fork", String.valueOf(contextFork)));
+    Optional.ofNullable(grpc.getCompression())
+      .ifPresent(compression -> properties.setProperty("grpc.compression", compression));
+    Optional.ofNullable(grpc.getAdaptiveRateLimit())
+      .ifPresent(adaptive -> properties.setProperty("grpc.adaptive-rate-limit", String.valueOf(adaptive)));
+    Optional.ofNullable(grpc.getMetrics())
+      .ifPresent(metrics -> properties.setProperty("grpc.metrics", String.valueOf(metrics)));
+    Optional.ofNullable(grpc.getTransport())
+      .ifPresent(transport -> properties.setProperty("grpc.transport", transport.name()));
+    Optional.ofNullable(grpc.getEventLoopThreads())
+      .ifPresent(threads -> properties.setProperty("grpc.event-loop-threads", String.valueOf(threads)));
+    Optional.ofNullable(grpc.getExecutor())
+      .ifPresent(executor -> properties.setProperty("grpc.executor", executor.name()));
+    Optional.ofNullable(grpc.getStreamDirectExecutor())
+      .ifPresent(direct -> properties.setProperty("grpc.stream-direct-executor", String.valueOf(direct)));
     Optional.ofNullable(stream.getMarketData().getMaxStreamsCount())
       .ifPresent(maxStreamsCount -> properties.setProperty("stream.market-data.max-streams-count", String.valueOf(maxStreamsCount)));
     Optional.ofNullable(stream.getMarketData().getMaxSubscriptionsCount())
       .ifPresent(maxSubscriptionsCount -> properties.setProperty("stream.market-data.max-subscriptions-count", String.valueOf(maxSubscriptionsCount)));
+    Optional.ofNullable(stream.getMarketData().getDispatcherLanes())
+      .ifPresent(dispatcherLanes -> properties.setProperty("stream.market-data.dispatcher-lanes", String.valueOf(dispatcherLanes)));
+    Optional.ofNullable(stream.getMarketData().getQueueCapacity())
+      .ifPresent(queueCapacity -> properties.setProperty("stream.market-data.queue-capacity", String.valueOf(queueCapacity)));
+    Optional.ofNullable(stream.getMarketData().getOverflowPolicy())
+      .ifPresent(overflowPolicy -> properties.setProperty("stream.market-data.overflow-policy", overflowPolicy.name()));
+    Optional.ofNullable(stream.getMarketData().getConflateOrderBooks())
+      .ifPresent(conflate -> properties.setProperty("stream.market-data.conflate-order-books", String.valueOf(conflate)));
+    Optional.ofNullable(stream.getMarketData().getConflateLastPrices())
+      .ifPresent(conflate -> properties.setProperty("stream.market-data.conflate-last-prices", String.valueOf(conflate)));
+    Optional.ofNullable(stream.getMarketData().getMetrics())
+      .ifPresent(metrics -> properties.setProperty("stream.market-data.metrics", String.valueOf(metrics)));
+    Optional.ofNullable(stream.getMarketData().getBatchSize())
+      .ifPresent(batchSize -> properties.setProperty("stream.market-data.batch-size", String.valueOf(batchSize)));
+    Optional.ofNullable(stream.getMarketData().getBatchLinger())
+      .ifPresent(batchLinger -> properties.setProperty("stream.market-data.batch-linger", String.valueOf(batchLinger)));
+    Optional.ofNullable(stream.getMarketData().getVirtualThreads())
+      .ifPresent(virtualThreads ->
+        properties.setProperty("stream.market-data.virtual-threads", String.valueOf(virtualThreads)));
+    Optional.ofNullable(stream.getMarketData().getShutdownTimeout())
+      .ifPresent(shutdownTimeout ->
+        properties.setProperty("stream.market-data.shutdown-timeout", String.valueOf(shutdownTimeout)));
     Optional.ofNullable(stream.getPingDelay())
       .ifPresent(pingDelay -> properties.setProperty("stream.ping-delay", String.valueOf(pingDelay)));
     Optional.ofNullable(stream.getInactivityTimeout())
@@ -34,7 +34,7 @@ public class InvestAutoConfiguration {
     return ConnectorConfiguration.loadFromProperties(connectorProperties.toProperties());
   }
 
-  @Bean
+  @Bean(destroyMethod = "shutdown")
   @ConditionalOnBean(ConnectorConfiguration.class)
   @ConditionalOnMissingBean(ServiceStubFactory.class)
   public ServiceStubFactory serviceStubFactory(ConnectorConfiguration connectorConfiguration) {
@@ -55,7 +55,7 @@ public class InvestAutoConfiguration {
     return StreamManagerFactory.create(streamServiceStubFactory);
   }
 
-  @Bean
+  @Bean(destroyMethod = "shutdown")
   @ConditionalOnBean(StreamManagerFactory.class)
   @ConditionalOnMissingBean(MarketDataStreamManager.class)
   public MarketDataStreamManager marketDataStreamManager(
@@ -67,8 +67,10 @@ public class InvestAutoConfiguration {
   }
 
   @Bean("marketDataStreamManagerExecutorService")
-  public ExecutorService managerExecutorService() {
-    return Executors.newCachedThreadPool();
+  @ConditionalOnBean(StreamManagerFactory.class)
+  @ConditionalOnMissingBean(name = "marketDataStreamManagerExecutorService")
+  public ExecutorService managerExecutorService(StreamManagerFactory streamManagerFactory) {
+    return streamManagerFactory.newMarketDataListenersExecutor();
   }
 
   @Bean("streamHealthCheckScheduledExecutorService")